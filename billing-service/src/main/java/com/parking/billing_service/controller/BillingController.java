@@ -4,6 +4,7 @@ import com.parking.billing_service.dto.ApiResponse;
 import com.parking.billing_service.dto.CreateInvoiceRequest;
 import com.parking.billing_service.dto.InvoiceResponseDTO;
 import com.parking.billing_service.dto.PaymentRequestDTO;
+import com.parking.billing_service.idempotency.IdempotencyStore;
 import com.parking.billing_service.service.BillingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,13 +19,18 @@ import java.util.List;
 public class BillingController {
  
     private final BillingService billingService;
+    private final IdempotencyStore idempotencyStore;
  
-    // 1. Create Invoice (ADMIN, STAFF, CUSTOMER)
+    // 1. Create Invoice (ADMIN, STAFF, CUSTOMER); a retry with the same Idempotency-Key gets the first invoice back
     @PostMapping
     @PreAuthorize("hasAnyAuthority('ADMIN','STAFF','CUSTOMER')")
     public ResponseEntity<ApiResponse<InvoiceResponseDTO>> createInvoice(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody CreateInvoiceRequest request) {
-        InvoiceResponseDTO response = billingService.createInvoice(request);
+        InvoiceResponseDTO response = idempotencyStore.execute(idempotencyKey, request,
+                () -> billingService.createInvoice(request),
+                InvoiceResponseDTO::getInvoiceId,
+                billingService::getInvoiceById);
         return ResponseEntity.ok(new ApiResponse<>(true, "Invoice created successfully", response));
     }
  
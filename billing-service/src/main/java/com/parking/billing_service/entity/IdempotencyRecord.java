@@ -0,0 +1,28 @@
+package com.parking.billing_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// A claimed Idempotency-Key; resourceId is filled in once the first request has succeeded
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String idempotencyKey; // caller + ":" + header value
+
+    @Column(nullable = false)
+    private int requestHash;
+
+    private Long resourceId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
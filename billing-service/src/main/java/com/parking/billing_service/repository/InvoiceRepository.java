@@ -1,10 +1,14 @@
 package com.parking.billing_service.repository;
  
+import com.parking.billing_service.dto.InvoiceResponseDTO;
 import com.parking.billing_service.entity.Invoice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
  
 import java.util.List;
+import java.util.Optional;
  
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
@@ -12,5 +16,18 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     List<Invoice> findByUserId(Long userId);
     
     List<Invoice> findByReservationId(Long reservationId);
+
+    // Read-only views: rows go straight into DTOs, no managed entities or dirty-checking snapshots
+    String RESPONSE = "SELECT new com.parking.billing_service.dto.InvoiceResponseDTO(i.invoiceId, i.userId, "
+            + "i.reservationId, i.logId, i.type, i.amount, i.paymentMethod, i.status, i.timestamp) FROM Invoice i";
+
+    @Query(RESPONSE)
+    List<InvoiceResponseDTO> findAllResponses();
+
+    @Query(RESPONSE + " WHERE i.invoiceId = :invoiceId")
+    Optional<InvoiceResponseDTO> findResponseById(@Param("invoiceId") Long invoiceId);
+
+    @Query(RESPONSE + " WHERE i.userId = :userId")
+    List<InvoiceResponseDTO> findResponsesByUserId(@Param("userId") Long userId);
 }
  
\ No newline at end of file
@@ -21,7 +21,6 @@ import com.parking.billing_service.feign.VehicleLogClient;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -86,24 +85,22 @@ public class BillingServiceImpl implements BillingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InvoiceResponseDTO getInvoiceById(Long invoiceId) {
-        Invoice invoice = invoiceRepository.findById(invoiceId)
+        return invoiceRepository.findResponseById(invoiceId)
             .orElseThrow(() -> new RuntimeException("Invoice not found: " + invoiceId));
-        return mapToDto(invoice);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InvoiceResponseDTO> getAllInvoices() {
-        return invoiceRepository.findAll().stream()
-            .map(this::mapToDto)
-            .collect(Collectors.toList());
+        return invoiceRepository.findAllResponses();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InvoiceResponseDTO> getInvoicesByUserId(Long userId) {
-        return invoiceRepository.findByUserId(userId).stream()
-            .map(this::mapToDto)
-            .collect(Collectors.toList());
+        return invoiceRepository.findResponsesByUserId(userId);
     }
 
     private InvoiceResponseDTO mapToDto(Invoice inv) {
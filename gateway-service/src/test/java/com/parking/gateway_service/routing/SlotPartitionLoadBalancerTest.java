@@ -0,0 +1,103 @@
+package com.parking.gateway_service.routing;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// The balancer decodes zone keys on its own, so it is pinned to ids slot-service actually issues
+// (the same table is asserted against SlotPartitionKeys in slot-service's SlotPartitionKeysTest).
+// This is the only test of the class; the copies in the Feign callers are compared against it.
+class SlotPartitionLoadBalancerTest {
+
+    private final List<ServiceInstance> instances = List.of(
+            instance("catch-all", Map.of("slot-zones", "*", "slot-zones-excluded", "b,level-2", "slot-legacy", "true")),
+            instance("b", Map.of("slot-zones", "B", "slot-legacy", "false")),
+            instance("ab", Map.of("slot-zones", "AB,ZZZZZZ", "slot-legacy", "false")),
+            instance("level", Map.of("slot-zones", "Level-2", "slot-legacy", "false")));
+
+    // Slot ids are zone B, AB, ZZZZZZ and LEVEL-2 (hashed key) at sequence 5, and 42 from before partitioning
+    @ParameterizedTest
+    @CsvSource({
+            "/api/slots/33554437, b",
+            "/api/slots/slot/486539269, ab",
+            "/api/slots/6499837210001413/claim, ab",
+            "/api/slots/mark-occupied/7179569320689669, level",
+            "/api/slots/update-occupancy?slotId=33554437&isOccupied=true, b",
+            "/api/slots/42, catch-all",
+            "/api/slots/available/count?zone=b, b",
+            "/api/slots/available/count?zone=LEVEL-2, level",
+            "/api/slots/available/count?zone=C, catch-all"
+    })
+    void request_routesToTheZoneOwner(String path, String owner) {
+        assertEquals(owner, chosen(path));
+    }
+
+    @Test
+    void zoneKeyOf_readsTheHighBits() {
+        assertEquals(2, SlotPartitionLoadBalancer.zoneKeyOf(33_554_437L));
+        assertEquals(0, SlotPartitionLoadBalancer.zoneKeyOf(42L));
+    }
+
+    // reservation-service and vehicle-log-service build on their own and keep a copy of the balancer;
+    // checked from here when the whole repository is checked out
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "../reservation-service/src/main/java/com/parking/reservation_service/feign/SlotPartitionLoadBalancer.java",
+            "../vehicle-log-service/src/main/java/com/parking/vehicle_log_service/feign/SlotPartitionLoadBalancer.java"
+    })
+    void copies_matchThisImplementation(String copy) throws IOException {
+        Path copyPath = Path.of(copy);
+        assumeTrue(Files.exists(copyPath), "not checked out: " + copy);
+        assertEquals(withoutPackage(Path.of("src/main/java/com/parking/gateway_service/routing/SlotPartitionLoadBalancer.java")),
+                withoutPackage(copyPath), copy + " has drifted from gateway-service's SlotPartitionLoadBalancer");
+    }
+
+    private static String withoutPackage(Path source) throws IOException {
+        return Files.readString(source).replaceFirst("package [\\w.]+;", "");
+    }
+
+    @SuppressWarnings("unchecked")
+    private String chosen(String path) {
+        ServiceInstanceListSupplier supplier = mock(ServiceInstanceListSupplier.class);
+        when(supplier.get(any())).thenReturn(Flux.just(instances));
+        ObjectProvider<ServiceInstanceListSupplier> suppliers = mock(ObjectProvider.class);
+        when(suppliers.getIfAvailable(any())).thenReturn(supplier);
+        RequestData request = new RequestData(HttpMethod.GET, URI.create("http://slot-service" + path),
+                new HttpHeaders(), new LinkedMultiValueMap<>(), Map.of());
+        return new SlotPartitionLoadBalancer(suppliers)
+                .choose(new DefaultRequest<>(new RequestDataContext(request)))
+                .block()
+                .getServer()
+                .getInstanceId();
+    }
+
+    private static ServiceInstance instance(String id, Map<String, String> metadata) {
+        return new DefaultServiceInstance(id, "slot-service", id, 8082, false, metadata);
+    }
+}
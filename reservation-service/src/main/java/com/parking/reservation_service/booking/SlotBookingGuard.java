@@ -0,0 +1,97 @@
+package com.parking.reservation_service.booking;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.parking.reservation_service.repository.SlotCalendarRepository;
+
+/**
+ * Runs bookings of a slot one at a time. Across instances the slot's slot_calendars row is
+ * the guard: the booking transaction updates it first and holds its row lock until commit,
+ * whatever the isolation level. On one instance, bookings of the same slot first queue on a
+ * striped in-process lock, so they wait in memory instead of each holding a connection
+ * blocked on the row.
+ */
+@Component
+public class SlotBookingGuard {
+
+    private final SlotCalendarRepository calendarRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes;
+    private final Set<Long> knownCalendars; // recently booked slots, whose calendar row is known to exist
+
+    public SlotBookingGuard(SlotCalendarRepository calendarRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${reservation.booking.lock-stripes:256}") int stripes,
+                            @Value("${reservation.booking.known-calendars:10000}") int knownCalendarsSize) {
+        this.calendarRepository = calendarRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        // LRU: a slot that drops out only costs one existence check on its next booking
+        this.knownCalendars = Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<Long, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > knownCalendarsSize;
+            }
+        }));
+    }
+
+    // Runs booking in a new transaction holding the slot's lock until after commit
+    public <T> T book(Long slotId, Supplier<T> booking) {
+        ReentrantLock stripe = stripes[Math.floorMod(Long.hashCode(slotId), stripes.length)];
+        stripe.lock();
+        try {
+            ensureCalendar(slotId);
+            return transactionTemplate.execute(status -> {
+                if (calendarRepository.lock(slotId) == 0) {
+                    throw new IllegalStateException("No booking calendar for slot " + slotId);
+                }
+                return booking.get();
+            });
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    // Runs a change touching several slots (a bulk operation) in a new transaction holding all their
+    // calendar rows. No stripes are taken: bookings of these slots on this instance wait on the rows.
+    public <T> T bookAll(Collection<Long> slotIds, Supplier<T> booking) {
+        Set<Long> distinct = new TreeSet<>(slotIds);
+        distinct.forEach(this::ensureCalendar);
+        return transactionTemplate.execute(status -> {
+            if (!distinct.isEmpty() && calendarRepository.lockAll(distinct) != distinct.size()) {
+                throw new IllegalStateException("Missing booking calendars for slots " + distinct);
+            }
+            return booking.get();
+        });
+    }
+
+    // Created outside the booking transaction, so a lost creation race does not roll the booking back
+    private void ensureCalendar(Long slotId) {
+        if (knownCalendars.contains(slotId)) {
+            return;
+        }
+        if (!calendarRepository.existsById(slotId)) {
+            try {
+                calendarRepository.create(slotId);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created it first
+            }
+        }
+        knownCalendars.add(slotId);
+    }
+}
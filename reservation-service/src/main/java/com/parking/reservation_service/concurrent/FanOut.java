@@ -0,0 +1,88 @@
+package com.parking.reservation_service.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Issues independent downstream calls concurrently, one virtual thread per call, scoped to
+ * the caller: it returns only once every call has finished or been cancelled, so no call
+ * outlives the request that made it. Calls see the caller's request context, so Feign
+ * still forwards the caller's token. Java 21's StructuredTaskScope is still a preview API,
+ * hence this small equivalent.
+ */
+public final class FanOut {
+
+    private FanOut() {
+    }
+
+    // Results in call order. The first failure cancels the calls still running (interrupting a virtual
+    // thread aborts its blocking socket read) and is rethrown.
+    public static <T> List<T> all(List<Callable<T>> calls) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        List<Future<T>> futures = new ArrayList<>(calls.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+            calls.forEach(call -> futures.add(completion.submit(inContext(call, attributes))));
+            for (int i = 0; i < calls.size(); i++) {
+                try {
+                    completion.take().get();
+                } catch (ExecutionException e) {
+                    futures.forEach(future -> future.cancel(true));
+                    throw unwrap(e.getCause());
+                } catch (InterruptedException e) {
+                    futures.forEach(future -> future.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for downstream calls");
+                }
+            }
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        futures.forEach(future -> results.add(future.resultNow()));
+        return results;
+    }
+
+    // Runs every call to completion; failures come back in call order, null for a call that succeeded
+    public static List<RuntimeException> settle(List<Runnable> calls) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        List<Future<Object>> futures = new ArrayList<>(calls.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            calls.forEach(call -> futures.add(executor.submit(inContext(() -> {
+                call.run();
+                return null;
+            }, attributes))));
+        }
+        List<RuntimeException> failures = new ArrayList<>(futures.size());
+        for (Future<Object> future : futures) {
+            failures.add(future.state() == Future.State.SUCCESS ? null : unwrap(future.exceptionNow()));
+        }
+        return failures;
+    }
+
+    private static <T> Callable<T> inContext(Callable<T> call, RequestAttributes attributes) {
+        return () -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            try {
+                return call.call();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        };
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+}
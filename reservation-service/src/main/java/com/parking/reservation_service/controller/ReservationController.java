@@ -1,8 +1,10 @@
 package com.parking.reservation_service.controller;
  
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,11 +13,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.parking.reservation_service.dto.AvailabilitySearchDTO;
+import com.parking.reservation_service.dto.BulkReservationRequestDTO;
+import com.parking.reservation_service.dto.BulkReservationResultDTO;
+import com.parking.reservation_service.dto.HeatmapDTO;
+import com.parking.reservation_service.dto.RecurringReservationRequestDTO;
+import com.parking.reservation_service.dto.RecurringReservationResultDTO;
+import com.parking.reservation_service.dto.ReservationPageDTO;
 import com.parking.reservation_service.dto.ReservationRequestDTO;
 import com.parking.reservation_service.dto.ReservationResponseDTO;
+import com.parking.reservation_service.entity.ReservationStatus;
+import com.parking.reservation_service.idempotency.IdempotencyStore;
 import com.parking.reservation_service.service.ReservationService;
 
 import lombok.RequiredArgsConstructor;
@@ -26,19 +39,40 @@ import lombok.RequiredArgsConstructor;
 public class ReservationController {
  
     private final ReservationService reservationService;
+    private final IdempotencyStore idempotencyStore;
+
+    private static final int MAX_PAGE_SIZE = 500;
 
  
-    // ✅ 1. Make a Reservation (CUSTOMER only)
+    // ✅ 1. Make a Reservation (CUSTOMER only); a retry with the same Idempotency-Key gets the first reservation back
     @PostMapping
     @PreAuthorize("hasAuthority('CUSTOMER')")
-    public ResponseEntity<Map<String, Object>> createReservation(@RequestBody ReservationRequestDTO request) {
-        ReservationResponseDTO dto = reservationService.createReservation(request);
+    public ResponseEntity<Map<String, Object>> createReservation(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody ReservationRequestDTO request) {
+        ReservationResponseDTO dto = idempotencyStore.execute(idempotencyKey, request,
+                () -> reservationService.createReservation(request),
+                ReservationResponseDTO::getReservationId,
+                reservationService::getReservationById);
         return ResponseEntity.ok(Map.of(
                 "message", "Reservation created successfully",
                 "reservation", dto
         ));
     }
  
+    // Book the same slot on a recurring pattern (e.g. every weekday until a date) or an explicit list of starts
+    @PostMapping("/recurring")
+    @PreAuthorize("hasAuthority('CUSTOMER')")
+    public ResponseEntity<Map<String, Object>> createRecurringReservation(@RequestBody RecurringReservationRequestDTO request) {
+        RecurringReservationResultDTO result = reservationService.createRecurringReservation(request);
+        return ResponseEntity.ok(Map.of(
+                "message", result.getCreated().isEmpty()
+                        ? "No reservations created: occurrences conflict"
+                        : "Recurring reservation created",
+                "result", result
+        ));
+    }
+ 
     // ✅ 2. Get All Reservations (ADMIN only)
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ADMIN', 'STAFF')")
@@ -46,6 +80,70 @@ public class ReservationController {
         return ResponseEntity.ok(reservationService.getAllReservations());
     }
  
+    // Keyset-paginated reservations, newest start first, with optional filters; pass nextCursor back as "cursor"
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'STAFF')")
+    public ResponseEntity<ReservationPageDTO> getReservationsPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam(value = "slotId", required = false) Long slotId,
+            @RequestParam(value = "status", required = false) ReservationStatus status,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(reservationService.getReservationsPage(userId, slotId, status, type, from, to,
+                cursor, clampLimit(limit)));
+    }
+ 
+    // Free slots for a time window, e.g. 4W slots from 14:00 to 17:00 tomorrow
+    @GetMapping("/availability")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER', 'STAFF')")
+    public ResponseEntity<AvailabilitySearchDTO> searchAvailability(
+            @RequestParam("type") String type,
+            @RequestParam(value = "zone", required = false) String zone,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return ResponseEntity.ok(reservationService.searchAvailability(type, zone, start, end));
+    }
+ 
+    // Operator bulk actions, e.g. closing a level: selected by slots, user and/or date range
+    @PostMapping("/bulk/cancel")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'STAFF')")
+    public ResponseEntity<BulkReservationResultDTO> bulkCancel(@RequestBody BulkReservationRequestDTO request) {
+        return ResponseEntity.ok(reservationService.bulkCancel(request));
+    }
+ 
+    @PostMapping("/bulk/extend")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'STAFF')")
+    public ResponseEntity<BulkReservationResultDTO> bulkExtend(@RequestBody BulkReservationRequestDTO request) {
+        return ResponseEntity.ok(reservationService.bulkExtend(request));
+    }
+ 
+    @PostMapping("/bulk/reassign")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'STAFF')")
+    public ResponseEntity<BulkReservationResultDTO> bulkReassign(@RequestBody BulkReservationRequestDTO request) {
+        return ResponseEntity.ok(reservationService.bulkReassign(request));
+    }
+ 
+    // Hourly booking counts per slot type, e.g. for an occupancy heatmap of last month
+    @GetMapping("/heatmap")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'STAFF')")
+    public ResponseEntity<HeatmapDTO> getHeatmap(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(reservationService.getHeatmap(type, from, to));
+    }
+ 
+    // Recomputes the hourly counts from all reservations, e.g. once after upgrading
+    @PostMapping("/heatmap/rebuild")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildHeatmap() {
+        int counted = reservationService.rebuildHeatmap();
+        return ResponseEntity.ok(Map.of("message", "Heatmap rebuilt", "reservations", counted));
+    }
+ 
     //  3. Get Reservation by ID (ADMIN or the same USER)
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER', 'STAFF')")
@@ -83,5 +181,23 @@ public ResponseEntity<Map<String, Object>> updateReservation(
     public ResponseEntity<List<ReservationResponseDTO>> getReservationsByUserId(@PathVariable Long userId) {
         return ResponseEntity.ok(reservationService.getReservationsByUser(userId));
     }
+ 
+    // A user's reservation history one page at a time (ADMIN and CUSTOMER)
+    @GetMapping("/user/{userId}/page")
+    @PreAuthorize("hasAnyAuthority('ADMIN','CUSTOMER')")
+    public ResponseEntity<ReservationPageDTO> getReservationsPageByUserId(
+            @PathVariable Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "status", required = false) ReservationStatus status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(reservationService.getReservationsPage(userId, null, status, null, from, to,
+                cursor, clampLimit(limit)));
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
 }
  
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.parking.reservation_service.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.parking.reservation_service.dto.WaitlistEntryDTO;
+import com.parking.reservation_service.dto.WaitlistRequestDTO;
+import com.parking.reservation_service.entity.WaitlistStatus;
+import com.parking.reservation_service.service.WaitlistService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/reservations/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    // Queue for a type/time window instead of retrying other slots; the first matching slot that
+    // comes free is booked automatically (CUSTOMER only)
+    @PostMapping
+    @PreAuthorize("hasAuthority('CUSTOMER')")
+    public ResponseEntity<Map<String, Object>> joinWaitlist(@RequestBody WaitlistRequestDTO request) {
+        WaitlistEntryDTO entry = waitlistService.join(request);
+        return ResponseEntity.ok(Map.of(
+                "message", entry.getStatus() == WaitlistStatus.BOOKED
+                        ? "Slot available: reservation created"
+                        : "Added to the waitlist",
+                "entry", entry
+        ));
+    }
+
+    // A user's waitlist entries, newest first (ADMIN and CUSTOMER)
+    @GetMapping("/user/{userId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN','CUSTOMER')")
+    public ResponseEntity<List<WaitlistEntryDTO>> getEntriesByUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(waitlistService.getEntriesByUser(userId));
+    }
+
+    // Leave the waitlist (ADMIN or CUSTOMER)
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('ADMIN','CUSTOMER')")
+    public ResponseEntity<Map<String, Object>> leaveWaitlist(@PathVariable Long id) {
+        waitlistService.leave(id);
+        return ResponseEntity.ok(Map.of("message", "Left the waitlist"));
+    }
+}
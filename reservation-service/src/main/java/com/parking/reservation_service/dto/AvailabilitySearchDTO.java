@@ -0,0 +1,18 @@
+package com.parking.reservation_service.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilitySearchDTO {
+    private String type;
+    private String zone;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private int count;
+    private List<SlotDTO> slots; // free for the whole window, ordered by slotId
+}
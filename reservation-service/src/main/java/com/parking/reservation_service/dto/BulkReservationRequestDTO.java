@@ -0,0 +1,20 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Selects ACTIVE reservations for an operator bulk action; at least one filter is required
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReservationRequestDTO {
+    private List<Long> slotIds;
+    private Long userId;
+    private LocalDateTime from; // reservations overlapping [from, to)
+    private LocalDateTime to;
+    private Integer extendMinutes; // extend: added to each end time
+    private Map<Long, Long> targetSlots; // reassign: current slot -> new slot
+}
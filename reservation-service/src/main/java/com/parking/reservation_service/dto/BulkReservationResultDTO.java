@@ -0,0 +1,15 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReservationResultDTO {
+    private String operation;
+    private int matched;
+    private int updated;
+    private List<SkippedReservationDTO> skipped;
+}
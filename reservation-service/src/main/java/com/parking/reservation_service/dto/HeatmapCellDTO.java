@@ -0,0 +1,15 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeatmapCellDTO {
+    private String type;
+    private LocalDateTime hourStart;
+    private long bookings; // non-cancelled reservations overlapping the hour
+    private long reservedMinutes; // minutes of the hour they cover, summed
+}
@@ -0,0 +1,16 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeatmapDTO {
+    private String type; // null = all types
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<HeatmapCellDTO> cells; // hours without bookings are left out
+}
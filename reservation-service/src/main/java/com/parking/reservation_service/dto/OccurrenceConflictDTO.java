@@ -0,0 +1,14 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccurrenceConflictDTO {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String reason;
+}
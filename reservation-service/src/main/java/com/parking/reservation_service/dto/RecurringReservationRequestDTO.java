@@ -0,0 +1,26 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringReservationRequestDTO {
+    private Long userId;
+    private Long slotId;
+    private String vehicleNumber;
+    private String type;
+    private LocalDateTime startTime; // first occurrence; every occurrence lasts as long as this one
+    private LocalDateTime endTime;
+    private String frequency; // DAILY or WEEKLY; not needed when startTimes is given
+    private List<DayOfWeek> byDays; // WEEKLY only, e.g. MONDAY..FRIDAY; defaults to the first occurrence's day
+    private LocalDate until; // last day an occurrence may start on (inclusive)
+    private Integer count; // or: number of occurrences
+    private List<LocalDateTime> startTimes; // explicit occurrence starts instead of a pattern
+    private boolean skipConflicts; // book the free occurrences even if some conflict; default is all or nothing
+}
@@ -0,0 +1,14 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringReservationResultDTO {
+    private int requested;
+    private List<ReservationResponseDTO> created;
+    private List<OccurrenceConflictDTO> conflicts;
+}
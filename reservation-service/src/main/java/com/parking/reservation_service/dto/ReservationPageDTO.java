@@ -0,0 +1,14 @@
+package com.parking.reservation_service.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationPageDTO {
+    private List<ReservationResponseDTO> reservations; // newest start time first
+    private String nextCursor; // pass as "cursor" to fetch the next page; null on the last page
+    private boolean hasMore;
+}
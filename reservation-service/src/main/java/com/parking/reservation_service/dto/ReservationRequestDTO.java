@@ -14,4 +14,5 @@ public class ReservationRequestDTO {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private String type; // e.g., "PENDING", "CONFIRMED", "CANCELLED"
+    private Long holdId; // optional slot hold from checkout; confirmed instead of marking the slot occupied
 }
\ No newline at end of file
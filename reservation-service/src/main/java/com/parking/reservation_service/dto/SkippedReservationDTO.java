@@ -0,0 +1,11 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkippedReservationDTO {
+    private Long reservationId;
+    private String reason;
+}
@@ -0,0 +1,14 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+// A parking slot as returned by slot-service
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotDTO {
+    private Long slotId;
+    private String location;
+    private String type;
+    private boolean occupied;
+}
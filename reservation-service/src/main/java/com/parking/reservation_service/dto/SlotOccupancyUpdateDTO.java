@@ -0,0 +1,12 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+// One row of slot-service's bulk occupancy update
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotOccupancyUpdateDTO {
+    private Long slotId;
+    private Boolean occupied;
+}
@@ -0,0 +1,15 @@
+package com.parking.reservation_service.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+// One keyset page of slot-service's /api/slots/page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotPageDTO {
+    private List<SlotDTO> slots;
+    private Long nextCursor;
+    private boolean hasMore;
+}
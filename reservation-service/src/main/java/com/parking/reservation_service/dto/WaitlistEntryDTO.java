@@ -0,0 +1,23 @@
+package com.parking.reservation_service.dto;
+
+import com.parking.reservation_service.entity.WaitlistStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryDTO {
+    private Long waitlistId;
+    private Long userId;
+    private String vehicleNumber;
+    private String type;
+    private String zone;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private WaitlistStatus status;
+    private int position; // place in the queue for the type while WAITING, else 0
+    private Long reservationId; // the booked reservation once BOOKED
+    private LocalDateTime createdAt;
+}
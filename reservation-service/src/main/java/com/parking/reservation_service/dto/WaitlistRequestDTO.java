@@ -0,0 +1,17 @@
+package com.parking.reservation_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistRequestDTO {
+    private Long userId;
+    private String vehicleNumber;
+    private String type; // slot type wanted, e.g. "2W", "4W"
+    private String zone; // optional, e.g. "B"
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
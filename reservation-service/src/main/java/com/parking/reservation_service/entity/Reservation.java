@@ -6,7 +6,15 @@ import lombok.*;
 import java.time.LocalDateTime;
  
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        // Overlap checks: equality on slot and status, range on the window
+        @Index(name = "idx_reservations_slot_window", columnList = "slot_id, status, start_time, end_time"),
+        // Keyset pages ordered by start time (InnoDB appends the primary key, the tie-breaker)
+        @Index(name = "idx_reservations_user_start", columnList = "user_id, start_time"),
+        @Index(name = "idx_reservations_status_start", columnList = "status, start_time"),
+        @Index(name = "idx_reservations_slot_start", columnList = "slot_id, start_time"),
+        @Index(name = "idx_reservations_start", columnList = "start_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
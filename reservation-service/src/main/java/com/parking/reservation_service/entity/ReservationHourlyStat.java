@@ -0,0 +1,43 @@
+package com.parking.reservation_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Pre-aggregated heatmap cell: non-cancelled reservations of a slot type overlapping one hour.
+// Written through ReservationStatsRepository; spread over a few shards per cell so concurrent
+// bookings of different slots do not all wait on one row.
+@Entity
+@Table(name = "reservation_hourly_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationHourlyStat {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long bookings;
+
+    @Column(nullable = false)
+    private long reservedMinutes;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(nullable = false, length = 50)
+        private String type;
+
+        @Column(name = "hour_start", nullable = false)
+        private LocalDateTime hourStart;
+
+        @Column(nullable = false)
+        private int shard;
+    }
+}
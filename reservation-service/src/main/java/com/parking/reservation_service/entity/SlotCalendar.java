@@ -0,0 +1,20 @@
+package com.parking.reservation_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// One row per slot that has been booked; bookings of the slot lock it, so they run one at a time
+@Entity
+@Table(name = "slot_calendars")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotCalendar {
+
+    @Id
+    @Column(name = "slot_id")
+    private Long slotId;
+
+    @Column(nullable = false)
+    private long version; // bumped by every booking of the slot
+}
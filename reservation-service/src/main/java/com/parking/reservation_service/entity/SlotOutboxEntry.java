@@ -0,0 +1,34 @@
+package com.parking.reservation_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// A slot occupancy change written in the same transaction as the reservation change behind it;
+// SlotOutboxRelay delivers it to slot-service and deletes it
+@Entity
+@Table(name = "slot_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(nullable = false)
+    private Long slotId;
+
+    @Column(nullable = false)
+    private boolean occupied;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+}
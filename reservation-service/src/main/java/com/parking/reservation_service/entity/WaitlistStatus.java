@@ -0,0 +1,8 @@
+package com.parking.reservation_service.entity;
+
+public enum WaitlistStatus {
+    WAITING,
+    BOOKED,
+    CANCELLED,
+    EXPIRED
+}
@@ -0,0 +1,16 @@
+package com.parking.reservation_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published by ReservationServiceImpl when a reservation stops holding its slot (cancelled or completed).
+// Listeners should use @TransactionalEventListener so they only see committed changes.
+@Getter
+@ToString
+@AllArgsConstructor
+public class ReservationReleasedEvent {
+    private final Long reservationId;
+    private final Long slotId;
+    private final String type;
+}
@@ -0,0 +1,86 @@
+package com.parking.reservation_service.expiry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hashed timing wheel for reservation expiry. A reservation is hashed into the bucket of
+ * the tick its end time falls in; every tick only looks at one bucket, so expiry fires
+ * within a tick of the end time without polling the reservations table. Reservations
+ * ending in a later revolution stay in their bucket until their end time has passed.
+ */
+@Component
+public class ReservationExpiryWheel {
+
+    private final long tickMillis;
+    private final List<Set<Long>> buckets;
+    private final Map<Long, Timeout> timeouts = new HashMap<>();
+    private long lastTick = -1;
+
+    public ReservationExpiryWheel(@Value("${reservation.expiry.tick-millis:1000}") long tickMillis,
+                                  @Value("${reservation.expiry.wheel-size:4096}") int wheelSize) {
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new HashSet<>());
+        }
+    }
+
+    // (Re)schedules a reservation; a previous deadline for it is dropped
+    public synchronized void schedule(long reservationId, long deadlineMillis) {
+        cancel(reservationId);
+        // Deadlines already behind the cursor (e.g. recovered after a restart) go into the next tick
+        long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, lastTick + 1);
+        Timeout timeout = new Timeout(reservationId, deadlineMillis, index(tick));
+        buckets.get(timeout.bucket).add(reservationId);
+        timeouts.put(reservationId, timeout);
+    }
+
+    public synchronized void cancel(long reservationId) {
+        Timeout timeout = timeouts.remove(reservationId);
+        if (timeout != null) {
+            buckets.get(timeout.bucket).remove(reservationId);
+        }
+    }
+
+    // Moves the cursor up to the current tick and returns the reservations whose end time has passed
+    public synchronized List<Long> advance(long now) {
+        long currentTick = now / tickMillis;
+        if (lastTick < 0) {
+            lastTick = currentTick - 1;
+        }
+        List<Long> due = new ArrayList<>();
+        for (long tick = Math.max(lastTick + 1, currentTick - buckets.size() + 1); tick <= currentTick; tick++) {
+            Iterator<Long> it = buckets.get(index(tick)).iterator();
+            while (it.hasNext()) {
+                Timeout timeout = timeouts.get(it.next());
+                if (timeout.deadlineMillis <= now) {
+                    it.remove();
+                    timeouts.remove(timeout.reservationId);
+                    due.add(timeout.reservationId);
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, currentTick);
+        return due;
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    private int index(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.size());
+    }
+
+    private record Timeout(long reservationId, long deadlineMillis, int bucket) {
+    }
+}
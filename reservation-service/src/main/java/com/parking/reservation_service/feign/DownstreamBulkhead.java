@@ -0,0 +1,58 @@
+package com.parking.reservation_service.feign;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import feign.Capability;
+import feign.Client;
+
+/**
+ * Caps the calls in flight to each downstream service. With virtual threads nothing else
+ * limits how many requests pile onto a slow service, so every Feign client is wrapped: a
+ * call waits up to the acquire timeout for one of the service's permits and otherwise fails
+ * fast instead of adding to the queue. The wrapper sits outside load balancing, so the
+ * request host is the service id and all instances of a service share one limit.
+ */
+@Component
+public class DownstreamBulkhead implements Capability {
+
+    private final int maxConcurrent;
+    private final long acquireTimeoutMillis;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public DownstreamBulkhead(@Value("${downstream.max-concurrent:256}") int maxConcurrent,
+                              @Value("${downstream.acquire-timeout-millis:1000}") long acquireTimeoutMillis) {
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            String service = URI.create(request.url()).getHost();
+            Semaphore semaphore = permits.computeIfAbsent(service, s -> new Semaphore(maxConcurrent));
+            try {
+                if (!semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    // Surfaces as a Feign RetryableException, like a connect failure
+                    throw new IOException(service + " already has " + maxConcurrent + " calls in flight");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + service);
+            }
+            try {
+                return client.execute(request, options);
+            } finally {
+                semaphore.release();
+            }
+        };
+    }
+}
@@ -2,16 +2,27 @@ package com.parking.reservation_service.feign;
 
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import com.parking.reservation_service.security.ServiceAccountToken;
+
 @Component
+@RequiredArgsConstructor
 public class FeignClientInterceptor implements RequestInterceptor {
+
+    private final ServiceAccountToken serviceAccountToken;
+
     @Override
     public void apply(RequestTemplate template) {
+        if (template.headers().containsKey("Authorization")) {
+            // Set explicitly by the call, e.g. the service account for staff-only lookups
+            return;
+        }
         ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
         if (attributes != null) {
             HttpServletRequest request = attributes.getRequest();
@@ -19,6 +30,9 @@ public class FeignClientInterceptor implements RequestInterceptor {
             if (authHeader != null) {
                 template.header("Authorization", authHeader);
             }
+        } else {
+            // Background work (outbox relay, expiry) calls as the service account
+            template.header("Authorization", serviceAccountToken.authorizationHeader());
         }
     }
 }
\ No newline at end of file
@@ -1,9 +1,17 @@
 package com.parking.reservation_service.feign;
  
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.List;
+
+import com.parking.reservation_service.dto.SlotOccupancyUpdateDTO;
+import com.parking.reservation_service.dto.SlotPageDTO;
  
 @FeignClient(name = "slot-service", path = "/api/slots")
 public interface SlotClient {
@@ -14,6 +22,24 @@ public interface SlotClient {
     @PutMapping("/mark-available/{slotId}")
     void markSlotAvailable(@PathVariable Long slotId);
 
+    // One batched occupancy update; slotId only routes the call to the slot-service partition owning the rows
+    @PutMapping("/bulk/occupancy")
+    void updateOccupancy(@RequestParam("slotId") Long routingSlotId, @RequestBody List<SlotOccupancyUpdateDTO> updates);
+
+    // Keyset page over the slots (occupied or not) of one slot-service instance; pass nextCursor back as "after".
+    // Staff only, so the caller passes the service account's Authorization header.
+    @GetMapping("/page")
+    SlotPageDTO getSlotsPage(@RequestHeader("Authorization") String authorization,
+                             @RequestHeader("X-Slot-Instance") String instanceId,
+                             @RequestParam(value = "after", required = false) Long after,
+                             @RequestParam("limit") int limit,
+                             @RequestParam("type") String type);
+
+    // Converts a checkout hold placed by the same user into a booking;
+    // slotId lets the load balancer pick the slot-service partition that owns the hold
+    @PutMapping("/holds/{holdId}/confirm")
+    void confirmHold(@PathVariable Long holdId, @RequestParam("slotId") Long slotId);
+
         @PutMapping("/api/slots/update-occupancy")
     void updateSlotOccupancy(
         @RequestParam("slotId") Long slotId,
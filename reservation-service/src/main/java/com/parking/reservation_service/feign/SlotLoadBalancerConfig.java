@@ -0,0 +1,27 @@
+package com.parking.reservation_service.feign;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// Routes SlotClient calls to the slot-service partition that owns the slot/zone
+@Configuration
+@LoadBalancerClient(name = "slot-service", configuration = SlotLoadBalancerConfig.PartitionRouting.class)
+public class SlotLoadBalancerConfig {
+
+    // Not a @Configuration on purpose: it is only loaded into the slot-service load balancer context
+    static class PartitionRouting {
+
+        @Bean
+        public ReactorLoadBalancer<ServiceInstance> slotPartitionLoadBalancer(Environment environment,
+                                                                             LoadBalancerClientFactory factory) {
+            String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+            return new SlotPartitionLoadBalancer(factory.getLazyProvider(name, ServiceInstanceListSupplier.class));
+        }
+    }
+}
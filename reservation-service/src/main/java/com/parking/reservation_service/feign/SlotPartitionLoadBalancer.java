@@ -0,0 +1,153 @@
+package com.parking.reservation_service.feign;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends slot-service requests to the instance that owns the slot or zone they are about,
+ * based on the partition metadata slot-service publishes to Eureka (slot-zones,
+ * slot-zones-excluded, slot-legacy). Slot ids carry their zone key in the high bits, so a
+ * slot id alone is enough to find the owner. Requests without a routing key go round-robin.
+ * <p>
+ * The same class is kept in gateway-service, reservation-service and vehicle-log-service, which
+ * build independently; gateway-service's SlotPartitionLoadBalancerTest fails if the copies drift.
+ */
+public class SlotPartitionLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private static final Pattern SLOT_PATH = Pattern.compile("^/api/slots/(?:slot/|mark-occupied/|mark-available/)?(\\d+)(?:/.*)?$");
+
+    // Must match SlotPartitionKeys in slot-service; gateway-service's SlotPartitionLoadBalancerTest pins the ids it issues
+    public static final int SEQUENCE_BITS = 24;
+    private static final int LETTER_KEYS = 387_420_489;
+    private static final int HASHED_KEYS = (1 << 29) - LETTER_KEYS;
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final AtomicInteger position = new AtomicInteger();
+
+    public SlotPartitionLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers) {
+        this.suppliers = suppliers;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> select(instances, request));
+    }
+
+    private Response<ServiceInstance> select(List<ServiceInstance> instances, Request<?> request) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        ServiceInstance owner = null;
+        if (request.getContext() instanceof RequestDataContext context && context.getClientRequest() != null) {
+            owner = ownerOf(instances, context.getClientRequest());
+        }
+        if (owner == null) {
+            owner = instances.get(Math.floorMod(position.getAndIncrement(), instances.size()));
+        }
+        return new DefaultResponse(owner);
+    }
+
+    private static ServiceInstance ownerOf(List<ServiceInstance> instances, RequestData request) {
+        String instanceId = request.getHeaders().getFirst("X-Slot-Instance");
+        if (instanceId != null) {
+            return first(instances, instance -> instanceId.equals(instance.getInstanceId()));
+        }
+        Map<String, List<String>> params = UriComponentsBuilder.fromUri(request.getUrl()).build().getQueryParams();
+        String zone = request.getHeaders().getFirst("X-Slot-Zone");
+        if (zone == null && params.containsKey("zone")) {
+            zone = params.get("zone").get(0);
+        }
+        if (zone != null) {
+            return ownerOfKey(instances, zoneKey(zone));
+        }
+        Long slotId = params.containsKey("slotId") ? parse(params.get("slotId").get(0)) : slotIdInPath(request.getUrl());
+        if (slotId == null) {
+            return null;
+        }
+        int zoneKey = zoneKeyOf(slotId);
+        if (zoneKey == 0) {
+            // Issued before partitioning
+            return first(instances, instance -> "true".equals(instance.getMetadata().get("slot-legacy")));
+        }
+        return ownerOfKey(instances, zoneKey);
+    }
+
+    /** Zone key carried in the high bits of a slot id; 0 for ids issued before partitioning. */
+    public static int zoneKeyOf(long slotId) {
+        return (int) (slotId >>> SEQUENCE_BITS);
+    }
+
+    // An instance listing the zone explicitly wins over a catch-all (*) instance that has not handed it off
+    private static ServiceInstance ownerOfKey(List<ServiceInstance> instances, int zoneKey) {
+        ServiceInstance owner = first(instances, instance -> !"*".equals(instance.getMetadata().get("slot-zones"))
+                && containsKey(instance.getMetadata().get("slot-zones"), zoneKey));
+        if (owner != null) {
+            return owner;
+        }
+        return first(instances, instance -> "*".equals(instance.getMetadata().get("slot-zones"))
+                && !containsKey(instance.getMetadata().get("slot-zones-excluded"), zoneKey));
+    }
+
+    private static ServiceInstance first(List<ServiceInstance> instances, Predicate<ServiceInstance> filter) {
+        return instances.stream().filter(filter).findFirst().orElse(null);
+    }
+
+    private static boolean containsKey(String zones, int zoneKey) {
+        if (zones == null || zones.isBlank()) {
+            return false;
+        }
+        for (String zone : zones.split(",")) {
+            if (zoneKey(zone) == zoneKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int zoneKey(String zone) {
+        String normalized = zone.trim().toUpperCase(Locale.ROOT);
+        if (!normalized.isEmpty() && normalized.length() <= 6 && normalized.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+            int key = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                key = key * 27 + (normalized.charAt(i) - 'A' + 1);
+            }
+            return key;
+        }
+        return LETTER_KEYS + Math.floorMod(normalized.hashCode(), HASHED_KEYS);
+    }
+
+    private static Long slotIdInPath(URI url) {
+        Matcher matcher = SLOT_PATH.matcher(url.getPath());
+        return matcher.matches() ? parse(matcher.group(1)) : null;
+    }
+
+    private static Long parse(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
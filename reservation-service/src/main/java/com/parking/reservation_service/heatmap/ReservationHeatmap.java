@@ -0,0 +1,130 @@
+package com.parking.reservation_service.heatmap;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.parking.reservation_service.dto.HeatmapDTO;
+import com.parking.reservation_service.entity.Reservation;
+import com.parking.reservation_service.repository.ReservationStatsRepository;
+import com.parking.reservation_service.repository.ReservationStatsRepository.HourDelta;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hourly booking counts per slot type, kept next to the reservations they describe. Every
+ * booking, update and cancellation turns the windows it adds or removes into per-hour deltas
+ * and upserts them in the same transaction, so the heatmap is read from a few hundred
+ * pre-aggregated rows instead of scanning reservations. Completed reservations stay counted.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationHeatmap {
+
+    // Each cell is split over this many rows by slot id, so bookings of different slots rarely wait on one row
+    static final int SHARDS = 16;
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private static final Comparator<Cell> CELL_ORDER = Comparator.comparing(Cell::type)
+            .thenComparing(Cell::hourStart)
+            .thenComparingInt(Cell::shard);
+
+    private final ReservationStatsRepository statsRepository;
+
+    // Joins the caller's transaction
+    public void add(Collection<Reservation> reservations) {
+        apply(deltas(reservations, 1));
+    }
+
+    public void remove(Collection<Reservation> reservations) {
+        apply(deltas(reservations, -1));
+    }
+
+    // Edited reservations: the old windows come out and the new ones go in as one batch
+    public void move(Collection<Reservation> before, Collection<Reservation> after) {
+        Map<Cell, long[]> cells = deltas(before, -1);
+        after.forEach(reservation -> merge(cells, reservation, 1));
+        apply(cells);
+    }
+
+    public HeatmapDTO heatmap(String type, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        if (Duration.between(from, to).toDays() > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("The range may span at most " + MAX_RANGE_DAYS + " days");
+        }
+        String wantedType = type == null || type.isBlank() ? null : normalise(type);
+        return new HeatmapDTO(wantedType, from, to,
+                statsRepository.findCells(wantedType, from.truncatedTo(ChronoUnit.HOURS), to));
+    }
+
+    // Recomputes every cell from the reservations table. The DELETE locks the table's rows and gaps
+    // first, so bookings committing meanwhile wait and land on top of the rebuilt counts.
+    @Transactional
+    public int rebuild() {
+        statsRepository.deleteAll();
+        Map<Cell, long[]> cells = new TreeMap<>(CELL_ORDER);
+        AtomicInteger counted = new AtomicInteger();
+        // The cursor has to be drained before the connection can run the inserts
+        statsRepository.forEachCountedReservation(reservation -> {
+            merge(cells, reservation, 1);
+            counted.incrementAndGet();
+        });
+        apply(cells);
+        return counted.get();
+    }
+
+    static Map<Cell, long[]> deltas(Collection<Reservation> reservations, int sign) {
+        // Sorted so concurrent transactions upsert shared rows in the same order and cannot deadlock
+        Map<Cell, long[]> cells = new TreeMap<>(CELL_ORDER);
+        reservations.forEach(reservation -> merge(cells, reservation, sign));
+        return cells;
+    }
+
+    // Adds one booking and the minutes covered to every hour the window overlaps
+    static void merge(Map<Cell, long[]> cells, Reservation reservation, int sign) {
+        String type = normalise(reservation.getType());
+        int shard = (int) Math.floorMod(reservation.getSlotId(), (long) SHARDS);
+        LocalDateTime start = reservation.getStartTime();
+        LocalDateTime end = reservation.getEndTime();
+        for (LocalDateTime hour = start.truncatedTo(ChronoUnit.HOURS); hour.isBefore(end); hour = hour.plusHours(1)) {
+            LocalDateTime from = start.isAfter(hour) ? start : hour;
+            LocalDateTime to = end.isBefore(hour.plusHours(1)) ? end : hour.plusHours(1);
+            long[] totals = cells.computeIfAbsent(new Cell(type, hour, shard), c -> new long[2]);
+            totals[0] += sign;
+            totals[1] += sign * Duration.between(from, to).toMinutes();
+        }
+    }
+
+    private void apply(Map<Cell, long[]> cells) {
+        List<HourDelta> deltas = new ArrayList<>(cells.size());
+        cells.forEach((cell, totals) -> {
+            if (totals[0] != 0 || totals[1] != 0) {
+                deltas.add(new HourDelta(cell.type(), cell.hourStart(), cell.shard(), totals[0], totals[1]));
+            }
+        });
+        if (!deltas.isEmpty()) {
+            statsRepository.applyDeltas(deltas);
+        }
+    }
+
+    private static String normalise(String type) {
+        return type.trim().toUpperCase(Locale.ROOT);
+    }
+
+    record Cell(String type, LocalDateTime hourStart, int shard) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.parking.reservation_service.idempotency;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.parking.reservation_service.entity.IdempotencyRecord;
+import com.parking.reservation_service.repository.IdempotencyRecordRepository;
+
+/**
+ * Runs a create request at most once per Idempotency-Key and caller. Recent responses are
+ * kept in a bounded in-memory LRU; the idempotency_keys table makes the key hold across
+ * restarts and instances. A duplicate arriving while the first request is still running
+ * waits for it on the same instance, and is refused on another one.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository repository;
+    private final long ttlMillis;
+    private final long claimTimeoutMillis;
+    private final Map<String, Completed> completed;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            @Value("${idempotency.cache-size:10000}") int cacheSize,
+                            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${idempotency.claim-timeout-seconds:60}") long claimTimeoutSeconds) {
+        this.repository = repository;
+        this.ttlMillis = ttlHours * 60 * 60 * 1000;
+        this.claimTimeoutMillis = claimTimeoutSeconds * 1000;
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<String, Completed>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Completed> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    // Runs action once per key; duplicates get the first response, or the created resource re-read
+    // by its id once the response has left the in-memory cache. No key: the action just runs.
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String idempotencyKey, Object request, Supplier<T> action,
+                         Function<T, Long> idOf, Function<Long, T> replay) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String key = caller() + ":" + idempotencyKey;
+        int requestHash = Objects.hashCode(request);
+        while (true) {
+            Completed done = completed.get(key);
+            if (done != null && System.currentTimeMillis() - done.completedAt() < ttlMillis) {
+                checkSameRequest(done.requestHash(), requestHash);
+                return (T) done.response();
+            }
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                // Same key in flight on this instance: wait for it, then answer from its result
+                try {
+                    running.join();
+                } catch (CompletionException e) {
+                    // It failed and released the key; this request gets its own attempt
+                }
+                continue;
+            }
+            try {
+                T response = runOnce(key, requestHash, action, idOf, replay);
+                completed.put(key, new Completed(requestHash, response, System.currentTimeMillis()));
+                mine.complete(response);
+                return response;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+    }
+
+    private <T> T runOnce(String key, int requestHash, Supplier<T> action,
+                          Function<T, Long> idOf, Function<Long, T> replay) {
+        Optional<IdempotencyRecord> existing = repository.findById(key);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            checkSameRequest(record.getRequestHash(), requestHash);
+            if (record.getResourceId() != null) {
+                return replay.apply(record.getResourceId());
+            }
+            Instant staleBefore = Instant.now().minusMillis(claimTimeoutMillis);
+            if (repository.deleteStaleClaim(key, staleBefore) == 0) {
+                throw inProgress();
+            }
+        }
+        try {
+            repository.claim(key, requestHash, Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            throw inProgress();
+        }
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // Nothing was created; release the key so the client can retry
+            repository.deleteById(key);
+            throw e;
+        }
+        repository.complete(key, idOf.apply(response));
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-millis:3600000}")
+    public void purgeExpired() {
+        repository.deleteCreatedBefore(Instant.now().minusMillis(ttlMillis));
+    }
+
+    private static void checkSameRequest(int expectedHash, int requestHash) {
+        if (expectedHash != requestHash) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+        }
+    }
+
+    private static IllegalStateException inProgress() {
+        return new IllegalStateException("A request with this Idempotency-Key is still in progress");
+    }
+
+    // Keys are per caller, so two users cannot collide on the same key
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    private record Completed(int requestHash, Object response, long completedAt) {
+    }
+}
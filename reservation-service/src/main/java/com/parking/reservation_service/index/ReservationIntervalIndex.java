@@ -0,0 +1,182 @@
+package com.parking.reservation_service.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.parking.reservation_service.entity.Reservation;
+
+/**
+ * ACTIVE reservation windows per slot, ordered by start time. Windows of one slot do not
+ * overlap, so an overlap check only has to look at the window starting right before the
+ * requested end: O(log n) per slot. The database stays authoritative: bookings made by
+ * other instances show up here when a slot is re-synced from it.
+ *
+ * For availability searches the same windows are also kept as a time-bucketed matrix: per
+ * bucket (e.g. 15 minutes) a bitset of the slots reserved at some point in it, so "which
+ * slots are taken between 14:00 and 17:00" is an OR over a dozen bitsets.
+ */
+@Component
+public class ReservationIntervalIndex {
+
+    private static final Comparator<Window> ORDER =
+            Comparator.comparing(Window::start).thenComparingLong(Window::reservationId);
+
+    private final long bucketSeconds;
+
+    private final Map<Long, NavigableSet<Window>> bySlot = new HashMap<>();
+    private final Map<Long, Window> byReservation = new HashMap<>();
+
+    // bucket number -> columns of the slots reserved in that bucket
+    private final TreeMap<Long, BitSet> reservedByBucket = new TreeMap<>();
+    private final Map<Long, Integer> columns = new HashMap<>();
+    private final List<Long> columnSlotIds = new ArrayList<>();
+
+    public ReservationIntervalIndex(@Value("${reservation.availability.bucket-minutes:15}") int bucketMinutes) {
+        this.bucketSeconds = bucketMinutes * 60L;
+    }
+
+    public synchronized void rebuild(Collection<Reservation> active) {
+        bySlot.clear();
+        byReservation.clear();
+        reservedByBucket.clear();
+        active.forEach(this::add);
+    }
+
+    // Replaces what is known about one slot, e.g. after the database disagreed with the index
+    public synchronized void replaceSlot(Long slotId, Collection<Reservation> active) {
+        NavigableSet<Window> windows = bySlot.get(slotId);
+        if (windows != null) {
+            new ArrayList<>(windows).forEach(w -> remove(w.reservationId()));
+        }
+        active.forEach(this::add);
+    }
+
+    public synchronized void put(Reservation reservation) {
+        remove(reservation.getReservationId());
+        add(reservation);
+    }
+
+    public synchronized void remove(Long reservationId) {
+        Window window = byReservation.remove(reservationId);
+        if (window == null) {
+            return;
+        }
+        NavigableSet<Window> windows = bySlot.get(window.slotId());
+        windows.remove(window);
+        if (windows.isEmpty()) {
+            bySlot.remove(window.slotId());
+        }
+        unmark(window, windows);
+    }
+
+    // True if [start, end) overlaps a window of the slot other than excludeId (null = none)
+    public synchronized boolean overlaps(Long slotId, LocalDateTime start, LocalDateTime end, Long excludeId) {
+        return overlaps(bySlot.get(slotId), start, end, excludeId);
+    }
+
+    // Slots with an ACTIVE reservation overlapping [start, end). Buckets lying fully inside the window
+    // decide on their own; slots seen only in the partially covered edge buckets are checked exactly.
+    public synchronized Set<Long> reservedSlots(LocalDateTime start, LocalDateTime end) {
+        BitSet reserved = new BitSet();
+        BitSet edge = new BitSet();
+        for (Map.Entry<Long, BitSet> bucket : reservedByBucket.subMap(bucketOf(start), true, lastBucketOf(end), true).entrySet()) {
+            boolean inside = !bucketStart(bucket.getKey()).isBefore(start) && !bucketStart(bucket.getKey() + 1).isAfter(end);
+            (inside ? reserved : edge).or(bucket.getValue());
+        }
+        edge.andNot(reserved);
+        for (int column = edge.nextSetBit(0); column >= 0; column = edge.nextSetBit(column + 1)) {
+            if (overlaps(bySlot.get(columnSlotIds.get(column)), start, end, null)) {
+                reserved.set(column);
+            }
+        }
+        Set<Long> slotIds = new HashSet<>();
+        reserved.stream().forEach(column -> slotIds.add(columnSlotIds.get(column)));
+        return slotIds;
+    }
+
+    private static boolean overlaps(NavigableSet<Window> windows, LocalDateTime start, LocalDateTime end, Long excludeId) {
+        if (windows == null) {
+            return false;
+        }
+        // Windows are disjoint: the last one starting before `end` is the only candidate,
+        // apart from the reservation being updated, which is skipped
+        Iterator<Window> before = windows.headSet(new Window(end, null, 0, Long.MIN_VALUE), false).descendingIterator();
+        while (before.hasNext()) {
+            Window window = before.next();
+            if (window.reservationId() != (excludeId == null ? Long.MIN_VALUE : excludeId)) {
+                return window.end().isAfter(start);
+            }
+        }
+        return false;
+    }
+
+    // Slots with indexed windows above the given id, in id order; for re-syncing the index slice by slice
+    public synchronized List<Long> slotsAfter(long slotId, int limit) {
+        return bySlot.keySet().stream().filter(id -> id > slotId).sorted().limit(limit).collect(Collectors.toList());
+    }
+
+    public synchronized int size() {
+        return byReservation.size();
+    }
+
+    private void add(Reservation reservation) {
+        Window window = new Window(reservation.getStartTime(), reservation.getEndTime(),
+                reservation.getSlotId(), reservation.getReservationId());
+        bySlot.computeIfAbsent(window.slotId(), s -> new TreeSet<>(ORDER)).add(window);
+        byReservation.put(window.reservationId(), window);
+        int column = columns.computeIfAbsent(window.slotId(), slotId -> {
+            columnSlotIds.add(slotId);
+            return columnSlotIds.size() - 1;
+        });
+        for (long bucket = bucketOf(window.start()); bucket <= lastBucketOf(window.end()); bucket++) {
+            reservedByBucket.computeIfAbsent(bucket, b -> new BitSet()).set(column);
+        }
+    }
+
+    // Clears the slot's bit in the buckets of a removed window, unless another window of the slot shares them
+    private void unmark(Window window, NavigableSet<Window> remaining) {
+        int column = columns.get(window.slotId());
+        for (long bucket = bucketOf(window.start()); bucket <= lastBucketOf(window.end()); bucket++) {
+            BitSet reserved = reservedByBucket.get(bucket);
+            if (reserved != null && !overlaps(remaining, bucketStart(bucket), bucketStart(bucket + 1), null)) {
+                reserved.clear(column);
+                if (reserved.isEmpty()) {
+                    reservedByBucket.remove(bucket);
+                }
+            }
+        }
+    }
+
+    private long bucketOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+    }
+
+    // Bucket holding the last instant before an exclusive end
+    private long lastBucketOf(LocalDateTime end) {
+        return bucketOf(end.minusNanos(1));
+    }
+
+    private LocalDateTime bucketStart(long bucket) {
+        return LocalDateTime.ofEpochSecond(bucket * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+
+    private record Window(LocalDateTime start, LocalDateTime end, long slotId, long reservationId) {
+    }
+}
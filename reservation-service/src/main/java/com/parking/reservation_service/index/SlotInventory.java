@@ -0,0 +1,95 @@
+package com.parking.reservation_service.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+
+import com.parking.reservation_service.dto.SlotDTO;
+import com.parking.reservation_service.dto.SlotPageDTO;
+import com.parking.reservation_service.feign.SlotClient;
+import com.parking.reservation_service.security.ServiceAccountToken;
+
+/**
+ * Short-lived copy of slot-service's slot list per type, so an availability search costs
+ * no remote call while the copy is fresh. Each slot-service partition only lists the zones
+ * it owns, so a miss pages every registered instance on its own cursor and merges the
+ * results. Loaded as the service account: /api/slots/page is for staff only.
+ */
+@Component
+public class SlotInventory {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final String SLOT_SERVICE = "slot-service";
+
+    private final SlotClient slotClient;
+    private final DiscoveryClient discoveryClient;
+    private final ServiceAccountToken serviceAccountToken;
+    private final long ttlMillis;
+    private final Map<String, Snapshot> byType = new ConcurrentHashMap<>();
+
+    public SlotInventory(SlotClient slotClient,
+                         DiscoveryClient discoveryClient,
+                         ServiceAccountToken serviceAccountToken,
+                         @Value("${reservation.availability.inventory-ttl-seconds:30}") long ttlSeconds) {
+        this.slotClient = slotClient;
+        this.discoveryClient = discoveryClient;
+        this.serviceAccountToken = serviceAccountToken;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    // All slots of the type, ordered by slotId
+    public List<SlotDTO> slotsOfType(String type) {
+        String key = type.trim().toUpperCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+        Snapshot snapshot = byType.get(key);
+        if (snapshot == null || now - snapshot.loadedAt() > ttlMillis) {
+            snapshot = new Snapshot(load(key), now);
+            byType.put(key, snapshot);
+        }
+        return snapshot.slots();
+    }
+
+    // Zone of a location code, as slot-service derives it: the leading non-digit characters ("B12" -> "B")
+    public static String zoneOf(String location) {
+        if (location == null) {
+            return "";
+        }
+        int end = 0;
+        while (end < location.length() && !Character.isDigit(location.charAt(end))) {
+            end++;
+        }
+        return (end == 0 ? location : location.substring(0, end)).trim().toUpperCase(Locale.ROOT);
+    }
+
+    private List<SlotDTO> load(String type) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(SLOT_SERVICE);
+        if (instances.isEmpty()) {
+            throw new RuntimeException("No slot-service instance is registered");
+        }
+        // Keyed by slotId: during a zone handoff both partitions may briefly list the same slot
+        Map<Long, SlotDTO> slots = new TreeMap<>();
+        String authorization = serviceAccountToken.authorizationHeader();
+        for (ServiceInstance instance : instances) {
+            Long after = null;
+            SlotPageDTO page;
+            do {
+                page = slotClient.getSlotsPage(authorization, instance.getInstanceId(), after, PAGE_SIZE, type);
+                page.getSlots().forEach(slot -> slots.put(slot.getSlotId(), slot));
+                after = page.getNextCursor();
+            } while (page.isHasMore());
+        }
+        return Collections.unmodifiableList(new ArrayList<>(slots.values()));
+    }
+
+    private record Snapshot(List<SlotDTO> slots, long loadedAt) {
+    }
+}
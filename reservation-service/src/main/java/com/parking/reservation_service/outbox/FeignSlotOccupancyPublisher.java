@@ -0,0 +1,23 @@
+package com.parking.reservation_service.outbox;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.parking.reservation_service.dto.SlotOccupancyUpdateDTO;
+import com.parking.reservation_service.feign.SlotClient;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class FeignSlotOccupancyPublisher implements SlotOccupancyPublisher {
+
+    private final SlotClient slotClient;
+
+    @Override
+    public void publish(List<SlotOccupancyUpdateDTO> updates) {
+        // Any slot of the batch routes it to the owning partition
+        slotClient.updateOccupancy(updates.get(0).getSlotId(), updates);
+    }
+}
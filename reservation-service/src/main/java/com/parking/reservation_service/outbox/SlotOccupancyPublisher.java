@@ -0,0 +1,13 @@
+package com.parking.reservation_service.outbox;
+
+import java.util.List;
+
+import com.parking.reservation_service.dto.SlotOccupancyUpdateDTO;
+
+// Where SlotOutboxRelay sends occupancy updates: slot-service in production, an in-process stand-in in tests.
+// One call carries the updates for slots of a single slot-service partition; failures are thrown.
+@FunctionalInterface
+public interface SlotOccupancyPublisher {
+
+    void publish(List<SlotOccupancyUpdateDTO> updates);
+}
@@ -0,0 +1,48 @@
+package com.parking.reservation_service.outbox;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.parking.reservation_service.entity.SlotOutboxEntry;
+import com.parking.reservation_service.repository.SlotOutboxRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records slot occupancy changes for slot-service. Must be called inside the transaction
+ * that changes the reservation, so the change and its slot update commit (or roll back)
+ * together; SlotOutboxRelay delivers them afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotOutbox {
+
+    private final SlotOutboxRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Long slotId, boolean occupied) {
+        outboxRepository.save(SlotOutboxEntry.builder()
+                .slotId(slotId)
+                .occupied(occupied)
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    // Same change for many slots, e.g. a bulk cancellation
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(Collection<Long> slotIds, boolean occupied) {
+        Instant now = Instant.now();
+        outboxRepository.saveAll(slotIds.stream()
+                .map(slotId -> SlotOutboxEntry.builder()
+                        .slotId(slotId)
+                        .occupied(occupied)
+                        .createdAt(now)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,159 @@
+package com.parking.reservation_service.outbox;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.parking.reservation_service.concurrent.FanOut;
+import com.parking.reservation_service.dto.SlotOccupancyUpdateDTO;
+import com.parking.reservation_service.entity.SlotOutboxEntry;
+import com.parking.reservation_service.feign.SlotPartitionLoadBalancer;
+import com.parking.reservation_service.repository.SlotOutboxRepository;
+
+import feign.FeignException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drains slot_outbox to slot-service. Each run locks the oldest entries, keeps only the latest
+ * change per slot, and sends one batch per slot-service partition (slot ids carry the zone key
+ * in their high bits), all partitions at once. Delivered entries are deleted in the same
+ * transaction; a failed batch stays for the next run, and repeated failures back the relay
+ * off exponentially. A batch slot-service refuses as unauthorised will not succeed on retry
+ * until the service account is fixed, so it backs the relay off for the maximum at once.
+ */
+@Component
+public class SlotOutboxRelay {
+
+    private static final long BASE_BACKOFF_MILLIS = 500;
+
+    private final SlotOutboxRepository outboxRepository;
+    private final SlotOccupancyPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long maxBackoffMillis;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter rejected;
+
+    private int consecutiveFailures;
+    private boolean authRejected;
+    private long nextRunAt;
+
+    public SlotOutboxRelay(SlotOutboxRepository outboxRepository,
+                           SlotOccupancyPublisher publisher,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${reservation.outbox.batch-size:500}") int batchSize,
+                           @Value("${reservation.outbox.max-backoff-millis:30000}") long maxBackoffMillis) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBackoffMillis = maxBackoffMillis;
+        Gauge.builder("reservation.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest slot update not yet delivered to slot-service")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("reservation.outbox.pending", pending, AtomicLong::get)
+                .description("Slot updates waiting in the outbox")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("reservation.outbox.delivered")
+                .description("Outbox entries delivered to slot-service")
+                .register(meterRegistry);
+        this.failed = Counter.builder("reservation.outbox.failed")
+                .description("Batches slot-service did not accept")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("reservation.outbox.rejected")
+                .description("Batches slot-service refused as unauthorised (check reservation.service-account.email)")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.outbox.poll-millis:500}")
+    public void relay() {
+        long now = System.currentTimeMillis();
+        if (now < nextRunAt) {
+            return;
+        }
+        boolean allDelivered;
+        authRejected = false;
+        try {
+            allDelivered = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()));
+        } catch (RuntimeException e) {
+            allDelivered = false;
+        }
+        if (allDelivered) {
+            consecutiveFailures = 0;
+        } else {
+            consecutiveFailures++;
+            nextRunAt = now + (authRejected ? maxBackoffMillis
+                    : Math.min(maxBackoffMillis, BASE_BACKOFF_MILLIS << Math.min(consecutiveFailures, 16)));
+        }
+        Instant oldest = outboxRepository.findOldestCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.toEpochMilli()));
+        pending.set(outboxRepository.count());
+    }
+
+    // Returns false if a partition's batch failed; its entries stay for the next run
+    boolean relayBatch() {
+        List<SlotOutboxEntry> batch = outboxRepository.lockBatch(Limit.of(batchSize));
+        Map<Long, List<SlotOutboxEntry>> bySlot = new LinkedHashMap<>();
+        for (SlotOutboxEntry entry : batch) {
+            bySlot.computeIfAbsent(entry.getSlotId(), id -> new ArrayList<>()).add(entry);
+        }
+        Map<Integer, List<Long>> slotsByPartition = new LinkedHashMap<>();
+        bySlot.keySet().forEach(slotId -> slotsByPartition
+                .computeIfAbsent(SlotPartitionLoadBalancer.zoneKeyOf(slotId), k -> new ArrayList<>()).add(slotId));
+
+        List<List<SlotOutboxEntry>> entriesByPartition = new ArrayList<>();
+        List<Runnable> sends = new ArrayList<>();
+        for (List<Long> slotIds : slotsByPartition.values()) {
+            List<SlotOccupancyUpdateDTO> updates = new ArrayList<>(slotIds.size());
+            List<SlotOutboxEntry> entries = new ArrayList<>();
+            for (Long slotId : slotIds) {
+                List<SlotOutboxEntry> changes = bySlot.get(slotId);
+                // Entries are in insert order, so the last one is the latest state of the slot
+                updates.add(new SlotOccupancyUpdateDTO(slotId, changes.get(changes.size() - 1).isOccupied()));
+                entries.addAll(changes);
+            }
+            entriesByPartition.add(entries);
+            sends.add(() -> publisher.publish(updates));
+        }
+
+        // Partitions are independent, so their batches go out concurrently; the outcomes are
+        // then recorded on this thread, which owns the transaction
+        List<RuntimeException> failures = FanOut.settle(sends);
+        boolean allDelivered = true;
+        for (int i = 0; i < failures.size(); i++) {
+            List<SlotOutboxEntry> entries = entriesByPartition.get(i);
+            if (failures.get(i) == null) {
+                outboxRepository.deleteAllInBatch(entries);
+                delivered.increment(entries.size());
+            } else {
+                entries.forEach(entry -> entry.setAttempts(entry.getAttempts() + 1));
+                failed.increment();
+                if (failures.get(i) instanceof FeignException.Unauthorized
+                        || failures.get(i) instanceof FeignException.Forbidden) {
+                    rejected.increment();
+                    authRejected = true;
+                }
+                allDelivered = false;
+            }
+        }
+        return allDelivered;
+    }
+}
@@ -0,0 +1,68 @@
+package com.parking.reservation_service.recurrence;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import com.parking.reservation_service.dto.RecurringReservationRequestDTO;
+
+/**
+ * Expands a recurring reservation request into occurrence start times: an explicit list, or
+ * DAILY / WEEKLY (on given days) at the first occurrence's time of day, bounded by an end
+ * date or a count. A small subset of iCalendar's RRULE (FREQ, BYDAY, UNTIL, COUNT).
+ */
+public final class RecurrenceRule {
+
+    private RecurrenceRule() {
+    }
+
+    // Occurrence starts in ascending order; more than max is rejected
+    public static List<LocalDateTime> starts(RecurringReservationRequestDTO dto, int max) {
+        if (dto.getStartTimes() != null && !dto.getStartTimes().isEmpty()) {
+            List<LocalDateTime> starts = dto.getStartTimes().stream().filter(Objects::nonNull).distinct().sorted().toList();
+            if (starts.size() > max) {
+                throw tooMany(max);
+            }
+            return starts;
+        }
+        if (dto.getFrequency() == null || dto.getFrequency().isBlank()) {
+            throw new IllegalArgumentException("Provide a frequency (DAILY or WEEKLY) or a list of startTimes");
+        }
+        if (dto.getUntil() == null && dto.getCount() == null) {
+            throw new IllegalArgumentException("Provide until or count for a recurring reservation");
+        }
+        if (dto.getCount() != null && (dto.getCount() < 1 || dto.getCount() > max)) {
+            throw tooMany(max);
+        }
+        Set<DayOfWeek> days = switch (dto.getFrequency().trim().toUpperCase(Locale.ROOT)) {
+            case "DAILY" -> EnumSet.allOf(DayOfWeek.class);
+            case "WEEKLY" -> dto.getByDays() == null || dto.getByDays().isEmpty()
+                    ? EnumSet.of(dto.getStartTime().getDayOfWeek())
+                    : EnumSet.copyOf(dto.getByDays());
+            default -> throw new IllegalArgumentException("Unknown frequency: " + dto.getFrequency());
+        };
+        // With only an end date, collect one past the cap to notice a range that is too long
+        int limit = dto.getCount() != null ? dto.getCount() : max + 1;
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (LocalDateTime start = dto.getStartTime();
+             starts.size() < limit && (dto.getUntil() == null || !start.toLocalDate().isAfter(dto.getUntil()));
+             start = start.plusDays(1)) {
+            if (days.contains(start.getDayOfWeek())) {
+                starts.add(start);
+            }
+        }
+        if (starts.size() > max) {
+            throw tooMany(max);
+        }
+        return starts;
+    }
+
+    private static IllegalArgumentException tooMany(int max) {
+        return new IllegalArgumentException("A recurring reservation can have at most " + max + " occurrences");
+    }
+}
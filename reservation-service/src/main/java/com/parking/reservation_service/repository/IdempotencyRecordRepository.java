@@ -0,0 +1,36 @@
+package com.parking.reservation_service.repository;
+
+import com.parking.reservation_service.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Plain INSERT so a key claimed by another instance fails on the primary key instead of being merged
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at) VALUES (:key, :requestHash, :createdAt)",
+            nativeQuery = true)
+    void claim(@Param("key") String key, @Param("requestHash") int requestHash, @Param("createdAt") Instant createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.resourceId = :resourceId WHERE r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("resourceId") Long resourceId);
+
+    // Drops a claim whose request never finished (e.g. the instance died), so a retry can run
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.resourceId IS NULL AND r.createdAt < :cutoff")
+    int deleteStaleClaim(@Param("key") String key, @Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
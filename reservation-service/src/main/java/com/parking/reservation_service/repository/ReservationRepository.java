@@ -1,10 +1,21 @@
 package com.parking.reservation_service.repository;
  
+import com.parking.reservation_service.dto.ReservationResponseDTO;
 import com.parking.reservation_service.entity.Reservation;
 import com.parking.reservation_service.entity.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
  
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.time.LocalDateTime;
 
     
@@ -16,5 +27,127 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findBySlotIdAndStatus(Long slotId, ReservationStatus status);
 
     List<Reservation> findByStatusAndEndTimeBefore(ReservationStatus status, LocalDateTime endTime);
+
+    List<Reservation> findByStatus(ReservationStatus status);
+
+    // Reservations booked since the given id, e.g. on other instances
+    List<Reservation> findByReservationIdGreaterThanAndStatus(Long reservationId, ReservationStatus status);
+
+    List<Reservation> findBySlotIdInAndStatusAndEndTimeAfter(Collection<Long> slotIds, ReservationStatus status, LocalDateTime endTime);
+
+    // Due reservations among the given ids, locked with SKIP LOCKED (lock timeout -2): rows another
+    // instance is already completing are skipped instead of waited for
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM Reservation r WHERE r.reservationId IN :ids AND r.status = :status AND r.endTime <= :now")
+    List<Reservation> lockDue(@Param("ids") Collection<Long> ids,
+                              @Param("status") ReservationStatus status,
+                              @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :status WHERE r.reservationId IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") ReservationStatus status);
+
+    // 0 when the reservation has already left the from status, e.g. a concurrent cancel or the expiry sweep
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :to WHERE r.reservationId = :id AND r.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") ReservationStatus from, @Param("to") ReservationStatus to);
+
+    // Bulk selection: the slot filter is skipped when allSlots is set, other null filters are ignored,
+    // and [from, to) matches reservations overlapping it
+    String BULK_SELECTION = " WHERE r.status = :status "
+            + "AND (:allSlots = true OR r.slotId IN :slotIds) "
+            + "AND (:userId IS NULL OR r.userId = :userId) "
+            + "AND (:from IS NULL OR r.endTime > :from) "
+            + "AND (:to IS NULL OR r.startTime < :to)";
+
+    // Plain read of what a bulk action would touch, to know which slots' calendars to lock first
+    @Query("SELECT DISTINCT r.slotId, r.type FROM Reservation r" + BULK_SELECTION)
+    List<Object[]> findSelectedSlots(@Param("status") ReservationStatus status,
+                                     @Param("allSlots") boolean allSlots,
+                                     @Param("slotIds") Collection<Long> slotIds,
+                                     @Param("userId") Long userId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r" + BULK_SELECTION + " ORDER BY r.slotId, r.startTime")
+    List<Reservation> lockSelected(@Param("status") ReservationStatus status,
+                                   @Param("allSlots") boolean allSlots,
+                                   @Param("slotIds") Collection<Long> slotIds,
+                                   @Param("userId") Long userId,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+
+    // lockOverlapping for several slots at once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.slotId IN :slotIds AND r.status = :status "
+            + "AND r.startTime < :end AND r.endTime > :start")
+    List<Reservation> lockOverlappingSlots(@Param("slotIds") Collection<Long> slotIds,
+                                           @Param("status") ReservationStatus status,
+                                           @Param("start") LocalDateTime start,
+                                           @Param("end") LocalDateTime end);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE reservations SET end_time = DATE_ADD(end_time, INTERVAL :minutes MINUTE) WHERE reservation_id IN (:ids)",
+            nativeQuery = true)
+    int extendEndTime(@Param("ids") Collection<Long> ids, @Param("minutes") int minutes);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.slotId = :slotId WHERE r.reservationId IN :ids")
+    int updateSlot(@Param("ids") Collection<Long> ids, @Param("slotId") Long slotId);
+
+    // Slots that still have a reservation in the given status, e.g. before a bulk action frees them
+    @Query("SELECT DISTINCT r.slotId FROM Reservation r WHERE r.slotId IN :slotIds AND r.status = :status")
+    List<Long> findSlotsWithStatus(@Param("slotIds") Collection<Long> slotIds, @Param("status") ReservationStatus status);
+
+    List<Reservation> findBySlotIdAndStatusAndEndTimeAfter(Long slotId, ReservationStatus status, LocalDateTime endTime);
+
+    // Reservations of the slot in the given status that overlap [start, end). A locking read, so it sees the latest
+    // committed bookings even under REPEATABLE READ; SlotBookingGuard's calendar row keeps other bookings of the
+    // slot (from any instance) out until this transaction ends.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.slotId = :slotId AND r.status = :status "
+            + "AND r.startTime < :end AND r.endTime > :start "
+            + "AND (:excludeId IS NULL OR r.reservationId <> :excludeId)")
+    List<Reservation> lockOverlapping(@Param("slotId") Long slotId,
+                                      @Param("status") ReservationStatus status,
+                                      @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end,
+                                      @Param("excludeId") Long excludeId);
+
+    // Read-only views: rows go straight into DTOs, no managed entities or dirty-checking snapshots
+    String RESPONSE = "SELECT new com.parking.reservation_service.dto.ReservationResponseDTO("
+            + "r.reservationId, r.userId, r.slotId, r.vehicleNumber, r.startTime, r.endTime, r.status, r.type) FROM Reservation r";
+
+    @Query(RESPONSE)
+    List<ReservationResponseDTO> findAllResponses();
+
+    @Query(RESPONSE + " WHERE r.reservationId = :id")
+    Optional<ReservationResponseDTO> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE + " WHERE r.userId = :userId")
+    List<ReservationResponseDTO> findResponsesByUserId(@Param("userId") Long userId);
+
+    // Keyset page, newest start first, resuming after (beforeStart, beforeId); null filters are ignored.
+    // Each page is an index range scan: by user, slot or status on their (…, start_time) indexes, else on start_time.
+    @Query(RESPONSE + " WHERE (:userId IS NULL OR r.userId = :userId) "
+            + "AND (:slotId IS NULL OR r.slotId = :slotId) "
+            + "AND (:status IS NULL OR r.status = :status) "
+            + "AND (:type IS NULL OR r.type = :type) "
+            + "AND (:from IS NULL OR r.startTime >= :from) "
+            + "AND (:to IS NULL OR r.startTime < :to) "
+            + "AND (:beforeStart IS NULL OR r.startTime < :beforeStart "
+            + "OR (r.startTime = :beforeStart AND r.reservationId < :beforeId)) "
+            + "ORDER BY r.startTime DESC, r.reservationId DESC")
+    List<ReservationResponseDTO> findPage(@Param("userId") Long userId,
+                                          @Param("slotId") Long slotId,
+                                          @Param("status") ReservationStatus status,
+                                          @Param("type") String type,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("beforeStart") LocalDateTime beforeStart,
+                                          @Param("beforeId") Long beforeId,
+                                          Limit limit);
 }
  
\ No newline at end of file
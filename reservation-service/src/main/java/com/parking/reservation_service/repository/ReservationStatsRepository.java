@@ -0,0 +1,97 @@
+package com.parking.reservation_service.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.parking.reservation_service.dto.HeatmapCellDTO;
+import com.parking.reservation_service.entity.Reservation;
+
+// Plain JDBC for the heatmap table: batched upserts of hourly deltas, and the aggregate reads
+@Repository
+public class ReservationStatsRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO reservation_hourly_stats (type, hour_start, shard, bookings, reserved_minutes) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE bookings = bookings + VALUES(bookings), reserved_minutes = reserved_minutes + VALUES(reserved_minutes)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorTemplate;
+
+    public ReservationStatsRepository(DataSource dataSource,
+                                      @Value("${reservation.heatmap.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL Connector/J only streams result sets row by row with Integer.MIN_VALUE
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+    }
+
+    // Adds the deltas to their cells, creating missing ones; joins the caller's transaction
+    public void applyDeltas(List<HourDelta> deltas) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                HourDelta delta = deltas.get(i);
+                ps.setString(1, delta.type());
+                ps.setTimestamp(2, Timestamp.valueOf(delta.hourStart()));
+                ps.setInt(3, delta.shard());
+                ps.setLong(4, delta.bookings());
+                ps.setLong(5, delta.reservedMinutes());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deltas.size();
+            }
+        });
+    }
+
+    // Cells of [from, to), shards summed, ordered by hour then type; type null = every type
+    public List<HeatmapCellDTO> findCells(String type, LocalDateTime from, LocalDateTime to) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT type, hour_start, SUM(bookings) AS bookings, SUM(reserved_minutes) AS reserved_minutes "
+                + "FROM reservation_hourly_stats WHERE hour_start >= ? AND hour_start < ?");
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        if (type != null) {
+            sql.append(" AND type = ?");
+            args.add(type);
+        }
+        sql.append(" GROUP BY type, hour_start HAVING SUM(bookings) > 0 ORDER BY hour_start, type");
+        return jdbcTemplate.query(sql.toString(), (rs, row) -> new HeatmapCellDTO(
+                rs.getString("type"),
+                rs.getTimestamp("hour_start").toLocalDateTime(),
+                rs.getLong("bookings"),
+                rs.getLong("reserved_minutes")), args.toArray());
+    }
+
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM reservation_hourly_stats");
+    }
+
+    // Streams every non-cancelled reservation through a forward-only cursor, for rebuilding the table
+    public void forEachCountedReservation(Consumer<Reservation> consumer) {
+        cursorTemplate.query("SELECT reservation_id, slot_id, type, start_time, end_time FROM reservations WHERE status <> 'CANCELLED'",
+                (RowCallbackHandler) rs -> consumer.accept(Reservation.builder()
+                        .reservationId(rs.getLong("reservation_id"))
+                        .slotId(rs.getLong("slot_id"))
+                        .type(rs.getString("type"))
+                        .startTime(rs.getTimestamp("start_time").toLocalDateTime())
+                        .endTime(rs.getTimestamp("end_time").toLocalDateTime())
+                        .build()));
+    }
+
+    public record HourDelta(String type, LocalDateTime hourStart, int shard, long bookings, long reservedMinutes) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.parking.reservation_service.repository;
+
+import com.parking.reservation_service.entity.SlotCalendar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+public interface SlotCalendarRepository extends JpaRepository<SlotCalendar, Long> {
+
+    // Plain INSERT, run in its own transaction; fails on the primary key if another booking created the row first
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO slot_calendars (slot_id, version) VALUES (:slotId, 0)", nativeQuery = true)
+    void create(@Param("slotId") Long slotId);
+
+    // Takes the slot's row lock for the rest of the caller's transaction; 0 if the row does not exist
+    @Modifying
+    @Query("UPDATE SlotCalendar c SET c.version = c.version + 1 WHERE c.slotId = :slotId")
+    int lock(@Param("slotId") Long slotId);
+
+    // Row locks of several slots in one statement; InnoDB takes them in primary key order
+    @Modifying
+    @Query("UPDATE SlotCalendar c SET c.version = c.version + 1 WHERE c.slotId IN :slotIds")
+    int lockAll(@Param("slotIds") Collection<Long> slotIds);
+}
@@ -0,0 +1,23 @@
+package com.parking.reservation_service.repository;
+
+import com.parking.reservation_service.entity.SlotOutboxEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SlotOutboxRepository extends JpaRepository<SlotOutboxEntry, Long> {
+
+    // Oldest entries first, locked: a relay on another instance waits instead of delivering
+    // newer changes for the same slot ahead of these
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM SlotOutboxEntry e ORDER BY e.outboxId")
+    List<SlotOutboxEntry> lockBatch(Limit limit);
+
+    @Query("SELECT MIN(e.createdAt) FROM SlotOutboxEntry e")
+    Instant findOldestCreatedAt();
+}
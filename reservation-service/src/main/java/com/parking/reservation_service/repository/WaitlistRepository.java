@@ -0,0 +1,38 @@
+package com.parking.reservation_service.repository;
+
+import com.parking.reservation_service.entity.WaitlistEntry;
+import com.parking.reservation_service.entity.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByStatus(WaitlistStatus status);
+
+    List<WaitlistEntry> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    // Claims a WAITING entry for a booking; 0 if another instance booked it or the customer left meanwhile
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = com.parking.reservation_service.entity.WaitlistStatus.BOOKED, "
+            + "w.reservationId = :reservationId "
+            + "WHERE w.waitlistId = :id AND w.status = com.parking.reservation_service.entity.WaitlistStatus.WAITING")
+    int markBooked(@Param("id") Long id, @Param("reservationId") Long reservationId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE WaitlistEntry w SET w.status = :to WHERE w.waitlistId = :id AND w.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") WaitlistStatus from, @Param("to") WaitlistStatus to);
+
+    // Entries whose window is over before a slot came free
+    @Modifying
+    @Transactional
+    @Query("UPDATE WaitlistEntry w SET w.status = com.parking.reservation_service.entity.WaitlistStatus.EXPIRED "
+            + "WHERE w.status = com.parking.reservation_service.entity.WaitlistStatus.WAITING AND w.endTime <= :now")
+    int expireEnded(@Param("now") LocalDateTime now);
+}
@@ -36,7 +36,8 @@ public class SecurityConfig {
                     "/swagger-ui/**",
                     "/swagger-ui.html",
                     "/swagger-resources/**",
-                    "/webjars/**"
+                    "/webjars/**",
+                    "/actuator/health"
                 ).permitAll()
                 // .requestMatchers("/api/vehicle-log/**").permitAll()
                 .anyRequest().authenticated())
@@ -0,0 +1,43 @@
+package com.parking.reservation_service.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token for calls reservation-service makes on its own behalf (outbox relay, expiry), where
+ * there is no user request to forward a token from. Signed with the shared JWT secret for the
+ * configured account, which has to exist in user-service with the STAFF role. Every slot
+ * occupancy change goes through the outbox relay, so startup fails without an account:
+ * unauthenticated relay calls would be rejected and retried forever.
+ */
+@Component
+public class ServiceAccountToken {
+
+    // Tokens live 10 hours; renew well before that
+    private static final long RENEW_AFTER_MILLIS = 60 * 60 * 1000;
+
+    private final JwtUtil jwtUtil;
+    private final String email;
+    private String token;
+    private long issuedAt;
+
+    public ServiceAccountToken(JwtUtil jwtUtil, @Value("${reservation.service-account.email:}") String email) {
+        if (email.isBlank()) {
+            throw new IllegalStateException("reservation.service-account.email is not set; the slot outbox relay "
+                    + "needs a STAFF account to call slot-service");
+        }
+        this.jwtUtil = jwtUtil;
+        this.email = email;
+    }
+
+    // "Bearer ..." header value
+    public synchronized String authorizationHeader() {
+        long now = System.currentTimeMillis();
+        if (token == null || now - issuedAt > RENEW_AFTER_MILLIS) {
+            token = jwtUtil.generateToken(User.withUsername(email).password("").authorities("STAFF").build());
+            issuedAt = now;
+        }
+        return "Bearer " + token;
+    }
+}
@@ -1,24 +1,56 @@
 package com.parking.reservation_service.service;
  
+import com.parking.reservation_service.dto.AvailabilitySearchDTO;
+import com.parking.reservation_service.dto.BulkReservationRequestDTO;
+import com.parking.reservation_service.dto.BulkReservationResultDTO;
+import com.parking.reservation_service.dto.HeatmapDTO;
+import com.parking.reservation_service.dto.RecurringReservationRequestDTO;
+import com.parking.reservation_service.dto.ReservationPageDTO;
+import com.parking.reservation_service.dto.RecurringReservationResultDTO;
 import com.parking.reservation_service.dto.ReservationRequestDTO;
 import com.parking.reservation_service.dto.ReservationResponseDTO;
+import com.parking.reservation_service.entity.ReservationStatus;
 
 
  
+import java.time.LocalDateTime;
 import java.util.List;
  
 public interface ReservationService {
  
     ReservationResponseDTO createReservation(ReservationRequestDTO requestDTO);
  
+    // Books every occurrence of a pattern or explicit list on one slot in one transaction
+    RecurringReservationResultDTO createRecurringReservation(RecurringReservationRequestDTO requestDTO);
+ 
     ReservationResponseDTO updateReservation(Long id, ReservationRequestDTO requestDTO);
  
     void cancelReservation(Long id);
+
+    // Operator actions on every ACTIVE reservation matching the selection (slots, user, date range)
+    BulkReservationResultDTO bulkCancel(BulkReservationRequestDTO request);
+
+    BulkReservationResultDTO bulkExtend(BulkReservationRequestDTO request);
+
+    BulkReservationResultDTO bulkReassign(BulkReservationRequestDTO request);
  
     ReservationResponseDTO getReservationById(Long id);
  
     List<ReservationResponseDTO> getAllReservations();
  
     List<ReservationResponseDTO> getReservationsByUser(Long userId);    
+
+    // Keyset page, newest start time first; null filters are ignored, [from, to) applies to the start time
+    ReservationPageDTO getReservationsPage(Long userId, Long slotId, ReservationStatus status, String type,
+                                           LocalDateTime from, LocalDateTime to, String cursor, int limit);
+
+    // Hourly booking counts per slot type over [from, to), read from the pre-aggregated table; type null = all
+    HeatmapDTO getHeatmap(String type, LocalDateTime from, LocalDateTime to);
+
+    // Recomputes the hourly counts from the reservations table; returns the number of reservations counted
+    int rebuildHeatmap();
+
+    // Slots of the type (optionally in one zone) with no ACTIVE reservation overlapping [start, end)
+    AvailabilitySearchDTO searchAvailability(String type, String zone, LocalDateTime start, LocalDateTime end);
 }
  
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.parking.reservation_service.service;
+
+import com.parking.reservation_service.dto.WaitlistEntryDTO;
+import com.parking.reservation_service.dto.WaitlistRequestDTO;
+
+import java.util.List;
+
+public interface WaitlistService {
+
+    // Queues for a slot of the type in the window; books right away if a matching slot is already free
+    WaitlistEntryDTO join(WaitlistRequestDTO requestDTO);
+
+    void leave(Long waitlistId);
+
+    List<WaitlistEntryDTO> getEntriesByUser(Long userId);
+}
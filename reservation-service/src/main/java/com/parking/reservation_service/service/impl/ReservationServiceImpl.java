@@ -5,12 +5,43 @@ import com.parking.reservation_service.entity.*;
 import com.parking.reservation_service.repository.ReservationRepository;
 import com.parking.reservation_service.service.ReservationService;
 import com.parking.reservation_service.feign.SlotClient;
+import com.parking.reservation_service.booking.SlotBookingGuard;
+import com.parking.reservation_service.event.ReservationReleasedEvent;
+import com.parking.reservation_service.expiry.ReservationExpiryWheel;
+import com.parking.reservation_service.heatmap.ReservationHeatmap;
+import com.parking.reservation_service.index.ReservationIntervalIndex;
+import com.parking.reservation_service.index.SlotInventory;
+import com.parking.reservation_service.outbox.SlotOutbox;
+import com.parking.reservation_service.recurrence.RecurrenceRule;
  
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
  
 @Service
@@ -19,30 +50,120 @@ public class ReservationServiceImpl implements ReservationService {
  
     private final ReservationRepository reservationRepo;
     private final SlotClient slotClient;
+    private final ReservationIntervalIndex intervalIndex;
+    private final SlotInventory slotInventory;
+    private final ReservationExpiryWheel expiryWheel;
+    private final TransactionTemplate transactionTemplate;
+    private final SlotOutbox slotOutbox;
+    private final SlotBookingGuard bookingGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReservationHeatmap heatmap;
 
-    @Scheduled(fixedRate = 60000) // runs every 60 seconds
-public void completeExpiredReservations() {
-    List<Reservation> expired = reservationRepo.findByStatusAndEndTimeBefore(ReservationStatus.ACTIVE, LocalDateTime.now());
-    for (Reservation r : expired) {
-        r.setStatus(ReservationStatus.COMPLETED);
-        // Mark the slot as available again
-        slotClient.markSlotAvailable(r.getSlotId());
+    private static final long EXPIRY_RETRY_MILLIS = 5_000;
+    private static final int MAX_OCCURRENCES = 500;
+    private static final int MAX_EXTEND_MINUTES = 24 * 60;
+
+    @Value("${reservation.index.resync-slots:256}")
+    private int resyncSlots;
+
+    private volatile long indexedUpTo;   // highest reservation id loaded into the index
+    private volatile long resyncCursor;  // last slot re-read from the database
+
+    // Full load once at startup, recovering overdue reservations too
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIntervalIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation> active = reservationRepo.findByStatus(ReservationStatus.ACTIVE);
+        intervalIndex.rebuild(active.stream().filter(r -> r.getEndTime().isAfter(now)).collect(Collectors.toList()));
+        active.forEach(r -> expiryWheel.schedule(r.getReservationId(), deadlineOf(r)));
+        active.stream().mapToLong(Reservation::getReservationId).max().ifPresent(id -> indexedUpTo = id);
+    }
+
+    // Brings in what other instances changed without reloading every reservation: bookings above the
+    // highest loaded id, plus a slice of resync-slots indexed slots re-read per pass (cancellations, moves
+    // and extensions), cycling through all of them. A booking check that disagrees with the database
+    // re-syncs its slot right away (checkNoOverlap).
+    @Scheduled(fixedDelayString = "${reservation.index.resync-millis:60000}", initialDelayString = "${reservation.index.resync-millis:60000}")
+    public void syncIntervalIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Reservation reservation : reservationRepo.findByReservationIdGreaterThanAndStatus(indexedUpTo, ReservationStatus.ACTIVE)) {
+            if (reservation.getEndTime().isAfter(now)) {
+                intervalIndex.put(reservation);
+            }
+            expiryWheel.schedule(reservation.getReservationId(), deadlineOf(reservation));
+            indexedUpTo = Math.max(indexedUpTo, reservation.getReservationId());
+        }
+
+        List<Long> slice = intervalIndex.slotsAfter(resyncCursor, resyncSlots);
+        if (slice.isEmpty()) {
+            slice = intervalIndex.slotsAfter(0, resyncSlots);
+        }
+        if (slice.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Reservation>> bySlot = reservationRepo
+                .findBySlotIdInAndStatusAndEndTimeAfter(slice, ReservationStatus.ACTIVE, now).stream()
+                .collect(Collectors.groupingBy(Reservation::getSlotId));
+        for (Long slotId : slice) {
+            List<Reservation> active = bySlot.getOrDefault(slotId, List.of());
+            intervalIndex.replaceSlot(slotId, active);
+            active.forEach(r -> expiryWheel.schedule(r.getReservationId(), deadlineOf(r)));
+        }
+        resyncCursor = slice.get(slice.size() - 1);
+    }
+
+    // Completes reservations as their end time passes with one bulk UPDATE; the slot releases go
+    // through the outbox in the same transaction. Several instances can fire the same reservation;
+    // SKIP LOCKED in lockDue lets exactly one of them complete it and free the slot.
+    @Scheduled(fixedDelayString = "${reservation.expiry.tick-millis:1000}")
+    public void completeExpiredReservations() {
+        long now = System.currentTimeMillis();
+        List<Long> due = expiryWheel.advance(now);
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> completeDue(due));
+        } catch (RuntimeException e) {
+            // Try again on a later tick; the rows are still ACTIVE, so a restart would recover them too
+            due.forEach(id -> expiryWheel.schedule(id, now + EXPIRY_RETRY_MILLIS));
+        }
+    }
+
+    private void completeDue(List<Long> ids) {
+        List<Reservation> claimed = reservationRepo.lockDue(ids, ReservationStatus.ACTIVE, LocalDateTime.now());
+        if (claimed.isEmpty()) {
+            return;
+        }
+        List<Long> claimedIds = claimed.stream().map(Reservation::getReservationId).collect(Collectors.toList());
+        reservationRepo.updateStatus(claimedIds, ReservationStatus.COMPLETED);
+        // A slot booked again right after this window stays occupied
+        slotOutbox.enqueueAll(vacated(claimed), false);
+        claimed.forEach(r -> eventPublisher.publishEvent(new ReservationReleasedEvent(r.getReservationId(), r.getSlotId(), r.getType())));
+        afterCommit(() -> claimedIds.forEach(intervalIndex::remove));
+    }
+
+    private static long deadlineOf(Reservation reservation) {
+        return reservation.getEndTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
-    reservationRepo.saveAll(expired);
-}
  
+    // Bookings of a slot are serialised by the guard, which runs each in its own transaction
     @Override
     public ReservationResponseDTO createReservation(ReservationRequestDTO dto) {
+        return bookingGuard.book(dto.getSlotId(), () -> insertReservation(dto));
+    }
+
+    private ReservationResponseDTO insertReservation(ReservationRequestDTO dto) {
         // Check for existing ACTIVE reservation on same slot and time
-        List<Reservation> conflicts = reservationRepo.findBySlotIdAndStatus(dto.getSlotId(), ReservationStatus.ACTIVE);
-        for (Reservation r : conflicts) {
-            if (dto.getStartTime().isBefore(r.getEndTime()) && dto.getEndTime().isAfter(r.getStartTime())) {
-                throw new RuntimeException("Slot already reserved for the selected time.");
-            }
-        }
+        checkNoOverlap(dto.getSlotId(), dto.getStartTime(), dto.getEndTime(), null);
  
-        // Call slot-service to mark it as occupied
-        slotClient.markSlotOccupied(dto.getSlotId());
+        // A checkout hold already marked the slot occupied; confirming it stays a direct call, as
+        // slot-service checks that the caller is the holder. Otherwise the outbox delivers it after commit.
+        if (dto.getHoldId() != null) {
+            slotClient.confirmHold(dto.getHoldId(), dto.getSlotId());
+        } else {
+            slotOutbox.enqueue(dto.getSlotId(), true);
+        }
  
         Reservation reservation = Reservation.builder()
                 .userId(dto.getUserId())
@@ -55,13 +176,99 @@ public void completeExpiredReservations() {
                 .build();
  
         reservationRepo.save(reservation);
+        heatmap.add(List.of(reservation));
+        afterCommit(() -> {
+            intervalIndex.put(reservation);
+            expiryWheel.schedule(reservation.getReservationId(), deadlineOf(reservation));
+        });
  
         return mapToDTO(reservation);
     }
+
+    @Override
+    public RecurringReservationResultDTO createRecurringReservation(RecurringReservationRequestDTO dto) {
+        return bookingGuard.book(dto.getSlotId(), () -> insertRecurringReservation(dto));
+    }
+
+    private RecurringReservationResultDTO insertRecurringReservation(RecurringReservationRequestDTO dto) {
+        if (dto.getStartTime() == null || dto.getEndTime() == null || !dto.getEndTime().isAfter(dto.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        Duration length = Duration.between(dto.getStartTime(), dto.getEndTime());
+        List<LocalDateTime> starts = RecurrenceRule.starts(dto, MAX_OCCURRENCES);
+        if (starts.isEmpty()) {
+            throw new IllegalArgumentException("The recurrence has no occurrences");
+        }
+
+        // One locked range query covers all occurrences. Booked windows of a slot are disjoint, so with both
+        // lists sorted by start a single merge pass finds every conflict.
+        List<Reservation> booked = new ArrayList<>(reservationRepo.lockOverlapping(dto.getSlotId(), ReservationStatus.ACTIVE,
+                starts.get(0), starts.get(starts.size() - 1).plus(length), null));
+        booked.sort(Comparator.comparing(Reservation::getStartTime));
+
+        List<Reservation> accepted = new ArrayList<>();
+        List<OccurrenceConflictDTO> conflicts = new ArrayList<>();
+        int next = 0;
+        LocalDateTime lastEnd = null;
+        for (LocalDateTime start : starts) {
+            LocalDateTime end = start.plus(length);
+            while (next < booked.size() && !booked.get(next).getEndTime().isAfter(start)) {
+                next++;
+            }
+            if (next < booked.size() && booked.get(next).getStartTime().isBefore(end)) {
+                conflicts.add(new OccurrenceConflictDTO(start, end, "Slot already reserved for the selected time."));
+            } else if (lastEnd != null && lastEnd.isAfter(start)) {
+                conflicts.add(new OccurrenceConflictDTO(start, end, "Overlaps the previous occurrence"));
+            } else {
+                accepted.add(Reservation.builder()
+                        .userId(dto.getUserId())
+                        .slotId(dto.getSlotId())
+                        .vehicleNumber(dto.getVehicleNumber())
+                        .startTime(start)
+                        .endTime(end)
+                        .status(ReservationStatus.ACTIVE)
+                        .type(dto.getType())
+                        .build());
+                lastEnd = end;
+            }
+        }
+        if (accepted.isEmpty() || (!conflicts.isEmpty() && !dto.isSkipConflicts())) {
+            return new RecurringReservationResultDTO(starts.size(), List.of(), conflicts);
+        }
+
+        reservationRepo.saveAll(accepted);
+        heatmap.add(accepted);
+        // Same slot for every occurrence: one occupancy update covers them all
+        slotOutbox.enqueue(dto.getSlotId(), true);
+        afterCommit(() -> accepted.forEach(r -> {
+            intervalIndex.put(r);
+            expiryWheel.schedule(r.getReservationId(), deadlineOf(r));
+        }));
+        return new RecurringReservationResultDTO(starts.size(),
+                accepted.stream().map(this::mapToDTO).collect(Collectors.toList()), conflicts);
+    }
+
     @Override
     public ReservationResponseDTO updateReservation(Long id, ReservationRequestDTO dto) {
+        // New times may collide with other bookings of the slot, so updates take the slot's guard too
+        Long slotId = reservationRepo.findById(id)
+                .map(Reservation::getSlotId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+        return bookingGuard.book(slotId, () -> applyUpdate(id, dto));
+    }
+
+    private ReservationResponseDTO applyUpdate(Long id, ReservationRequestDTO dto) {
         Reservation reservation = reservationRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
+        if (reservation.getStatus() == ReservationStatus.ACTIVE) {
+            checkNoOverlap(reservation.getSlotId(), dto.getStartTime(), dto.getEndTime(), id);
+        }
+        Reservation before = Reservation.builder()
+                .slotId(reservation.getSlotId())
+                .type(reservation.getType())
+                .startTime(reservation.getStartTime())
+                .endTime(reservation.getEndTime())
+                .build();
     
         reservation.setStartTime(dto.getStartTime());
         reservation.setEndTime(dto.getEndTime());
@@ -69,41 +276,382 @@ public void completeExpiredReservations() {
         reservation.setType(dto.getType());
     
         reservationRepo.save(reservation);
+        if (reservation.getStatus() != ReservationStatus.CANCELLED) {
+            heatmap.move(List.of(before), List.of(reservation));
+        }
+        if (reservation.getStatus() == ReservationStatus.ACTIVE) {
+            afterCommit(() -> {
+                intervalIndex.put(reservation);
+                expiryWheel.schedule(id, deadlineOf(reservation));
+            });
+        }
         return mapToDTO(reservation);
     }
   
     @Override
+    @Transactional
     public void cancelReservation(Long id) {
         Reservation reservation = reservationRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
-        reservation.setStatus(ReservationStatus.CANCELLED);
-        reservationRepo.save(reservation);
+        // Only an ACTIVE reservation holds its slot; cancelling one that is already cancelled or
+        // completed must not free the slot again or wake the waitlist
+        if (reservationRepo.updateStatus(id, ReservationStatus.ACTIVE, ReservationStatus.CANCELLED) == 0) {
+            throw new IllegalArgumentException("Reservation is no longer active");
+        }
+        heatmap.remove(List.of(reservation));
+        afterCommit(() -> {
+            intervalIndex.remove(id);
+            expiryWheel.cancel(id);
+        });
  
-        // Call slot-service to mark it as available again
-        slotClient.markSlotAvailable(reservation.getSlotId());
+        // Mark the slot available again once the cancellation is committed, unless it has other bookings
+        slotOutbox.enqueueAll(vacated(List.of(reservation)), false);
+        eventPublisher.publishEvent(new ReservationReleasedEvent(id, reservation.getSlotId(), reservation.getType()));
+    }
+ 
+    // Operator bulk actions. The selected reservations are locked with one query and changed with set-based
+    // UPDATEs in one transaction; slot changes go through the outbox, whose relay sends them as one batch per
+    // slot-service partition. Freed slots are not offered to the waitlist, as bulk actions mostly clear
+    // slots that are closing.
+    @Override
+    @Transactional
+    public BulkReservationResultDTO bulkCancel(BulkReservationRequestDTO request) {
+        checkSelection(request);
+        List<Reservation> selected = lockSelected(request);
+        if (selected.isEmpty()) {
+            return new BulkReservationResultDTO("CANCEL", 0, 0, List.of());
+        }
+        List<Long> ids = selected.stream().map(Reservation::getReservationId).collect(Collectors.toList());
+        reservationRepo.updateStatus(ids, ReservationStatus.CANCELLED);
+        heatmap.remove(selected);
+        slotOutbox.enqueueAll(vacated(selected), false);
+        afterCommit(() -> ids.forEach(id -> {
+            intervalIndex.remove(id);
+            expiryWheel.cancel(id);
+        }));
+        return new BulkReservationResultDTO("CANCEL", selected.size(), ids.size(), List.of());
+    }
+
+    // Longer end times can collide with later bookings, so the slots' calendars are locked first
+    @Override
+    public BulkReservationResultDTO bulkExtend(BulkReservationRequestDTO request) {
+        checkSelection(request);
+        Integer minutes = request.getExtendMinutes();
+        if (minutes == null || minutes < 1 || minutes > MAX_EXTEND_MINUTES) {
+            throw new IllegalArgumentException("Extension must be between 1 and " + MAX_EXTEND_MINUTES + " minutes");
+        }
+        Set<Long> slotIds = selectedSlots(request).stream().map(row -> (Long) row[0]).collect(Collectors.toSet());
+        return bookingGuard.bookAll(slotIds, () -> applyExtend(request, slotIds, minutes));
+    }
+
+    private BulkReservationResultDTO applyExtend(BulkReservationRequestDTO request, Set<Long> lockedSlots, int minutes) {
+        List<Reservation> selected = lockSelected(request);
+        List<SkippedReservationDTO> skipped = new ArrayList<>();
+        List<Reservation> candidates = new ArrayList<>();
+        for (Reservation reservation : selected) {
+            if (lockedSlots.contains(reservation.getSlotId())) {
+                candidates.add(reservation);
+            } else {
+                skipped.add(new SkippedReservationDTO(reservation.getReservationId(), "Booked or moved while the operation ran; retry"));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return new BulkReservationResultDTO("EXTEND", selected.size(), 0, skipped);
+        }
+
+        // Candidates come ordered by slot and start, so an accepted extension is visible to the next check
+        Map<Long, TreeMap<LocalDateTime, LocalDateTime>> windows = lockWindows(lockedSlots,
+                candidates.stream().map(Reservation::getStartTime).min(Comparator.naturalOrder()).get(),
+                candidates.stream().map(Reservation::getEndTime).max(Comparator.naturalOrder()).get().plusMinutes(minutes));
+        List<Reservation> accepted = new ArrayList<>();
+        for (Reservation reservation : candidates) {
+            TreeMap<LocalDateTime, LocalDateTime> slotWindows = windows.computeIfAbsent(reservation.getSlotId(), s -> new TreeMap<>());
+            LocalDateTime newEnd = reservation.getEndTime().plusMinutes(minutes);
+            if (overlaps(slotWindows, reservation.getEndTime(), newEnd)) {
+                skipped.add(new SkippedReservationDTO(reservation.getReservationId(), "Overlaps the next reservation of the slot"));
+            } else {
+                slotWindows.put(reservation.getStartTime(), newEnd);
+                accepted.add(reservation);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return new BulkReservationResultDTO("EXTEND", selected.size(), 0, skipped);
+        }
+
+        List<Reservation> before = accepted.stream().map(ReservationServiceImpl::copyOf).collect(Collectors.toList());
+        reservationRepo.extendEndTime(accepted.stream().map(Reservation::getReservationId).collect(Collectors.toList()), minutes);
+        // Detached by the bulk UPDATE, so these edits only bring the copies in line with the rows
+        accepted.forEach(r -> r.setEndTime(r.getEndTime().plusMinutes(minutes)));
+        heatmap.move(before, accepted);
+        afterCommit(() -> accepted.forEach(r -> {
+            intervalIndex.put(r);
+            expiryWheel.schedule(r.getReservationId(), deadlineOf(r));
+        }));
+        return new BulkReservationResultDTO("EXTEND", selected.size(), accepted.size(), skipped);
+    }
+
+    // Moves reservations from slots to others of the same type, e.g. off a level closing for maintenance
+    @Override
+    public BulkReservationResultDTO bulkReassign(BulkReservationRequestDTO request) {
+        Map<Long, Long> targets = request.getTargetSlots();
+        if (targets == null || targets.isEmpty()) {
+            throw new IllegalArgumentException("Target slots are required");
+        }
+        if (request.getSlotIds() == null || request.getSlotIds().isEmpty()) {
+            // Without a slot filter, only reservations on the mapped slots can move
+            request.setSlotIds(new ArrayList<>(targets.keySet()));
+        }
+        checkSelection(request);
+        if (targets.values().stream().anyMatch(targets::containsKey)) {
+            throw new IllegalArgumentException("A slot cannot be both a source and a target");
+        }
+        // Type of each target slot, from the cached slot lists of the types being moved
+        Map<Long, String> targetTypes = new HashMap<>();
+        selectedSlots(request).stream()
+                .map(row -> ((String) row[1]).trim().toUpperCase(Locale.ROOT))
+                .distinct()
+                .forEach(type -> slotInventory.slotsOfType(type).stream()
+                        .filter(slot -> targets.containsValue(slot.getSlotId()))
+                        .forEach(slot -> targetTypes.put(slot.getSlotId(), type)));
+        // Source calendars are locked as well, so no booking lands on a source slot before it is freed
+        Set<Long> calendars = new TreeSet<>(targets.values());
+        calendars.addAll(targets.keySet());
+        return bookingGuard.bookAll(calendars, () -> applyReassign(request, targets, targetTypes));
+    }
+
+    private BulkReservationResultDTO applyReassign(BulkReservationRequestDTO request, Map<Long, Long> targets,
+                                                   Map<Long, String> targetTypes) {
+        List<Reservation> selected = lockSelected(request);
+        List<SkippedReservationDTO> skipped = new ArrayList<>();
+        Map<Long, List<Reservation>> movingByTarget = new TreeMap<>();
+        for (Reservation reservation : selected) {
+            Long target = targets.get(reservation.getSlotId());
+            String type = reservation.getType().trim().toUpperCase(Locale.ROOT);
+            if (target == null) {
+                skipped.add(new SkippedReservationDTO(reservation.getReservationId(), "No target slot for slot " + reservation.getSlotId()));
+            } else if (!type.equals(targetTypes.get(target))) {
+                skipped.add(new SkippedReservationDTO(reservation.getReservationId(), "Slot " + target + " is not a " + type + " slot"));
+            } else {
+                movingByTarget.computeIfAbsent(target, t -> new ArrayList<>()).add(reservation);
+            }
+        }
+        if (movingByTarget.isEmpty()) {
+            return new BulkReservationResultDTO("REASSIGN", selected.size(), 0, skipped);
+        }
+
+        List<Reservation> moving = movingByTarget.values().stream().flatMap(List::stream).collect(Collectors.toList());
+        Map<Long, TreeMap<LocalDateTime, LocalDateTime>> windows = lockWindows(movingByTarget.keySet(),
+                moving.stream().map(Reservation::getStartTime).min(Comparator.naturalOrder()).get(),
+                moving.stream().map(Reservation::getEndTime).max(Comparator.naturalOrder()).get());
+        List<Reservation> before = new ArrayList<>();
+        List<Reservation> accepted = new ArrayList<>();
+        Map<Long, Long> acceptedTargets = new HashMap<>();
+        for (Map.Entry<Long, List<Reservation>> entry : movingByTarget.entrySet()) {
+            TreeMap<LocalDateTime, LocalDateTime> slotWindows = windows.computeIfAbsent(entry.getKey(), s -> new TreeMap<>());
+            List<Long> ids = new ArrayList<>();
+            for (Reservation reservation : entry.getValue()) {
+                if (overlaps(slotWindows, reservation.getStartTime(), reservation.getEndTime())) {
+                    skipped.add(new SkippedReservationDTO(reservation.getReservationId(),
+                            "Slot " + entry.getKey() + " is already reserved for the selected time."));
+                } else {
+                    slotWindows.put(reservation.getStartTime(), reservation.getEndTime());
+                    before.add(copyOf(reservation));
+                    accepted.add(reservation);
+                    acceptedTargets.put(reservation.getReservationId(), entry.getKey());
+                    ids.add(reservation.getReservationId());
+                }
+            }
+            if (!ids.isEmpty()) {
+                reservationRepo.updateSlot(ids, entry.getKey());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return new BulkReservationResultDTO("REASSIGN", selected.size(), 0, skipped);
+        }
+
+        // Only now, once every UPDATE has detached them, so a flush cannot write these edits
+        accepted.forEach(r -> r.setSlotId(acceptedTargets.get(r.getReservationId())));
+        heatmap.move(before, accepted);
+        slotOutbox.enqueueAll(vacated(before), false);
+        slotOutbox.enqueueAll(accepted.stream().map(Reservation::getSlotId).distinct().collect(Collectors.toList()), true);
+        afterCommit(() -> accepted.forEach(intervalIndex::put));
+        return new BulkReservationResultDTO("REASSIGN", selected.size(), accepted.size(), skipped);
+    }
+
+    // Slots of the changed reservations that have no ACTIVE reservation left once the UPDATEs ran; a slot
+    // still holding a skipped or unselected reservation stays occupied
+    private List<Long> vacated(List<Reservation> changed) {
+        List<Long> slotIds = changed.stream().map(Reservation::getSlotId).distinct().collect(Collectors.toList());
+        Set<Long> stillBooked = new HashSet<>(reservationRepo.findSlotsWithStatus(slotIds, ReservationStatus.ACTIVE));
+        return slotIds.stream().filter(slotId -> !stillBooked.contains(slotId)).collect(Collectors.toList());
+    }
+
+    private static void checkSelection(BulkReservationRequestDTO request) {
+        boolean bySlot = request.getSlotIds() != null && !request.getSlotIds().isEmpty();
+        if (!bySlot && request.getUserId() == null && request.getFrom() == null && request.getTo() == null) {
+            throw new IllegalArgumentException("Select reservations by slot, user or date range");
+        }
+        if (request.getFrom() != null && request.getTo() != null && !request.getTo().isAfter(request.getFrom())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+    }
+
+    private List<Object[]> selectedSlots(BulkReservationRequestDTO request) {
+        boolean allSlots = request.getSlotIds() == null || request.getSlotIds().isEmpty();
+        return reservationRepo.findSelectedSlots(ReservationStatus.ACTIVE, allSlots, allSlots ? List.of(-1L) : request.getSlotIds(),
+                request.getUserId(), request.getFrom(), request.getTo());
+    }
+
+    private List<Reservation> lockSelected(BulkReservationRequestDTO request) {
+        boolean allSlots = request.getSlotIds() == null || request.getSlotIds().isEmpty();
+        return reservationRepo.lockSelected(ReservationStatus.ACTIVE, allSlots, allSlots ? List.of(-1L) : request.getSlotIds(),
+                request.getUserId(), request.getFrom(), request.getTo());
+    }
+
+    // Locked ACTIVE windows of the slots overlapping [start, end): per slot, end time by start time
+    private Map<Long, TreeMap<LocalDateTime, LocalDateTime>> lockWindows(Collection<Long> slotIds, LocalDateTime start, LocalDateTime end) {
+        Map<Long, TreeMap<LocalDateTime, LocalDateTime>> windows = new HashMap<>();
+        for (Reservation r : reservationRepo.lockOverlappingSlots(slotIds, ReservationStatus.ACTIVE, start, end)) {
+            windows.computeIfAbsent(r.getSlotId(), s -> new TreeMap<>()).put(r.getStartTime(), r.getEndTime());
+        }
+        return windows;
+    }
+
+    // Windows of a slot are disjoint, so the last one starting before `end` is the only candidate
+    private static boolean overlaps(TreeMap<LocalDateTime, LocalDateTime> windows, LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> last = windows.lowerEntry(end);
+        return last != null && last.getValue().isAfter(start);
+    }
+
+    private static Reservation copyOf(Reservation reservation) {
+        return Reservation.builder()
+                .reservationId(reservation.getReservationId())
+                .userId(reservation.getUserId())
+                .slotId(reservation.getSlotId())
+                .vehicleNumber(reservation.getVehicleNumber())
+                .startTime(reservation.getStartTime())
+                .endTime(reservation.getEndTime())
+                .status(reservation.getStatus())
+                .type(reservation.getType())
+                .build();
     }
  
     @Override
+    @Transactional(readOnly = true)
     public ReservationResponseDTO getReservationById(Long id) {
-        return reservationRepo.findById(id)
-                .map(this::mapToDTO)
+        return reservationRepo.findResponseById(id)
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
     }
  
     @Override
+    @Transactional(readOnly = true)
     public List<ReservationResponseDTO> getAllReservations() {
-        return reservationRepo.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return reservationRepo.findAllResponses();
     }
  
     @Override
+    @Transactional(readOnly = true)
     public List<ReservationResponseDTO> getReservationsByUser(Long userId) {
-        return reservationRepo.findByUserId(userId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return reservationRepo.findResponsesByUserId(userId);
     }
  
+    @Override
+    @Transactional(readOnly = true)
+    public ReservationPageDTO getReservationsPage(Long userId, Long slotId, ReservationStatus status, String type,
+                                                  LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        LocalDateTime beforeStart = null;
+        Long beforeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                beforeStart = LocalDateTime.parse(position[0]);
+                beforeId = Long.parseLong(position[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        String wantedType = type == null || type.isBlank() ? null : type.trim();
+        // Fetch one extra row to know whether another page exists
+        List<ReservationResponseDTO> reservations = reservationRepo.findPage(userId, slotId, status, wantedType,
+                from, to, beforeStart, beforeId, Limit.of(limit + 1));
+        boolean hasMore = reservations.size() > limit;
+        if (hasMore) {
+            reservations = reservations.subList(0, limit);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            // Opaque to clients: start time and id of the last row of this page
+            ReservationResponseDTO last = reservations.get(reservations.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((last.getStartTime() + "|" + last.getReservationId()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new ReservationPageDTO(reservations, nextCursor, hasMore);
+    }
+ 
+    @Override
+    @Transactional(readOnly = true)
+    public HeatmapDTO getHeatmap(String type, LocalDateTime from, LocalDateTime to) {
+        return heatmap.heatmap(type, from, to);
+    }
+ 
+    @Override
+    public int rebuildHeatmap() {
+        return heatmap.rebuild();
+    }
+ 
+    @Override
+    public AvailabilitySearchDTO searchAvailability(String type, String zone, LocalDateTime start, LocalDateTime end) {
+        if (type == null || type.isBlank()) {
+            throw new IllegalArgumentException("Slot type is required");
+        }
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        String wantedZone = zone == null || zone.isBlank() ? null : zone.trim().toUpperCase(Locale.ROOT);
+        Set<Long> reserved = intervalIndex.reservedSlots(start, end);
+        // Occupancy only describes the present, e.g. a vehicle parked without a reservation
+        boolean includesNow = !start.isAfter(LocalDateTime.now());
+        List<SlotDTO> free = slotInventory.slotsOfType(type).stream()
+                .filter(slot -> wantedZone == null || wantedZone.equals(SlotInventory.zoneOf(slot.getLocation())))
+                .filter(slot -> !reserved.contains(slot.getSlotId()))
+                .filter(slot -> !(includesNow && slot.isOccupied()))
+                .collect(Collectors.toList());
+        return new AvailabilitySearchDTO(type.trim().toUpperCase(Locale.ROOT), wantedZone, start, end, free.size(), free);
+    }
+
+    // Runs under the slot's booking guard. The in-memory index answers first; the locking range query is
+    // authoritative, since other instances book and cancel the same slots. A disagreement re-syncs the slot
+    // from the database.
+    private void checkNoOverlap(Long slotId, LocalDateTime start, LocalDateTime end, Long excludeId) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        boolean indexed = intervalIndex.overlaps(slotId, start, end, excludeId);
+        List<Reservation> conflicts = reservationRepo.lockOverlapping(slotId, ReservationStatus.ACTIVE, start, end, excludeId);
+        if (indexed == conflicts.isEmpty()) {
+            // Nothing has been written yet, so this reads only committed rows; apply it now, the booking may still fail
+            intervalIndex.replaceSlot(slotId,
+                    reservationRepo.findBySlotIdAndStatusAndEndTimeAfter(slotId, ReservationStatus.ACTIVE, LocalDateTime.now()));
+        }
+        if (!conflicts.isEmpty()) {
+            throw new RuntimeException("Slot already reserved for the selected time.");
+        }
+    }
+
+    // Index changes only become visible once the reservation is committed
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     private ReservationResponseDTO mapToDTO(Reservation reservation) {
         return new ReservationResponseDTO(
                 reservation.getReservationId(),
@@ -0,0 +1,182 @@
+package com.parking.reservation_service.service.impl;
+
+import com.parking.reservation_service.dto.ReservationRequestDTO;
+import com.parking.reservation_service.dto.ReservationResponseDTO;
+import com.parking.reservation_service.dto.SlotDTO;
+import com.parking.reservation_service.dto.WaitlistEntryDTO;
+import com.parking.reservation_service.dto.WaitlistRequestDTO;
+import com.parking.reservation_service.entity.WaitlistEntry;
+import com.parking.reservation_service.entity.WaitlistStatus;
+import com.parking.reservation_service.index.ReservationIntervalIndex;
+import com.parking.reservation_service.index.SlotInventory;
+import com.parking.reservation_service.repository.WaitlistRepository;
+import com.parking.reservation_service.service.ReservationService;
+import com.parking.reservation_service.service.WaitlistService;
+import com.parking.reservation_service.waitlist.Waitlist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final Waitlist waitlist;
+    private final ReservationService reservationService;
+    private final ReservationIntervalIndex intervalIndex;
+    private final SlotInventory slotInventory;
+    private final TransactionTemplate transactionTemplate;
+
+    // Startup and periodic reload: drops entries whose window has ended and picks up other instances' entries
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${reservation.index.resync-millis:60000}", initialDelayString = "${reservation.index.resync-millis:60000}")
+    public void reloadWaitlist() {
+        waitlistRepository.expireEnded(LocalDateTime.now());
+        waitlist.rebuild(waitlistRepository.findByStatus(WaitlistStatus.WAITING));
+    }
+
+    @Override
+    public WaitlistEntryDTO join(WaitlistRequestDTO dto) {
+        if (dto.getType() == null || dto.getType().isBlank()) {
+            throw new IllegalArgumentException("Slot type is required");
+        }
+        if (dto.getStartTime() == null || dto.getEndTime() == null || !dto.getEndTime().isAfter(dto.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        if (!dto.getEndTime().isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("The requested window has already ended");
+        }
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .userId(dto.getUserId())
+                .vehicleNumber(dto.getVehicleNumber())
+                .type(dto.getType().trim().toUpperCase(Locale.ROOT))
+                .zone(dto.getZone() == null || dto.getZone().isBlank() ? null : dto.getZone().trim().toUpperCase(Locale.ROOT))
+                .startTime(dto.getStartTime())
+                .endTime(dto.getEndTime())
+                .status(WaitlistStatus.WAITING)
+                .createdAt(LocalDateTime.now())
+                .build());
+        waitlist.add(entry);
+
+        // A slot may have come free since the customer's booking failed
+        try {
+            for (SlotDTO slot : reservationService.searchAvailability(entry.getType(), entry.getZone(),
+                    entry.getStartTime(), entry.getEndTime()).getSlots()) {
+                if (tryBook(entry, slot.getSlotId())) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Slot list unavailable; the entry waits for the next release
+        }
+        return mapToDTO(entry);
+    }
+
+    @Override
+    public void leave(Long waitlistId) {
+        waitlistRepository.findById(waitlistId)
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found"));
+        if (waitlistRepository.updateStatus(waitlistId, WaitlistStatus.WAITING, WaitlistStatus.CANCELLED) == 0) {
+            throw new IllegalArgumentException("Waitlist entry is no longer waiting");
+        }
+        waitlist.remove(waitlistId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDTO> getEntriesByUser(Long userId) {
+        return waitlistRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Offers every slot released (cancelled or completed reservation) since the last round to the waiting
+    // entries of its type, head of the queue first. One release can serve several entries whose windows fit.
+    @Scheduled(fixedDelayString = "${reservation.waitlist.poll-millis:1000}")
+    public void offerReleasedSlots() {
+        Map<Long, String> released = waitlist.drainReleased();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, String> slot : released.entrySet()) {
+            Long slotId = slot.getKey();
+            String zone = zoneOfSlot(slotId, slot.getValue());
+            for (WaitlistEntry entry : waitlist.waitingFor(slot.getValue())) {
+                if (!entry.getEndTime().isAfter(now)
+                        || (entry.getZone() != null && !entry.getZone().equals(zone))
+                        || intervalIndex.overlaps(slotId, entry.getStartTime(), entry.getEndTime(), null)) {
+                    continue;
+                }
+                tryBook(entry, slotId);
+            }
+        }
+    }
+
+    // Books the slot for the entry and marks it BOOKED in one transaction; the booking itself goes through
+    // the slot's guard and conflict check, and the conditional update stops two instances booking one entry
+    private boolean tryBook(WaitlistEntry entry, Long slotId) {
+        ReservationRequestDTO request = new ReservationRequestDTO(entry.getUserId(), slotId, entry.getVehicleNumber(),
+                entry.getStartTime(), entry.getEndTime(), entry.getType(), null);
+        Long reservationId;
+        try {
+            reservationId = transactionTemplate.execute(status -> {
+                ReservationResponseDTO booked = reservationService.createReservation(request);
+                if (waitlistRepository.markBooked(entry.getWaitlistId(), booked.getReservationId()) == 0) {
+                    status.setRollbackOnly();
+                    return null;
+                }
+                return booked.getReservationId();
+            });
+        } catch (RuntimeException e) {
+            // Taken in the meantime
+            return false;
+        }
+        // Booked or cancelled elsewhere if null; either way it no longer waits
+        waitlist.remove(entry.getWaitlistId());
+        if (reservationId == null) {
+            return false;
+        }
+        entry.setStatus(WaitlistStatus.BOOKED);
+        entry.setReservationId(reservationId);
+        return true;
+    }
+
+    // Zone of a released slot from the cached slot list; null if unknown, which only matches entries without a zone
+    private String zoneOfSlot(Long slotId, String type) {
+        try {
+            return slotInventory.slotsOfType(type).stream()
+                    .filter(slot -> slot.getSlotId().equals(slotId))
+                    .findFirst()
+                    .map(slot -> SlotInventory.zoneOf(slot.getLocation()))
+                    .orElse(null);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private WaitlistEntryDTO mapToDTO(WaitlistEntry entry) {
+        return new WaitlistEntryDTO(
+                entry.getWaitlistId(),
+                entry.getUserId(),
+                entry.getVehicleNumber(),
+                entry.getType(),
+                entry.getZone(),
+                entry.getStartTime(),
+                entry.getEndTime(),
+                entry.getStatus(),
+                waitlist.positionOf(entry.getWaitlistId()),
+                entry.getReservationId(),
+                entry.getCreatedAt()
+        );
+    }
+}
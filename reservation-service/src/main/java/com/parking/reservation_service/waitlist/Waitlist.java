@@ -0,0 +1,100 @@
+package com.parking.reservation_service.waitlist;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.parking.reservation_service.entity.WaitlistEntry;
+import com.parking.reservation_service.event.ReservationReleasedEvent;
+
+/**
+ * WAITING waitlist entries in memory: per slot type, a queue ordered by when the customer
+ * joined, so the head is offered a freed slot first. Also collects the slots released since
+ * the last offer round. waitlist_entries is the durable copy, reloaded at startup and on
+ * every resync, which also brings in entries queued on other instances.
+ */
+@Component
+public class Waitlist {
+
+    private static final Comparator<WaitlistEntry> ORDER =
+            Comparator.comparing(WaitlistEntry::getCreatedAt).thenComparing(WaitlistEntry::getWaitlistId);
+
+    private final Map<String, NavigableSet<WaitlistEntry>> byType = new HashMap<>();
+    private final Map<Long, WaitlistEntry> byId = new HashMap<>();
+
+    // slotId -> slot type of the released reservation
+    private final Map<Long, String> released = new ConcurrentHashMap<>();
+
+    public synchronized void rebuild(Collection<WaitlistEntry> waiting) {
+        byType.clear();
+        byId.clear();
+        waiting.forEach(this::add);
+    }
+
+    public synchronized void add(WaitlistEntry entry) {
+        remove(entry.getWaitlistId());
+        byType.computeIfAbsent(key(entry.getType()), t -> new TreeSet<>(ORDER)).add(entry);
+        byId.put(entry.getWaitlistId(), entry);
+    }
+
+    public synchronized void remove(Long waitlistId) {
+        WaitlistEntry entry = byId.remove(waitlistId);
+        if (entry == null) {
+            return;
+        }
+        NavigableSet<WaitlistEntry> queue = byType.get(key(entry.getType()));
+        queue.remove(entry);
+        if (queue.isEmpty()) {
+            byType.remove(key(entry.getType()));
+        }
+    }
+
+    // Waiting entries for the slot type, head of the queue first
+    public synchronized List<WaitlistEntry> waitingFor(String type) {
+        NavigableSet<WaitlistEntry> queue = byType.get(key(type));
+        return queue == null ? List.of() : new ArrayList<>(queue);
+    }
+
+    // 1-based place in its type's queue, 0 if the entry is not waiting
+    public synchronized int positionOf(Long waitlistId) {
+        WaitlistEntry entry = byId.get(waitlistId);
+        return entry == null ? 0 : byType.get(key(entry.getType())).headSet(entry, false).size() + 1;
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationReleased(ReservationReleasedEvent event) {
+        if (event.getType() != null) {
+            released.put(event.getSlotId(), event.getType());
+        }
+    }
+
+    // Slots released since the last call, with their type
+    public Map<Long, String> drainReleased() {
+        Map<Long, String> drained = new HashMap<>();
+        for (Long slotId : released.keySet()) {
+            String type = released.remove(slotId);
+            if (type != null) {
+                drained.put(slotId, type);
+            }
+        }
+        return drained;
+    }
+
+    private static String key(String type) {
+        return type == null ? "" : type.trim().toUpperCase(Locale.ROOT);
+    }
+}
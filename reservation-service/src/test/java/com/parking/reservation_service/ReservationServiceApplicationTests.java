@@ -3,7 +3,7 @@ package com.parking.reservation_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "reservation.service-account.email=relay@parking.local")
 class ReservationServiceApplicationTests {
 
 	@Test
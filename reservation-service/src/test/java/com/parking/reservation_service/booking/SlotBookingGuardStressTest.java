@@ -0,0 +1,191 @@
+package com.parking.reservation_service.booking;
+
+import com.parking.reservation_service.repository.SlotCalendarRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Hammers a few hot slots from two "instances" (guards with their own stripes, sharing one
+ * database) and checks that no two accepted bookings of a slot overlap. The throughput
+ * check is opt-in, as it depends on the machine:
+ * mvn test -Dtest=SlotBookingGuardStressTest -Dbenchmark=true
+ */
+class SlotBookingGuardStressTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 2_000;
+    private static final long[] HOT_SLOTS = { (1L << 24) | 1, (1L << 24) | 2, (2L << 24) | 1 };
+
+    // Stand-in for the slot_calendars rows: a row's lock is held from the UPDATE until the transaction completes
+    private final Map<Long, ReentrantLock> calendarRows = new ConcurrentHashMap<>();
+
+    // Stand-in for the reservations table: plain lists, so bookings that are not serialised show up as overlaps
+    private final Map<Long, List<long[]>> reservations = new HashMap<>();
+
+    @Test
+    void book_hotSlotsFromTwoInstances_neverDoubleBooks() throws Exception {
+        hammer();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void book_hotSlotsFromTwoInstances_throughput() throws Exception {
+        long began = System.nanoTime();
+        int attempts = hammer();
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        assertTrue(attempts / seconds > 1_000);
+    }
+
+    @Test
+    void book_knownCalendarsBounded_evictedSlotLookedUpAgain() {
+        SlotCalendarRepository calendarRepository = calendarRepository();
+        SlotBookingGuard guard = new SlotBookingGuard(calendarRepository,
+                new TransactionTemplate(new InMemoryTransactionManager()), 4, 2);
+
+        for (long slotId = 1; slotId <= 3; slotId++) {
+            guard.book(slotId, () -> true);
+        }
+        guard.book(3L, () -> true); // still remembered
+        guard.book(1L, () -> true); // evicted, so looked up again
+
+        verify(calendarRepository, times(3)).create(anyLong());
+        verify(calendarRepository, times(4)).existsById(anyLong());
+        verify(calendarRepository, times(2)).existsById(1L);
+    }
+
+    // Runs the workers and checks the outcome; returns the number of attempts
+    private int hammer() throws Exception {
+        for (long slotId : HOT_SLOTS) {
+            reservations.put(slotId, new ArrayList<>());
+        }
+        SlotCalendarRepository calendarRepository = calendarRepository();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new InMemoryTransactionManager());
+        SlotBookingGuard[] instances = {
+                new SlotBookingGuard(calendarRepository, transactionTemplate, 4, 10_000),
+                new SlotBookingGuard(calendarRepository, transactionTemplate, 4, 10_000)
+        };
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            SlotBookingGuard guard = instances[t % instances.length];
+            workers.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    long slotId = HOT_SLOTS[random.nextInt(HOT_SLOTS.length)];
+                    long from = random.nextInt(10_000);
+                    long to = from + 1 + random.nextInt(120);
+                    boolean ok = guard.book(slotId, () -> tryBook(slotId, from, to));
+                    (ok ? booked : rejected).incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        assertEquals(attempts, booked.get() + rejected.get());
+        assertEquals(booked.get(), reservations.values().stream().mapToInt(List::size).sum());
+        for (List<long[]> windows : reservations.values()) {
+            windows.sort(Comparator.comparingLong(w -> w[0]));
+            for (int i = 1; i < windows.size(); i++) {
+                assertTrue(windows.get(i)[0] >= windows.get(i - 1)[1], "double booking");
+            }
+        }
+        return attempts;
+    }
+
+    // Check-then-insert, as createReservation does; the yield between the two widens the race window
+    private boolean tryBook(long slotId, long from, long to) {
+        List<long[]> windows = reservations.get(slotId);
+        for (long[] window : windows) {
+            if (window[0] < to && window[1] > from) {
+                return false;
+            }
+        }
+        Thread.yield();
+        windows.add(new long[] { from, to });
+        return true;
+    }
+
+    private SlotCalendarRepository calendarRepository() {
+        SlotCalendarRepository repository = mock(SlotCalendarRepository.class);
+        when(repository.existsById(anyLong())).thenAnswer(inv -> calendarRows.containsKey(inv.<Long>getArgument(0)));
+        doAnswer(inv -> {
+            if (calendarRows.putIfAbsent(inv.getArgument(0), new ReentrantLock()) != null) {
+                throw new DataIntegrityViolationException("Duplicate entry for key 'PRIMARY'");
+            }
+            return null;
+        }).when(repository).create(anyLong());
+        when(repository.lock(anyLong())).thenAnswer(inv -> {
+            ReentrantLock row = calendarRows.get(inv.<Long>getArgument(0));
+            if (row == null) {
+                return 0;
+            }
+            row.lock();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    row.unlock();
+                }
+            });
+            return 1;
+        });
+        return repository;
+    }
+
+    // Just enough of a transaction manager for synchronizations to run on commit and rollback
+    private static class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.parking.reservation_service.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutTest {
+
+    @AfterEach
+    void clearContext() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void all_runsCallsConcurrentlyAndKeepsOrder() {
+        long started = System.nanoTime();
+
+        List<Integer> results = FanOut.all(List.<Callable<Integer>>of(
+                () -> sleepThen(200, 1),
+                () -> sleepThen(100, 2),
+                () -> sleepThen(200, 3)));
+
+        assertEquals(List.of(1, 2, 3), results);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 450);
+    }
+
+    @Test
+    void all_firstFailureCancelsTheRest() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        // The failure waits for the sleeper to start, so the cancellation has to interrupt it
+        CountDownLatch sleeping = new CountDownLatch(1);
+        long started = System.nanoTime();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> FanOut.all(List.<Callable<Object>>of(
+                () -> {
+                    awaitQuietly(sleeping);
+                    throw new IllegalStateException("slot-service unavailable");
+                },
+                () -> {
+                    sleeping.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException ie) {
+                        interrupted.set(true);
+                    }
+                    return null;
+                })));
+
+        assertEquals("slot-service unavailable", e.getMessage());
+        assertTrue(interrupted.get());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 5_000);
+    }
+
+    @Test
+    void all_callsSeeTheCallersRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        List<String> headers = FanOut.all(List.<Callable<String>>of(
+                () -> ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest().getHeader("Authorization")));
+
+        assertEquals(List.of("Bearer token"), headers);
+    }
+
+    @Test
+    void settle_reportsEachFailureInPlace() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        RuntimeException boom = new IllegalStateException("boom");
+
+        List<RuntimeException> failures = FanOut.settle(List.of(
+                () -> {
+                    bothStarted.countDown();
+                    awaitQuietly(bothStarted);
+                    throw boom;
+                },
+                () -> {
+                    bothStarted.countDown();
+                    awaitQuietly(bothStarted);
+                }));
+
+        assertSame(boom, failures.get(0));
+        assertNull(failures.get(1));
+    }
+
+    private static int sleepThen(long millis, int value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
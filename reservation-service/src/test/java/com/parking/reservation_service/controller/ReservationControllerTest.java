@@ -0,0 +1,33 @@
+package com.parking.reservation_service.controller;
+
+import com.parking.reservation_service.idempotency.IdempotencyStore;
+import com.parking.reservation_service.service.ReservationService;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class ReservationControllerTest {
+
+    private final ReservationService reservationService = mock(ReservationService.class);
+    private final ReservationController controller = new ReservationController(reservationService, mock(IdempotencyStore.class));
+
+    @Test
+    void getReservationsPage_clampsPageSize() {
+        controller.getReservationsPage(null, 10_000, null, null, null, null, null, null);
+        controller.getReservationsPage(null, 0, null, null, null, null, null, null);
+
+        verify(reservationService).getReservationsPage(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq(500));
+        verify(reservationService).getReservationsPage(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq(1));
+    }
+
+    @Test
+    void getReservationsPageByUserId_clampsPageSize() {
+        controller.getReservationsPageByUserId(7L, null, -5, null, null, null);
+
+        verify(reservationService).getReservationsPage(eq(7L), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq(1));
+        verify(reservationService, never()).getReservationsPage(any(), any(), any(), any(), any(), any(), any(), eq(-5));
+    }
+}
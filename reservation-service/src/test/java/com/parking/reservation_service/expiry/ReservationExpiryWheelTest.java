@@ -0,0 +1,63 @@
+package com.parking.reservation_service.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationExpiryWheelTest {
+
+    private final ReservationExpiryWheel wheel = new ReservationExpiryWheel(1000, 8);
+
+    @Test
+    void advance_returnsOnlyDueReservations() {
+        wheel.advance(10_000);
+        wheel.schedule(1L, 12_000);
+        wheel.schedule(2L, 15_500);
+
+        assertTrue(wheel.advance(11_999).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(12_000));
+        assertTrue(wheel.advance(15_000).isEmpty());
+        assertEquals(List.of(2L), wheel.advance(16_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_deadlineBeyondOneRevolution_waitsForIt() {
+        wheel.advance(0);
+        wheel.schedule(1L, 20_000); // 20 ticks on an 8-bucket wheel
+
+        assertTrue(wheel.advance(8_000).isEmpty());
+        assertTrue(wheel.advance(19_000).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(20_000));
+    }
+
+    @Test
+    void schedule_pastDeadline_expiresOnNextTick() {
+        wheel.advance(50_000);
+        wheel.schedule(1L, 1_000); // recovered after a restart
+
+        assertEquals(List.of(1L), wheel.advance(51_000));
+    }
+
+    @Test
+    void schedule_again_replacesDeadline() {
+        wheel.advance(0);
+        wheel.schedule(1L, 2_000);
+        wheel.schedule(1L, 6_000); // extended
+
+        assertTrue(wheel.advance(3_000).isEmpty());
+        assertEquals(List.of(1L), wheel.advance(6_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancel_removesReservation() {
+        wheel.advance(0);
+        wheel.schedule(1L, 2_000);
+        wheel.cancel(1L);
+
+        assertTrue(wheel.advance(3_000).isEmpty());
+    }
+}
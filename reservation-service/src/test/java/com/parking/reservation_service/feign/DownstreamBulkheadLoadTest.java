@@ -0,0 +1,133 @@
+package com.parking.reservation_service.feign;
+
+import com.parking.reservation_service.concurrent.FanOut;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 2,000 concurrent clients against a slot-service slowed to 50 ms per call, each request
+ * needing two independent slot-service calls. Baseline: Tomcat's default 200 platform
+ * threads making the calls one after the other. Compared: a virtual thread per request
+ * with the two calls fanned out, through the per-downstream bulkhead. The throughput
+ * comparison is opt-in, as it depends on the machine:
+ * mvn test -Dtest=DownstreamBulkheadLoadTest -Dbenchmark=true
+ */
+class DownstreamBulkheadLoadTest {
+
+    private static final int CLIENTS = 2_000;
+    private static final long SLOT_SERVICE_MILLIS = 50;
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void virtualThreadsWithFanOut_outperformPlatformPool() throws Exception {
+        SlowSlotService slotService = new SlowSlotService(SLOT_SERVICE_MILLIS);
+        Client client = new DownstreamBulkhead(1_000, 10_000).enrich(slotService);
+
+        double platform;
+        try (ExecutorService tomcat = Executors.newFixedThreadPool(200)) {
+            platform = requestsPerSecond(tomcat, () -> {
+                call(client, 1);
+                call(client, 2);
+                return null;
+            });
+        }
+        double virtual;
+        try (ExecutorService tomcat = Executors.newVirtualThreadPerTaskExecutor()) {
+            virtual = requestsPerSecond(tomcat, () -> FanOut.all(List.<Callable<Integer>>of(
+                    () -> call(client, 1),
+                    () -> call(client, 2))));
+        }
+
+        assertTrue(virtual > platform * 3, "virtual " + virtual + " req/s vs platform " + platform + " req/s");
+        assertTrue(slotService.peak.get() <= 1_000);
+    }
+
+    @Test
+    void fullBulkhead_failsFastInsteadOfQueueing() throws Exception {
+        SlowSlotService slotService = new SlowSlotService(2_000);
+        Client client = new DownstreamBulkhead(1, 50).enrich(slotService);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> first = executor.submit(() -> call(client, 1));
+            assertTrue(slotService.started.await(5, TimeUnit.SECONDS));
+
+            long started = System.nanoTime();
+            UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> call(client, 2));
+
+            assertTrue(e.getMessage().contains("slot-service"));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 1_000);
+            first.cancel(true);
+        }
+    }
+
+    private static double requestsPerSecond(ExecutorService tomcat, Callable<?> request) throws Exception {
+        long started = System.nanoTime();
+        List<Future<Object>> responses = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            responses.add(tomcat.submit(() -> {
+                request.call();
+                return null;
+            }));
+        }
+        for (Future<Object> response : responses) {
+            response.get(60, TimeUnit.SECONDS);
+        }
+        return CLIENTS / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private static int call(Client client, long slotId) {
+        Request request = Request.create(Request.HttpMethod.GET, "http://slot-service/api/slots/" + slotId,
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        try (Response response = client.execute(request, new Request.Options())) {
+            return response.status();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // slot-service with a fixed delay per call, recording how many calls it serves at once
+    private static class SlowSlotService implements Client {
+
+        private final long delayMillis;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        SlowSlotService(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public Response execute(Request request, Request.Options options) throws IOException {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted", e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return Response.builder().status(200).request(request).headers(Map.of()).build();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.parking.reservation_service.heatmap;
+
+import com.parking.reservation_service.entity.Reservation;
+import com.parking.reservation_service.repository.ReservationStatsRepository;
+import com.parking.reservation_service.repository.ReservationStatsRepository.HourDelta;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ReservationHeatmapTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+    private final ReservationStatsRepository statsRepository = mock(ReservationStatsRepository.class);
+    private final ReservationHeatmap heatmap = new ReservationHeatmap(statsRepository);
+
+    @Test
+    void deltas_countEveryOverlappedHourWithItsMinutes() {
+        Map<ReservationHeatmap.Cell, long[]> cells = ReservationHeatmap.deltas(
+                List.of(reservation(17, "4w", NINE.plusMinutes(30), NINE.plusHours(2).plusMinutes(15))), 1);
+
+        assertEquals(3, cells.size());
+        assertArrayEquals(new long[]{1, 30}, cells.get(new ReservationHeatmap.Cell("4W", NINE, 1)));
+        assertArrayEquals(new long[]{1, 60}, cells.get(new ReservationHeatmap.Cell("4W", NINE.plusHours(1), 1)));
+        assertArrayEquals(new long[]{1, 15}, cells.get(new ReservationHeatmap.Cell("4W", NINE.plusHours(2), 1)));
+    }
+
+    @Test
+    void deltas_endOnTheHourDoesNotTouchTheNextHour() {
+        Map<ReservationHeatmap.Cell, long[]> cells = ReservationHeatmap.deltas(
+                List.of(reservation(3, "2W", NINE, NINE.plusHours(1))), 1);
+
+        assertEquals(1, cells.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void move_sendsOnlyTheHoursThatChanged() {
+        Reservation before = reservation(5, "4W", NINE, NINE.plusHours(2));
+        Reservation after = reservation(5, "4W", NINE.plusHours(1), NINE.plusHours(3));
+
+        heatmap.move(List.of(before), List.of(after));
+
+        ArgumentCaptor<List<HourDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(statsRepository).applyDeltas(captor.capture());
+        assertEquals(List.of(
+                new HourDelta("4W", NINE, 5, -1, -60),
+                new HourDelta("4W", NINE.plusHours(2), 5, 1, 60)), captor.getValue());
+    }
+
+    @Test
+    void move_unchangedWindowWritesNothing() {
+        heatmap.move(List.of(reservation(5, "4W", NINE, NINE.plusHours(2))), List.of(reservation(5, "4w", NINE, NINE.plusHours(2))));
+
+        verify(statsRepository, never()).applyDeltas(anyList());
+    }
+
+    @Test
+    void heatmap_rejectsInvertedRange() {
+        assertThrows(IllegalArgumentException.class, () -> heatmap.heatmap(null, NINE, NINE.minusHours(1)));
+    }
+
+    private static Reservation reservation(long slotId, String type, LocalDateTime start, LocalDateTime end) {
+        return Reservation.builder().slotId(slotId).type(type).startTime(start).endTime(end).build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.parking.reservation_service.idempotency;
+
+import com.parking.reservation_service.entity.IdempotencyRecord;
+import com.parking.reservation_service.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+    private final IdempotencyStore store = new IdempotencyStore(repository, 100, 24, 60);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void execute_sequentialDuplicate_runsOnce() {
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+
+        assertEquals(7L, create("key-1", "req"));
+        assertEquals(7L, create("key-1", "req"));
+
+        assertEquals(1, runs.get());
+        verify(repository).claim(eq("anonymous:key-1"), eq("req".hashCode()), any(Instant.class));
+        verify(repository).complete("anonymous:key-1", 7L);
+    }
+
+    @Test
+    void execute_concurrentDuplicates_secondWaitsForFirst() throws Exception {
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FutureTask<Long> first = new FutureTask<>(() -> store.execute("key-1", "req", () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+            return 7L;
+        }, Function.identity(), id -> id));
+        FutureTask<Long> second = new FutureTask<>(() -> create("key-1", "req"));
+
+        new Thread(first).start();
+        started.await();
+        Thread waiter = new Thread(second);
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals(7L, first.get());
+        assertEquals(7L, second.get());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_keyCompletedElsewhere_replaysFromDatabase() {
+        when(repository.findById("anonymous:key-1"))
+                .thenReturn(Optional.of(new IdempotencyRecord("anonymous:key-1", "req".hashCode(), 42L, Instant.now())));
+
+        assertEquals(42L, create("key-1", "req"));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void execute_keyClaimedElsewhere_refuses() {
+        when(repository.findById("anonymous:key-1"))
+                .thenReturn(Optional.of(new IdempotencyRecord("anonymous:key-1", "req".hashCode(), null, Instant.now())));
+
+        assertThrows(IllegalStateException.class, () -> create("key-1", "req"));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void execute_sameKeyDifferentRequest_rejected() {
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        create("key-1", "req");
+
+        assertThrows(IllegalArgumentException.class, () -> create("key-1", "other"));
+    }
+
+    @Test
+    void execute_failedRequest_releasesKey() {
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> store.execute("key-1", "req",
+                () -> { throw new RuntimeException("Slot already reserved for the selected time."); },
+                Function.identity(), id -> id));
+        verify(repository).deleteById("anonymous:key-1");
+
+        assertEquals(7L, create("key-1", "req"));
+    }
+
+    @Test
+    void execute_withoutKey_alwaysRuns() {
+        create(null, "req");
+        create(null, "req");
+
+        assertEquals(2, runs.get());
+        verifyNoInteractions(repository);
+    }
+
+    private Long create(String key, Object request) {
+        return store.execute(key, request, () -> {
+            runs.incrementAndGet();
+            return 7L;
+        }, Function.identity(), id -> id);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
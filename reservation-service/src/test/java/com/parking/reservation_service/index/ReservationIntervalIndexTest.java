@@ -0,0 +1,134 @@
+package com.parking.reservation_service.index;
+
+import com.parking.reservation_service.entity.Reservation;
+import com.parking.reservation_service.entity.ReservationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationIntervalIndexTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 6, 2, 14, 0);
+
+    // 15-minute buckets
+    private final ReservationIntervalIndex index = new ReservationIntervalIndex(15);
+
+    @Test
+    void reservedSlots_bucketsInsideWindowDecideOnTheirOwn() {
+        index.rebuild(List.of(
+                reservation(1L, 100L, T, T.plusHours(1)),
+                reservation(2L, 200L, T.plusHours(2), T.plusHours(3))));
+
+        assertEquals(Set.of(100L), index.reservedSlots(T, T.plusHours(2)));
+        assertEquals(Set.of(100L, 200L), index.reservedSlots(T, T.plusHours(3)));
+        assertEquals(Set.of(), index.reservedSlots(T.plusHours(1), T.plusHours(2)));
+    }
+
+    @Test
+    void reservedSlots_edgeBucketCheckedExactly() {
+        // Both windows share the 14:15 bucket with the search without overlapping it
+        index.rebuild(List.of(
+                reservation(1L, 100L, T, T.plusMinutes(20)),
+                reservation(2L, 200L, T.plusMinutes(25), T.plusHours(1))));
+
+        assertEquals(Set.of(), index.reservedSlots(T.plusMinutes(20), T.plusMinutes(25)));
+        assertEquals(Set.of(100L), index.reservedSlots(T.plusMinutes(10), T.plusMinutes(22)));
+        assertEquals(Set.of(100L, 200L), index.reservedSlots(T.plusMinutes(19), T.plusMinutes(26)));
+    }
+
+    @Test
+    void remove_keepsBucketsStillCoveredByAnotherWindowOfTheSlot() {
+        index.rebuild(List.of(
+                reservation(1L, 100L, T, T.plusMinutes(10)),
+                reservation(2L, 100L, T.plusMinutes(10), T.plusMinutes(30))));
+
+        index.remove(1L);
+
+        // The 14:00 bucket stays marked, reservation 2 starts in it
+        assertEquals(Set.of(), index.reservedSlots(T, T.plusMinutes(10)));
+        assertEquals(Set.of(100L), index.reservedSlots(T, T.plusMinutes(15)));
+        assertEquals(Set.of(100L), index.reservedSlots(T.plusMinutes(15), T.plusMinutes(30)));
+    }
+
+    @Test
+    void remove_lastWindowFreesItsBuckets() {
+        index.rebuild(List.of(reservation(1L, 100L, T, T.plusHours(1))));
+
+        index.remove(1L);
+
+        assertEquals(Set.of(), index.reservedSlots(T, T.plusHours(1)));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void overlaps_touchingWindowsDoNotOverlap() {
+        index.put(reservation(1L, 100L, T, T.plusHours(1)));
+
+        assertTrue(index.overlaps(100L, T.plusMinutes(59), T.plusHours(2), null));
+        assertFalse(index.overlaps(100L, T.plusHours(1), T.plusHours(2), null));
+        assertFalse(index.overlaps(100L, T.minusHours(1), T, null));
+        assertFalse(index.overlaps(200L, T, T.plusHours(1), null));
+    }
+
+    @Test
+    void overlaps_skipsExcludedReservationOnly() {
+        index.put(reservation(1L, 100L, T, T.plusHours(1)));
+        index.put(reservation(2L, 100L, T.plusHours(2), T.plusHours(3)));
+
+        // Moving reservation 2 earlier only collides with itself
+        assertFalse(index.overlaps(100L, T.plusMinutes(90), T.plusMinutes(150), 2L));
+        // but still with reservation 1 once it reaches back into it
+        assertTrue(index.overlaps(100L, T.plusMinutes(30), T.plusMinutes(150), 2L));
+        assertTrue(index.overlaps(100L, T.plusMinutes(90), T.plusMinutes(150), 1L));
+    }
+
+    @Test
+    void put_sameReservationAgain_replacesItsWindow() {
+        index.put(reservation(1L, 100L, T, T.plusHours(1)));
+        index.put(reservation(1L, 200L, T.plusHours(2), T.plusHours(3))); // moved and rescheduled
+
+        assertEquals(1, index.size());
+        assertFalse(index.overlaps(100L, T, T.plusHours(1), null));
+        assertTrue(index.overlaps(200L, T.plusHours(2), T.plusHours(3), null));
+        assertEquals(Set.of(), index.reservedSlots(T, T.plusHours(1)));
+    }
+
+    @Test
+    void replaceSlot_dropsWhatTheDatabaseNoLongerHas() {
+        index.rebuild(List.of(
+                reservation(1L, 100L, T, T.plusHours(1)),
+                reservation(2L, 100L, T.plusHours(2), T.plusHours(3)),
+                reservation(3L, 200L, T, T.plusHours(1))));
+
+        // Another instance cancelled 1 and booked 4
+        index.replaceSlot(100L, List.of(
+                reservation(2L, 100L, T.plusHours(2), T.plusHours(3)),
+                reservation(4L, 100L, T.plusHours(4), T.plusHours(5))));
+
+        assertFalse(index.overlaps(100L, T, T.plusHours(1), null));
+        assertTrue(index.overlaps(100L, T.plusHours(4), T.plusHours(5), null));
+        assertTrue(index.overlaps(200L, T, T.plusHours(1), null));
+        assertEquals(Set.of(200L), index.reservedSlots(T, T.plusHours(1)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void slotsAfter_pagesIndexedSlotsInIdOrder() {
+        index.rebuild(List.of(
+                reservation(1L, 300L, T, T.plusHours(1)),
+                reservation(2L, 100L, T, T.plusHours(1)),
+                reservation(3L, 200L, T, T.plusHours(1))));
+
+        assertEquals(List.of(100L, 200L), index.slotsAfter(0, 2));
+        assertEquals(List.of(300L), index.slotsAfter(200L, 2));
+        assertEquals(List.of(), index.slotsAfter(300L, 2));
+    }
+
+    static Reservation reservation(Long id, Long slotId, LocalDateTime start, LocalDateTime end) {
+        return new Reservation(id, 7L, slotId, "KA01AB1234", start, end, ReservationStatus.ACTIVE, "4W");
+    }
+}
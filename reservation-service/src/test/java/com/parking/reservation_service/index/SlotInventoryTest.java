@@ -0,0 +1,71 @@
+package com.parking.reservation_service.index;
+
+import com.parking.reservation_service.dto.SlotDTO;
+import com.parking.reservation_service.dto.SlotPageDTO;
+import com.parking.reservation_service.feign.SlotClient;
+import com.parking.reservation_service.security.ServiceAccountToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SlotInventoryTest {
+
+    private static final String TOKEN = "Bearer service";
+
+    private final SlotClient slotClient = mock(SlotClient.class);
+    private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+    private final ServiceAccountToken serviceAccountToken = mock(ServiceAccountToken.class);
+    private final SlotInventory inventory = new SlotInventory(slotClient, discoveryClient, serviceAccountToken, 30);
+
+    @Test
+    void slotsOfType_pagesEachPartitionOnItsOwnCursor() {
+        when(serviceAccountToken.authorizationHeader()).thenReturn(TOKEN);
+        when(discoveryClient.getInstances("slot-service")).thenReturn(List.of(instance("slot-a"), instance("slot-b")));
+        // Partition A holds zone B (key 2), partition B holds zone AB (key 29)
+        when(slotClient.getSlotsPage(TOKEN, "slot-a", null, 1000, "4W"))
+                .thenReturn(new SlotPageDTO(List.of(slot(33_554_437L, "B5")), 33_554_437L, true));
+        when(slotClient.getSlotsPage(TOKEN, "slot-a", 33_554_437L, 1000, "4W"))
+                .thenReturn(new SlotPageDTO(List.of(slot(33_554_438L, "B6")), null, false));
+        when(slotClient.getSlotsPage(TOKEN, "slot-b", null, 1000, "4W"))
+                .thenReturn(new SlotPageDTO(List.of(slot(486_539_269L, "AB5")), null, false));
+
+        List<SlotDTO> slots = inventory.slotsOfType("4w");
+
+        assertEquals(List.of(33_554_437L, 33_554_438L, 486_539_269L), slots.stream().map(SlotDTO::getSlotId).toList());
+        // A partition's cursor is never sent to another partition
+        verify(slotClient, never()).getSlotsPage(any(), eq("slot-b"), eq(33_554_437L), anyInt(), any());
+    }
+
+    @Test
+    void slotsOfType_cachedWithinTtl() {
+        when(discoveryClient.getInstances("slot-service")).thenReturn(List.of(instance("slot-a")));
+        when(slotClient.getSlotsPage(any(), eq("slot-a"), isNull(), anyInt(), eq("4W")))
+                .thenReturn(new SlotPageDTO(List.of(slot(33_554_437L, "B5")), null, false));
+
+        inventory.slotsOfType("4W");
+        inventory.slotsOfType("4W");
+
+        verify(slotClient, times(1)).getSlotsPage(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void slotsOfType_noSlotServiceRegistered_fails() {
+        when(discoveryClient.getInstances("slot-service")).thenReturn(List.of());
+
+        assertThrows(RuntimeException.class, () -> inventory.slotsOfType("4W"));
+    }
+
+    private static DefaultServiceInstance instance(String id) {
+        return new DefaultServiceInstance(id, "slot-service", "localhost", 8080, false);
+    }
+
+    private static SlotDTO slot(Long slotId, String location) {
+        return new SlotDTO(slotId, location, "4W", false);
+    }
+}
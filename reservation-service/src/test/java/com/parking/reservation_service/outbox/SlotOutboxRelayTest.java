@@ -0,0 +1,149 @@
+package com.parking.reservation_service.outbox;
+
+import com.parking.reservation_service.dto.SlotOccupancyUpdateDTO;
+import com.parking.reservation_service.entity.SlotOutboxEntry;
+import com.parking.reservation_service.feign.SlotPartitionLoadBalancer;
+import com.parking.reservation_service.repository.SlotOutboxRepository;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class SlotOutboxRelayTest {
+
+    private static final long ZONE_A = 1L << SlotPartitionLoadBalancer.SEQUENCE_BITS;
+    private static final long ZONE_B = 2L << SlotPartitionLoadBalancer.SEQUENCE_BITS;
+
+    private final SlotOutboxRepository outboxRepository = mock(SlotOutboxRepository.class);
+    private final InProcessSlotService slotService = new InProcessSlotService();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SlotOutboxRelay relay = new SlotOutboxRelay(outboxRepository, slotService,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry, 500, 30_000);
+
+    @Test
+    void relayBatch_latestChangePerSlotWins() {
+        List<SlotOutboxEntry> batch = List.of(
+                entry(1, ZONE_A + 1, true),
+                entry(2, ZONE_A + 1, false),
+                entry(3, ZONE_A + 2, true));
+        when(outboxRepository.lockBatch(any(Limit.class))).thenReturn(batch);
+
+        assertTrue(relay.relayBatch());
+
+        assertEquals(Map.of(ZONE_A + 1, false, ZONE_A + 2, true), slotService.occupied);
+        assertEquals(1, slotService.calls.size());
+        verify(outboxRepository).deleteAllInBatch(batch);
+    }
+
+    @Test
+    void relayBatch_sendsOneBatchPerPartition() {
+        when(outboxRepository.lockBatch(any(Limit.class))).thenReturn(List.of(
+                entry(1, ZONE_A + 1, true),
+                entry(2, ZONE_B + 1, true),
+                entry(3, ZONE_A + 2, true)));
+
+        assertTrue(relay.relayBatch());
+
+        assertEquals(2, slotService.calls.size());
+        for (List<SlotOccupancyUpdateDTO> call : slotService.calls) {
+            assertEquals(1, call.stream().map(u -> SlotPartitionLoadBalancer.zoneKeyOf(u.getSlotId())).distinct().count());
+        }
+        assertEquals(3.0, meterRegistry.counter("reservation.outbox.delivered").count());
+    }
+
+    @Test
+    void relayBatch_failedPartition_keepsEntriesAndCountsAttempt() {
+        SlotOutboxEntry entry = entry(1, ZONE_A + 1, true);
+        when(outboxRepository.lockBatch(any(Limit.class))).thenReturn(List.of(entry));
+        slotService.down = true;
+
+        assertFalse(relay.relayBatch());
+
+        assertEquals(1, entry.getAttempts());
+        assertTrue(slotService.occupied.isEmpty());
+        verify(outboxRepository, never()).deleteAllInBatch(anyList());
+        assertEquals(1.0, meterRegistry.counter("reservation.outbox.failed").count());
+    }
+
+    @Test
+    void relay_authRejected_keepsEntriesAndBacksOffFully() {
+        SlotOutboxEntry entry = entry(1, ZONE_A + 1, true);
+        when(outboxRepository.lockBatch(any(Limit.class))).thenReturn(List.of(entry));
+        slotService.rejection = new FeignException.Forbidden("Forbidden",
+                Request.create(Request.HttpMethod.PUT, "/api/slots/occupancy", Map.of(), null,
+                        StandardCharsets.UTF_8, null),
+                null, Map.of());
+
+        relay.relay();
+        relay.relay();
+
+        // The second run falls inside the 30s back-off, so only one batch was locked
+        verify(outboxRepository, times(1)).lockBatch(any(Limit.class));
+        assertEquals(1, entry.getAttempts());
+        verify(outboxRepository, never()).deleteAllInBatch(anyList());
+        assertEquals(1.0, meterRegistry.counter("reservation.outbox.rejected").count());
+        assertEquals(1.0, meterRegistry.counter("reservation.outbox.failed").count());
+    }
+
+    @Test
+    void relayBatch_unavailable_notCountedAsRejected() {
+        when(outboxRepository.lockBatch(any(Limit.class))).thenReturn(List.of(entry(1, ZONE_A + 1, true)));
+        slotService.down = true;
+
+        assertFalse(relay.relayBatch());
+
+        assertEquals(0.0, meterRegistry.counter("reservation.outbox.rejected").count());
+    }
+
+    @Test
+    void relay_reportsLagOfOldestEntry() {
+        when(outboxRepository.lockBatch(any(Limit.class))).thenReturn(List.of());
+        when(outboxRepository.findOldestCreatedAt()).thenReturn(Instant.now().minusSeconds(10));
+        when(outboxRepository.count()).thenReturn(4L);
+
+        relay.relay();
+
+        assertTrue(meterRegistry.get("reservation.outbox.lag").gauge().value() >= 10_000);
+        assertEquals(4.0, meterRegistry.get("reservation.outbox.pending").gauge().value());
+    }
+
+    private static SlotOutboxEntry entry(long id, long slotId, boolean occupied) {
+        return new SlotOutboxEntry(id, slotId, occupied, Instant.now(), 0);
+    }
+
+    // Stand-in for slot-service's bulk occupancy endpoint; the relay calls it from several threads
+    private static class InProcessSlotService implements SlotOccupancyPublisher {
+
+        private final Map<Long, Boolean> occupied = new HashMap<>();
+        private final List<List<SlotOccupancyUpdateDTO>> calls = new ArrayList<>();
+        private volatile boolean down;
+        private volatile RuntimeException rejection;
+
+        @Override
+        public synchronized void publish(List<SlotOccupancyUpdateDTO> updates) {
+            if (rejection != null) {
+                throw rejection;
+            }
+            if (down) {
+                throw new IllegalStateException("slot-service unavailable");
+            }
+            calls.add(updates);
+            updates.forEach(u -> occupied.put(u.getSlotId(), u.getOccupied()));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.parking.reservation_service.recurrence;
+
+import com.parking.reservation_service.dto.RecurringReservationRequestDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    // A Monday
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+    @Test
+    void starts_weekdaysUntilDate() {
+        RecurringReservationRequestDTO dto = pattern("WEEKLY", null, LocalDate.of(2025, 6, 15));
+        dto.setByDays(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY));
+
+        List<LocalDateTime> starts = RecurrenceRule.starts(dto, 500);
+
+        assertEquals(10, starts.size());
+        assertEquals(START, starts.get(0));
+        assertEquals(LocalDateTime.of(2025, 6, 13, 9, 0), starts.get(9));
+        assertTrue(starts.stream().allMatch(s -> s.getDayOfWeek().getValue() <= 5 && s.getHour() == 9));
+    }
+
+    @Test
+    void starts_dailyCount() {
+        List<LocalDateTime> starts = RecurrenceRule.starts(pattern("daily", 3, null), 500);
+
+        assertEquals(List.of(START, START.plusDays(1), START.plusDays(2)), starts);
+    }
+
+    @Test
+    void starts_weeklyDefaultsToFirstDay() {
+        List<LocalDateTime> starts = RecurrenceRule.starts(pattern("WEEKLY", 2, null), 500);
+
+        assertEquals(List.of(START, START.plusWeeks(1)), starts);
+    }
+
+    @Test
+    void starts_explicitListSortedAndDeduplicated() {
+        RecurringReservationRequestDTO dto = new RecurringReservationRequestDTO();
+        dto.setStartTimes(List.of(START.plusDays(7), START, START.plusDays(7)));
+
+        assertEquals(List.of(START, START.plusDays(7)), RecurrenceRule.starts(dto, 500));
+    }
+
+    @Test
+    void starts_tooManyOccurrences_rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RecurrenceRule.starts(pattern("DAILY", null, LocalDate.of(2026, 6, 2)), 100));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.starts(pattern("DAILY", 101, null), 100));
+    }
+
+    @Test
+    void starts_missingBound_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.starts(pattern("DAILY", null, null), 500));
+    }
+
+    private static RecurringReservationRequestDTO pattern(String frequency, Integer count, LocalDate until) {
+        RecurringReservationRequestDTO dto = new RecurringReservationRequestDTO();
+        dto.setStartTime(START);
+        dto.setEndTime(START.plusHours(8));
+        dto.setFrequency(frequency);
+        dto.setCount(count);
+        dto.setUntil(until);
+        return dto;
+    }
+}
@@ -0,0 +1,101 @@
+package com.parking.reservation_service.repository;
+
+import com.parking.reservation_service.dto.ReservationResponseDTO;
+import com.parking.reservation_service.entity.Reservation;
+import com.parking.reservation_service.entity.ReservationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset paging of findPage against H2: the (start_time, reservation_id) position has to
+ * resume exactly after the last row, also when many rows share a start time.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ReservationRepositoryTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+    @Autowired
+    private ReservationRepository reservationRepo;
+
+    @Test
+    void findPage_tiesOnStartTime_resumeByIdWithoutGapsOrRepeats() {
+        List<Long> expected = new ArrayList<>();
+        // Five reservations at 10:00 on different slots, two at 09:00
+        for (int i = 0; i < 5; i++) {
+            expected.add(save(1L, 100L + i, T.plusHours(1), ReservationStatus.ACTIVE, "4W"));
+        }
+        long early1 = save(1L, 200L, T, ReservationStatus.ACTIVE, "4W");
+        long early2 = save(1L, 201L, T, ReservationStatus.ACTIVE, "4W");
+        // Newest start first, ties by id descending
+        List<Long> order = new ArrayList<>(expected.reversed());
+        order.add(early2);
+        order.add(early1);
+
+        List<Long> paged = new ArrayList<>();
+        LocalDateTime beforeStart = null;
+        Long beforeId = null;
+        List<ReservationResponseDTO> page;
+        do {
+            page = reservationRepo.findPage(null, null, null, null, null, null, beforeStart, beforeId, Limit.of(2));
+            page.forEach(r -> paged.add(r.getReservationId()));
+            if (!page.isEmpty()) {
+                beforeStart = page.get(page.size() - 1).getStartTime();
+                beforeId = page.get(page.size() - 1).getReservationId();
+            }
+        } while (page.size() == 2);
+
+        assertEquals(order, paged);
+    }
+
+    @Test
+    void findPage_combinedFilters() {
+        long wanted = save(1L, 100L, T.plusHours(2), ReservationStatus.ACTIVE, "4W");
+        save(2L, 100L, T.plusHours(2), ReservationStatus.ACTIVE, "4W");    // other user
+        save(1L, 101L, T.plusHours(2), ReservationStatus.ACTIVE, "4W");    // other slot
+        save(1L, 100L, T.plusHours(3), ReservationStatus.CANCELLED, "4W"); // other status
+        save(1L, 100L, T.plusHours(4), ReservationStatus.ACTIVE, "2W");    // other type
+        save(1L, 100L, T.minusHours(1), ReservationStatus.ACTIVE, "4W");   // before from
+        save(1L, 100L, T.plusHours(6), ReservationStatus.ACTIVE, "4W");    // at to (exclusive)
+
+        List<ReservationResponseDTO> page = reservationRepo.findPage(1L, 100L, ReservationStatus.ACTIVE, "4W",
+                T, T.plusHours(6), null, null, Limit.of(10));
+
+        assertEquals(List.of(wanted), page.stream().map(ReservationResponseDTO::getReservationId).toList());
+    }
+
+    @Test
+    void findPage_cursorAppliesOnTopOfFilters() {
+        long first = save(1L, 100L, T, ReservationStatus.ACTIVE, "4W");
+        long second = save(1L, 100L, T, ReservationStatus.ACTIVE, "4W");
+        save(2L, 100L, T, ReservationStatus.ACTIVE, "4W");
+
+        List<ReservationResponseDTO> page = reservationRepo.findPage(1L, null, null, null, null, null,
+                T, second, Limit.of(10));
+
+        assertEquals(List.of(first), page.stream().map(ReservationResponseDTO::getReservationId).toList());
+    }
+
+    private long save(Long userId, Long slotId, LocalDateTime start, ReservationStatus status, String type) {
+        return reservationRepo.save(Reservation.builder()
+                .userId(userId)
+                .slotId(slotId)
+                .vehicleNumber("KA01AB1234")
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .status(status)
+                .type(type)
+                .build()).getReservationId();
+    }
+}
@@ -0,0 +1,446 @@
+package com.parking.reservation_service.service.impl;
+
+import com.parking.reservation_service.booking.SlotBookingGuard;
+import com.parking.reservation_service.dto.AvailabilitySearchDTO;
+import com.parking.reservation_service.dto.BulkReservationRequestDTO;
+import com.parking.reservation_service.dto.BulkReservationResultDTO;
+import com.parking.reservation_service.dto.ReservationPageDTO;
+import com.parking.reservation_service.dto.ReservationRequestDTO;
+import com.parking.reservation_service.dto.ReservationResponseDTO;
+import com.parking.reservation_service.dto.SkippedReservationDTO;
+import com.parking.reservation_service.dto.SlotDTO;
+import com.parking.reservation_service.entity.Reservation;
+import com.parking.reservation_service.entity.ReservationStatus;
+import com.parking.reservation_service.event.ReservationReleasedEvent;
+import com.parking.reservation_service.expiry.ReservationExpiryWheel;
+import com.parking.reservation_service.feign.SlotClient;
+import com.parking.reservation_service.heatmap.ReservationHeatmap;
+import com.parking.reservation_service.index.ReservationIntervalIndex;
+import com.parking.reservation_service.index.SlotInventory;
+import com.parking.reservation_service.outbox.SlotOutbox;
+import com.parking.reservation_service.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReservationServiceImplTest {
+
+    private static final LocalDateTime T = LocalDateTime.now().plusDays(1).withHour(14).withMinute(0).withSecond(0).withNano(0);
+
+    private final ReservationRepository reservationRepo = mock(ReservationRepository.class);
+    private final ReservationIntervalIndex intervalIndex = new ReservationIntervalIndex(15);
+    private final SlotInventory slotInventory = mock(SlotInventory.class);
+    private final ReservationExpiryWheel expiryWheel = new ReservationExpiryWheel(1000, 64);
+    private final SlotOutbox slotOutbox = mock(SlotOutbox.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final SlotBookingGuard bookingGuard = mock(SlotBookingGuard.class);
+    private final ReservationServiceImpl service = new ReservationServiceImpl(reservationRepo, mock(SlotClient.class),
+            intervalIndex, slotInventory, expiryWheel, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            slotOutbox, bookingGuard, eventPublisher, mock(ReservationHeatmap.class));
+
+    @BeforeEach
+    void setUp() {
+        when(bookingGuard.book(anyLong(), any())).thenAnswer(call -> call.<Supplier<?>>getArgument(1).get());
+        when(bookingGuard.bookAll(anyCollection(), any())).thenAnswer(call -> call.<Supplier<?>>getArgument(1).get());
+        when(reservationRepo.save(any(Reservation.class))).thenAnswer(call -> {
+            Reservation saved = call.getArgument(0);
+            saved.setReservationId(42L);
+            return saved;
+        });
+    }
+
+    @Test
+    void searchAvailability_leavesOutReservedSlotsAndOtherZones() {
+        when(slotInventory.slotsOfType("4W")).thenReturn(List.of(
+                slot(33_554_437L, "B5", false),
+                slot(33_554_438L, "B6", false),
+                slot(486_539_269L, "AB5", false)));
+        intervalIndex.put(reservation(1L, 33_554_437L, T.plusHours(1), T.plusHours(2)));
+
+        AvailabilitySearchDTO result = service.searchAvailability("4W", "b", T, T.plusHours(3));
+
+        assertEquals("B", result.getZone());
+        assertEquals(List.of(33_554_438L), result.getSlots().stream().map(SlotDTO::getSlotId).toList());
+        assertEquals(1, result.getCount());
+    }
+
+    @Test
+    void searchAvailability_occupancyOnlyCountsForWindowsIncludingNow() {
+        when(slotInventory.slotsOfType("4W")).thenReturn(List.of(slot(33_554_437L, "B5", true)));
+
+        assertEquals(1, service.searchAvailability("4W", null, T, T.plusHours(1)).getCount());
+        assertEquals(0, service.searchAvailability("4W", null, LocalDateTime.now().minusMinutes(5), T).getCount());
+    }
+
+    @Test
+    void searchAvailability_rejectsEmptyWindowAndMissingType() {
+        assertThrows(IllegalArgumentException.class, () -> service.searchAvailability("4W", null, T, T));
+        assertThrows(IllegalArgumentException.class, () -> service.searchAvailability(" ", null, T, T.plusHours(1)));
+        verifyNoInteractions(slotInventory);
+    }
+
+    @Test
+    void syncIntervalIndex_addsNewBookingsAboveTheLoadedId() {
+        when(reservationRepo.findByStatus(ReservationStatus.ACTIVE)).thenReturn(List.of(reservation(5L, 100L, T, T.plusHours(1))));
+        service.initIntervalIndex();
+        when(reservationRepo.findByReservationIdGreaterThanAndStatus(5L, ReservationStatus.ACTIVE))
+                .thenReturn(List.of(reservation(9L, 200L, T, T.plusHours(1))));
+        when(reservationRepo.findBySlotIdInAndStatusAndEndTimeAfter(anyCollection(), eq(ReservationStatus.ACTIVE), any()))
+                .thenAnswer(call -> activeIn(call.getArgument(0), reservation(5L, 100L, T, T.plusHours(1)),
+                        reservation(9L, 200L, T, T.plusHours(1))));
+
+        service.syncIntervalIndex();
+
+        assertTrue(intervalIndex.overlaps(200L, T, T.plusHours(1), null));
+        assertEquals(2, expiryWheel.size());
+        // The next pass only asks for bookings made after 9
+        service.syncIntervalIndex();
+        verify(reservationRepo).findByReservationIdGreaterThanAndStatus(9L, ReservationStatus.ACTIVE);
+    }
+
+    @Test
+    void syncIntervalIndex_rereadsOneSliceOfSlotsPerPassAndWrapsAround() {
+        ReflectionTestUtils.setField(service, "resyncSlots", 2);
+        List<Reservation> loaded = List.of(
+                reservation(1L, 100L, T, T.plusHours(1)),
+                reservation(2L, 200L, T, T.plusHours(1)),
+                reservation(3L, 300L, T, T.plusHours(1)));
+        when(reservationRepo.findByStatus(ReservationStatus.ACTIVE)).thenReturn(loaded);
+        service.initIntervalIndex();
+        // Reservation 2 was cancelled by another instance; the rest are unchanged
+        when(reservationRepo.findBySlotIdInAndStatusAndEndTimeAfter(anyCollection(), eq(ReservationStatus.ACTIVE), any()))
+                .thenAnswer(call -> activeIn(call.getArgument(0), loaded.get(0), loaded.get(2)));
+
+        service.syncIntervalIndex();
+        service.syncIntervalIndex();
+        service.syncIntervalIndex();
+
+        ArgumentCaptor<Collection<Long>> slices = ArgumentCaptor.captor();
+        verify(reservationRepo, times(3)).findBySlotIdInAndStatusAndEndTimeAfter(slices.capture(), any(), any());
+        // 200 left the index in the first pass, so the third pass starts over at the lowest slot
+        assertEquals(List.of(List.of(100L, 200L), List.of(300L), List.of(100L, 300L)),
+                slices.getAllValues().stream().map(ArrayList::new).toList());
+        assertFalse(intervalIndex.overlaps(200L, T, T.plusHours(1), null));
+    }
+
+    @Test
+    void createReservation_indexMissesBooking_rejectedAndSlotResynced() {
+        Reservation other = reservation(3L, 100L, T, T.plusHours(1)); // booked by another instance
+        when(reservationRepo.lockOverlapping(100L, ReservationStatus.ACTIVE, T, T.plusHours(1), null)).thenReturn(List.of(other));
+        when(reservationRepo.findBySlotIdAndStatusAndEndTimeAfter(eq(100L), eq(ReservationStatus.ACTIVE), any())).thenReturn(List.of(other));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> service.createReservation(request(100L, T, T.plusHours(1))));
+
+        assertEquals("Slot already reserved for the selected time.", e.getMessage());
+        assertTrue(intervalIndex.overlaps(100L, T, T.plusHours(1), null));
+        verify(reservationRepo, never()).save(any());
+    }
+
+    @Test
+    void createReservation_indexHoldsStaleBooking_proceedsAndSlotResynced() {
+        intervalIndex.put(reservation(3L, 100L, T, T.plusHours(1))); // cancelled by another instance since
+        when(reservationRepo.lockOverlapping(100L, ReservationStatus.ACTIVE, T, T.plusHours(1), null)).thenReturn(List.of());
+        when(reservationRepo.findBySlotIdAndStatusAndEndTimeAfter(eq(100L), eq(ReservationStatus.ACTIVE), any())).thenReturn(List.of());
+
+        service.createReservation(request(100L, T, T.plusHours(1)));
+
+        verify(reservationRepo).save(any(Reservation.class));
+        verify(reservationRepo).findBySlotIdAndStatusAndEndTimeAfter(eq(100L), eq(ReservationStatus.ACTIVE), any());
+        verify(slotOutbox).enqueue(100L, true);
+    }
+
+    @Test
+    void createReservation_indexAgreesWithDatabase_noResync() {
+        when(reservationRepo.lockOverlapping(100L, ReservationStatus.ACTIVE, T, T.plusHours(1), null)).thenReturn(List.of());
+
+        service.createReservation(request(100L, T, T.plusHours(1)));
+
+        verify(reservationRepo, never()).findBySlotIdAndStatusAndEndTimeAfter(any(), any(), any());
+    }
+
+    @Test
+    void getReservationsPage_cursorResumesAfterLastRow() {
+        List<ReservationResponseDTO> rows = List.of(response(9L, T), response(8L, T), response(7L, T.minusHours(1)));
+        when(reservationRepo.findPage(any(), any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(rows);
+
+        ReservationPageDTO first = service.getReservationsPage(1L, 100L, ReservationStatus.ACTIVE, " 4W ", T.minusDays(1), T.plusDays(1), null, 2);
+
+        assertEquals(List.of(9L, 8L), first.getReservations().stream().map(ReservationResponseDTO::getReservationId).toList());
+        assertTrue(first.isHasMore());
+        // One extra row tells whether another page exists; filters pass through, the type trimmed
+        verify(reservationRepo).findPage(1L, 100L, ReservationStatus.ACTIVE, "4W", T.minusDays(1), T.plusDays(1),
+                null, null, Limit.of(3));
+
+        when(reservationRepo.findPage(any(), any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(List.of(rows.get(2)));
+        ReservationPageDTO second = service.getReservationsPage(1L, 100L, ReservationStatus.ACTIVE, "4W", null, null, first.getNextCursor(), 2);
+
+        verify(reservationRepo).findPage(1L, 100L, ReservationStatus.ACTIVE, "4W", null, null, T, 8L, Limit.of(3));
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void getReservationsPage_invalidCursor_rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getReservationsPage(null, null, null, null, null, null, "not-a-cursor", 10));
+        verify(reservationRepo, never()).findPage(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void completeExpiredReservations_completesClaimedAndFreesVacatedSlots() {
+        Reservation ended = reservation(1L, 100L, LocalDateTime.now().minusHours(1), LocalDateTime.now().minusMinutes(1));
+        Reservation endedToo = reservation(2L, 200L, LocalDateTime.now().minusHours(1), LocalDateTime.now().minusMinutes(1));
+        intervalIndex.put(ended);
+        intervalIndex.put(endedToo);
+        scheduleOverdue(1L);
+        scheduleOverdue(2L);
+        when(reservationRepo.lockDue(anyCollection(), eq(ReservationStatus.ACTIVE), any())).thenReturn(List.of(ended, endedToo));
+        // Slot 200 is booked again for later today
+        when(reservationRepo.findSlotsWithStatus(List.of(100L, 200L), ReservationStatus.ACTIVE)).thenReturn(List.of(200L));
+
+        service.completeExpiredReservations();
+
+        verify(reservationRepo).updateStatus(List.of(1L, 2L), ReservationStatus.COMPLETED);
+        verify(slotOutbox).enqueueAll(List.of(100L), false);
+        verify(slotOutbox, never()).enqueue(anyLong(), anyBoolean());
+        assertEquals(0, intervalIndex.size());
+        verify(eventPublisher, times(2)).publishEvent(any(ReservationReleasedEvent.class));
+    }
+
+    @Test
+    void completeExpiredReservations_claimedElsewhere_changesNothing() {
+        scheduleOverdue(1L);
+        // Another instance holds the row (SKIP LOCKED) or completed it already
+        when(reservationRepo.lockDue(anyCollection(), eq(ReservationStatus.ACTIVE), any())).thenReturn(List.of());
+
+        service.completeExpiredReservations();
+
+        verify(reservationRepo, never()).updateStatus(anyCollection(), any());
+        verifyNoInteractions(slotOutbox, eventPublisher);
+    }
+
+    @Test
+    void completeExpiredReservations_failure_retriesLater() {
+        scheduleOverdue(1L);
+        when(reservationRepo.lockDue(anyCollection(), eq(ReservationStatus.ACTIVE), any()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        service.completeExpiredReservations();
+
+        assertEquals(1, expiryWheel.size());
+    }
+
+    @Test
+    void cancelReservation_slotBookedAgain_staysOccupied() {
+        Reservation reservation = reservation(1L, 100L, T, T.plusHours(1));
+        when(reservationRepo.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepo.updateStatus(1L, ReservationStatus.ACTIVE, ReservationStatus.CANCELLED)).thenReturn(1);
+        when(reservationRepo.findSlotsWithStatus(List.of(100L), ReservationStatus.ACTIVE)).thenReturn(List.of(100L));
+
+        service.cancelReservation(1L);
+
+        verify(slotOutbox).enqueueAll(List.of(), false);
+        verify(eventPublisher).publishEvent(any(ReservationReleasedEvent.class));
+    }
+
+    @Test
+    void cancelReservation_lastBooking_freesSlot() {
+        Reservation reservation = reservation(1L, 100L, T, T.plusHours(1));
+        when(reservationRepo.findById(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepo.updateStatus(1L, ReservationStatus.ACTIVE, ReservationStatus.CANCELLED)).thenReturn(1);
+        when(reservationRepo.findSlotsWithStatus(List.of(100L), ReservationStatus.ACTIVE)).thenReturn(List.of());
+
+        service.cancelReservation(1L);
+
+        verify(slotOutbox).enqueueAll(List.of(100L), false);
+    }
+
+    // The wheel's cursor starts a few ticks back, as after startup; the overdue deadline lands on its next tick
+    private void scheduleOverdue(long reservationId) {
+        if (expiryWheel.size() == 0) {
+            expiryWheel.advance(System.currentTimeMillis() - 5_000);
+        }
+        expiryWheel.schedule(reservationId, System.currentTimeMillis() - 60_000);
+    }
+
+    @Test
+    void bulkCancel_noSelection_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.bulkCancel(new BulkReservationRequestDTO()));
+
+        BulkReservationRequestDTO backwards = new BulkReservationRequestDTO();
+        backwards.setFrom(T);
+        backwards.setTo(T.minusHours(1));
+        assertThrows(IllegalArgumentException.class, () -> service.bulkCancel(backwards));
+
+        verify(reservationRepo, never()).lockSelected(any(), anyBoolean(), any(), any(), any(), any());
+    }
+
+    @Test
+    void bulkCancel_slotWithUnselectedBooking_staysOccupied() {
+        BulkReservationRequestDTO request = new BulkReservationRequestDTO();
+        request.setUserId(7L);
+        when(reservationRepo.lockSelected(ReservationStatus.ACTIVE, true, List.of(-1L), 7L, null, null)).thenReturn(List.of(
+                reservation(1L, 100L, T, T.plusHours(1)),
+                reservation(2L, 200L, T, T.plusHours(1))));
+        // Another user still has slot 200 later on
+        when(reservationRepo.findSlotsWithStatus(List.of(100L, 200L), ReservationStatus.ACTIVE)).thenReturn(List.of(200L));
+
+        BulkReservationResultDTO result = service.bulkCancel(request);
+
+        assertEquals(2, result.getUpdated());
+        verify(reservationRepo).updateStatus(List.of(1L, 2L), ReservationStatus.CANCELLED);
+        verify(slotOutbox).enqueueAll(List.of(100L), false);
+    }
+
+    @Test
+    void bulkExtend_minutesOutOfRange_rejected() {
+        BulkReservationRequestDTO request = bySlots(List.of(100L));
+        request.setExtendMinutes(0);
+        assertThrows(IllegalArgumentException.class, () -> service.bulkExtend(request));
+        request.setExtendMinutes(24 * 60 + 1);
+        assertThrows(IllegalArgumentException.class, () -> service.bulkExtend(request));
+        verifyNoInteractions(bookingGuard);
+    }
+
+    @Test
+    void bulkExtend_overlapWithNextBooking_skipped() {
+        BulkReservationRequestDTO request = bySlots(List.of(100L, 200L));
+        request.setExtendMinutes(60);
+        Reservation blocked = reservation(1L, 100L, T, T.plusHours(1));
+        Reservation next = reservation(2L, 100L, T.plusMinutes(90), T.plusHours(3)); // not selected by the caller's filter
+        Reservation free = reservation(3L, 200L, T, T.plusHours(1));
+        when(reservationRepo.findSelectedSlots(any(), anyBoolean(), any(), any(), any(), any()))
+                .thenReturn(List.of(new Object[] { 100L, "4W" }, new Object[] { 200L, "4W" }));
+        when(reservationRepo.lockSelected(any(), anyBoolean(), any(), any(), any(), any())).thenReturn(List.of(blocked, free));
+        when(reservationRepo.lockOverlappingSlots(anyCollection(), eq(ReservationStatus.ACTIVE), any(), any()))
+                .thenReturn(List.of(blocked, next, free));
+
+        BulkReservationResultDTO result = service.bulkExtend(request);
+
+        assertEquals(2, result.getMatched());
+        assertEquals(1, result.getUpdated());
+        assertEquals(List.of(1L), result.getSkipped().stream().map(SkippedReservationDTO::getReservationId).toList());
+        verify(reservationRepo).extendEndTime(List.of(3L), 60);
+        verify(bookingGuard).bookAll(eq(Set.of(100L, 200L)), any());
+    }
+
+    @Test
+    void bulkExtend_slotBookedAfterCalendarsLocked_skipped() {
+        BulkReservationRequestDTO request = new BulkReservationRequestDTO();
+        request.setUserId(7L);
+        request.setExtendMinutes(30);
+        when(reservationRepo.findSelectedSlots(any(), anyBoolean(), any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] { 100L, "4W" }));
+        // Slot 300 gained a matching reservation between the read and the lock
+        when(reservationRepo.lockSelected(any(), anyBoolean(), any(), any(), any(), any()))
+                .thenReturn(List.of(reservation(9L, 300L, T, T.plusHours(1))));
+
+        BulkReservationResultDTO result = service.bulkExtend(request);
+
+        assertEquals(0, result.getUpdated());
+        assertEquals(9L, result.getSkipped().get(0).getReservationId());
+        verify(reservationRepo, never()).extendEndTime(anyCollection(), anyInt());
+    }
+
+    @Test
+    void bulkReassign_invalidTargets_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.bulkReassign(bySlots(List.of(100L))));
+
+        BulkReservationRequestDTO chained = new BulkReservationRequestDTO();
+        chained.setTargetSlots(Map.of(100L, 200L, 200L, 300L));
+        assertThrows(IllegalArgumentException.class, () -> service.bulkReassign(chained));
+        verifyNoInteractions(bookingGuard);
+    }
+
+    @Test
+    void bulkReassign_targetOfOtherType_skipped() {
+        BulkReservationRequestDTO request = new BulkReservationRequestDTO();
+        request.setTargetSlots(Map.of(100L, 500L));
+        when(reservationRepo.findSelectedSlots(any(), anyBoolean(), any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] { 100L, "4W" }));
+        // 500 is a 2W slot, so the 4W list does not have it
+        when(slotInventory.slotsOfType("4W")).thenReturn(List.of(slot(501L, "C1", false)));
+        when(reservationRepo.lockSelected(any(), anyBoolean(), any(), any(), any(), any()))
+                .thenReturn(List.of(reservation(1L, 100L, T, T.plusHours(1))));
+
+        BulkReservationResultDTO result = service.bulkReassign(request);
+
+        assertEquals(0, result.getUpdated());
+        assertEquals("Slot 500 is not a 4W slot", result.getSkipped().get(0).getReason());
+        verify(reservationRepo, never()).updateSlot(anyCollection(), any());
+        verifyNoInteractions(slotOutbox);
+    }
+
+    @Test
+    void bulkReassign_conflictSkipped_sourceWithSkippedBookingStaysOccupied() {
+        BulkReservationRequestDTO request = new BulkReservationRequestDTO();
+        request.setTargetSlots(Map.of(100L, 500L));
+        Reservation morning = reservation(1L, 100L, T, T.plusHours(1));
+        Reservation noon = reservation(2L, 100L, T.plusHours(2), T.plusHours(3));
+        when(reservationRepo.findSelectedSlots(any(), anyBoolean(), any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] { 100L, "4W" }));
+        when(slotInventory.slotsOfType("4W")).thenReturn(List.of(slot(500L, "C1", false)));
+        when(reservationRepo.lockSelected(any(), anyBoolean(), any(), any(), any(), any())).thenReturn(List.of(morning, noon));
+        // Slot 500 is taken around noon
+        when(reservationRepo.lockOverlappingSlots(anyCollection(), eq(ReservationStatus.ACTIVE), any(), any()))
+                .thenReturn(List.of(reservation(8L, 500L, T.plusMinutes(150), T.plusHours(4))));
+        when(reservationRepo.findSlotsWithStatus(List.of(100L), ReservationStatus.ACTIVE)).thenReturn(List.of(100L));
+
+        BulkReservationResultDTO result = service.bulkReassign(request);
+
+        assertEquals(1, result.getUpdated());
+        assertEquals(List.of(2L), result.getSkipped().stream().map(SkippedReservationDTO::getReservationId).toList());
+        verify(reservationRepo).updateSlot(List.of(1L), 500L);
+        verify(slotOutbox).enqueueAll(List.of(), false);
+        verify(slotOutbox).enqueueAll(List.of(500L), true);
+        // Source and target calendars are both locked
+        verify(bookingGuard).bookAll(eq(new TreeSet<>(List.of(100L, 500L))), any());
+        assertTrue(intervalIndex.overlaps(500L, T, T.plusHours(1), null));
+    }
+
+    private static BulkReservationRequestDTO bySlots(List<Long> slotIds) {
+        BulkReservationRequestDTO request = new BulkReservationRequestDTO();
+        request.setSlotIds(slotIds);
+        return request;
+    }
+
+    private static List<Reservation> activeIn(Collection<Long> slotIds, Reservation... active) {
+        return Arrays.stream(active).filter(r -> slotIds.contains(r.getSlotId())).toList();
+    }
+
+    private static ReservationRequestDTO request(Long slotId, LocalDateTime start, LocalDateTime end) {
+        return new ReservationRequestDTO(7L, slotId, "KA01AB1234", start, end, "4W", null);
+    }
+
+    private static ReservationResponseDTO response(Long id, LocalDateTime start) {
+        return new ReservationResponseDTO(id, 1L, 100L, "KA01AB1234", start, start.plusHours(1), ReservationStatus.ACTIVE, "4W");
+    }
+
+    private static SlotDTO slot(Long slotId, String location, boolean occupied) {
+        return new SlotDTO(slotId, location, "4W", occupied);
+    }
+
+    private static Reservation reservation(Long id, Long slotId, LocalDateTime start, LocalDateTime end) {
+        return new Reservation(id, 7L, slotId, "KA01AB1234", start, end, ReservationStatus.ACTIVE, "4W");
+    }
+}
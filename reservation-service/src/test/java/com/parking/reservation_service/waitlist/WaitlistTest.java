@@ -0,0 +1,61 @@
+package com.parking.reservation_service.waitlist;
+
+import com.parking.reservation_service.entity.WaitlistEntry;
+import com.parking.reservation_service.entity.WaitlistStatus;
+import com.parking.reservation_service.event.ReservationReleasedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+    private final Waitlist waitlist = new Waitlist();
+
+    @Test
+    void waitingFor_firstComeFirstServedPerType() {
+        waitlist.add(entry(3L, "4W", NOW.plusMinutes(2)));
+        waitlist.add(entry(1L, "4W", NOW));
+        waitlist.add(entry(2L, "2W", NOW.plusMinutes(1)));
+
+        assertEquals(List.of(1L, 3L), ids(waitlist.waitingFor("4w")));
+        assertEquals(List.of(2L), ids(waitlist.waitingFor("2W")));
+        assertEquals(2, waitlist.positionOf(3L));
+    }
+
+    @Test
+    void remove_movesQueueUp() {
+        waitlist.add(entry(1L, "4W", NOW));
+        waitlist.add(entry(2L, "4W", NOW.plusMinutes(1)));
+
+        waitlist.remove(1L);
+
+        assertEquals(1, waitlist.positionOf(2L));
+        assertEquals(0, waitlist.positionOf(1L));
+        assertEquals(1, waitlist.size());
+    }
+
+    @Test
+    void drainReleased_returnsEachSlotOnce() {
+        waitlist.onReservationReleased(new ReservationReleasedEvent(10L, 100L, "4W"));
+        waitlist.onReservationReleased(new ReservationReleasedEvent(11L, 100L, "4W"));
+        waitlist.onReservationReleased(new ReservationReleasedEvent(12L, 200L, "2W"));
+
+        assertEquals(Map.of(100L, "4W", 200L, "2W"), waitlist.drainReleased());
+        assertTrue(waitlist.drainReleased().isEmpty());
+    }
+
+    private static WaitlistEntry entry(Long id, String type, LocalDateTime createdAt) {
+        return new WaitlistEntry(id, 7L, "KA01AB1234", type, null, NOW.plusHours(1), NOW.plusHours(3),
+                WaitlistStatus.WAITING, createdAt, null);
+    }
+
+    private static List<Long> ids(List<WaitlistEntry> entries) {
+        return entries.stream().map(WaitlistEntry::getWaitlistId).toList();
+    }
+}
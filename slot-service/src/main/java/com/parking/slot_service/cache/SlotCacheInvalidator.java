@@ -0,0 +1,32 @@
+package com.parking.slot_service.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.parking.slot_service.event.SlotOccupancyChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Evicts a slot from the getSlotById cache once a change to it has committed.
+ * Every mutation (update, occupancy change, claim/release, delete, bulk update)
+ * publishes a SlotOccupancyChangedEvent, so this is the single invalidation point.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotCacheInvalidator {
+
+    public static final String SLOTS = "slots";
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotChanged(SlotOccupancyChangedEvent change) {
+        Cache cache = cacheManager.getCache(SLOTS);
+        if (cache != null) {
+            cache.evict(change.getSlotId());
+        }
+    }
+}
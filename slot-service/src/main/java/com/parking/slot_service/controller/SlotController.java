@@ -1,9 +1,18 @@
 package com.parking.slot_service.controller;
  
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,9 +24,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.slot_service.dto.SlotBulkResultDTO;
+import com.parking.slot_service.dto.SlotClaimResultDTO;
+import com.parking.slot_service.dto.SlotHistoryDTO;
+import com.parking.slot_service.dto.SlotHoldDTO;
+import com.parking.slot_service.dto.SlotIndexStatsDTO;
+import com.parking.slot_service.dto.SlotOccupancyUpdateDTO;
+import com.parking.slot_service.dto.SlotPageDTO;
 import com.parking.slot_service.dto.SlotRequestDTO;
 import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.dto.SlotSummaryDTO;
 import com.parking.slot_service.service.SlotService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +48,9 @@ import lombok.RequiredArgsConstructor;
 public class SlotController {
  
     private final SlotService slotService;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_PAGE_SIZE = 1000;
  
     // ✅ 1. Add a new parking slot [ADMIN only]
     @PostMapping
@@ -68,10 +91,14 @@ public class SlotController {
     // 4. Get all available slots [CUSTOMER only]
     @GetMapping("/available")
     @PreAuthorize("hasAnyAuthority('STAFF','CUSTOMER', 'ADMIN')")
-    public ResponseEntity<Map<String, Object>> getAvailableSlots() {
+    public ResponseEntity<Map<String, Object>> getAvailableSlots(WebRequest request) {
+        String etag = availabilityEtag();
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
         List<SlotResponseDTO> slots = slotService.getAvailableSlots();
  
-        return ResponseEntity.ok(Map.of(
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(Map.of(
             "message", "Available slots fetched",
             "slots", slots
         ));
@@ -92,13 +119,27 @@ public class SlotController {
 
 // ✅ 6. Get available slots by type (open to all)
 @GetMapping("/available/type/{type}")
-public ResponseEntity<Map<String, Object>> getAvailableSlotsByType(@PathVariable String type) {
+public ResponseEntity<Map<String, Object>> getAvailableSlotsByType(@PathVariable String type, WebRequest request) {
+    String etag = availabilityEtag();
+    if (request.checkNotModified(etag)) {
+        return notModified(etag);
+    }
     List<SlotResponseDTO> slots = slotService.getAvailableSlotsByType(type);
-    return ResponseEntity.ok(Map.of(
+    return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(Map.of(
         "message", "Available slots of type " + type + " fetched",
         "slots", slots
     ));
 }
+
+// Availability polls are answered with 304 while the occupancy version is unchanged,
+// without building or serialising the slot list
+private String availabilityEtag() {
+    return "\"" + slotService.getAvailabilityVersion() + "\"";
+}
+
+private static ResponseEntity<Map<String, Object>> notModified(String etag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+}
 @PutMapping("/slot/{slotId}")
 @PreAuthorize("hasAnyAuthority('STAFF','ADMIN')")
 public ResponseEntity<Map<String, Object>> updateSlotOccupancy(
@@ -143,6 +184,211 @@ public ResponseEntity<Map<String, Object>> getSlotById(@PathVariable Long slotId
     return ResponseEntity.ok(res);
 }
 
+// Keyset-paginated listing ordered by slotId; pass nextCursor back as "after" [ADMIN, STAFF]
+@GetMapping("/page")
+@PreAuthorize("hasAnyAuthority('ADMIN','STAFF')")
+public ResponseEntity<SlotPageDTO> getSlotsPage(
+        @RequestParam(value = "after", required = false) Long after,
+        @RequestParam(value = "limit", defaultValue = "100") int limit,
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "location", required = false) String location,
+        @RequestParam(value = "occupied", required = false) Boolean occupied) {
+    return ResponseEntity.ok(slotService.getSlotsPage(after, clampLimit(limit), type, location, occupied));
+}
+
+// Keyset-paginated available slots (open to all roles)
+@GetMapping("/available/page")
+@PreAuthorize("hasAnyAuthority('STAFF','CUSTOMER', 'ADMIN')")
+public ResponseEntity<SlotPageDTO> getAvailableSlotsPage(
+        @RequestParam(value = "after", required = false) Long after,
+        @RequestParam(value = "limit", defaultValue = "100") int limit,
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "location", required = false) String location) {
+    return ResponseEntity.ok(slotService.getSlotsPage(after, clampLimit(limit), type, location, false));
+}
+
+// NDJSON export: one slot per line, written as rows come off the JDBC cursor [ADMIN, STAFF]
+@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@PreAuthorize("hasAnyAuthority('ADMIN','STAFF')")
+public ResponseEntity<StreamingResponseBody> streamSlots(
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "location", required = false) String location,
+        @RequestParam(value = "occupied", required = false) Boolean occupied) {
+    StreamingResponseBody body = out -> {
+        try {
+            slotService.streamSlots(type, location, occupied, slot -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(slot));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+}
+
+private int clampLimit(int limit) {
+    return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+}
+
+// Bulk provisioning from a JSON array [ADMIN only]
+@PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+@PreAuthorize("hasAuthority('ADMIN')")
+public ResponseEntity<SlotBulkResultDTO> bulkAddSlots(@RequestBody List<SlotRequestDTO> requests) {
+    return ResponseEntity.ok(slotService.bulkAddSlots(requests));
+}
+
+// Bulk provisioning from a streamed CSV body (location,type) [ADMIN only]
+@PostMapping(value = "/bulk", consumes = "text/csv")
+@PreAuthorize("hasAuthority('ADMIN')")
+public ResponseEntity<SlotBulkResultDTO> bulkAddSlotsCsv(InputStream body) throws IOException {
+    return ResponseEntity.ok(slotService.bulkAddSlotsCsv(body));
+}
+
+// Bulk occupancy update: [{ "slotId": 1, "occupied": true }, ...]
+@PutMapping("/bulk/occupancy")
+@PreAuthorize("hasAnyAuthority('STAFF','ADMIN')")
+public ResponseEntity<SlotBulkResultDTO> bulkUpdateOccupancy(@RequestBody List<SlotOccupancyUpdateDTO> updates) {
+    return ResponseEntity.ok(slotService.bulkUpdateOccupancy(updates));
+}
+
+// Atomic claim: only succeeds if the slot is currently free (409 if someone else got it first)
+@PutMapping("/{slotId}/claim")
+@PreAuthorize("hasAnyAuthority('STAFF','ADMIN','CUSTOMER')")
+public ResponseEntity<SlotClaimResultDTO> claimSlot(@PathVariable Long slotId) {
+    return claimResponse(slotService.compareAndSetOccupancy(slotId, false, true));
+}
+
+// Atomic release: only succeeds if the slot is currently occupied
+@PutMapping("/{slotId}/release")
+@PreAuthorize("hasAnyAuthority('STAFF','ADMIN','CUSTOMER')")
+public ResponseEntity<SlotClaimResultDTO> releaseSlot(@PathVariable Long slotId) {
+    return claimResponse(slotService.compareAndSetOccupancy(slotId, true, false));
+}
+
+// Generic compare-and-set: expected state -> new state
+@PutMapping("/{slotId}/occupancy")
+@PreAuthorize("hasAnyAuthority('STAFF','ADMIN')")
+public ResponseEntity<SlotClaimResultDTO> compareAndSetOccupancy(
+        @PathVariable Long slotId,
+        @RequestParam("expected") boolean expected,
+        @RequestParam("occupied") boolean occupied) {
+    return claimResponse(slotService.compareAndSetOccupancy(slotId, expected, occupied));
+}
+
+// Picks and claims the nearest free slot for the vehicle type, preferring the given zone
+// (or the zone mapped to the entry gate)
+@PostMapping("/allocate")
+@PreAuthorize("hasAnyAuthority('STAFF','ADMIN','CUSTOMER')")
+public ResponseEntity<SlotClaimResultDTO> allocateSlot(
+        @RequestParam("type") String type,
+        @RequestParam(value = "zone", required = false) String zone,
+        @RequestParam(value = "gate", required = false) String gate) {
+    return ResponseEntity.ok(slotService.allocateSlot(type, zone, gate));
+}
+
+// Short-lived hold for the calling user while they finish checkout (409 if the slot is not free)
+@PostMapping("/{slotId}/hold")
+@PreAuthorize("hasAnyAuthority('STAFF','ADMIN','CUSTOMER')")
+public ResponseEntity<SlotHoldDTO> placeHold(
+        @PathVariable Long slotId,
+        @RequestParam(value = "ttlSeconds", defaultValue = "120") long ttlSeconds,
+        Principal principal) {
+    SlotHoldDTO hold = slotService.placeHold(slotId, principal.getName(), ttlSeconds);
+    return hold.isHeld()
+        ? ResponseEntity.ok(hold)
+        : ResponseEntity.status(HttpStatus.CONFLICT).body(hold);
+}
+
+// Turns the hold into a booking of slotId: the slot stays occupied and the expiry timer is dropped.
+// slotId must be the held slot; it also routes the call to the owning partition.
+@PutMapping("/holds/{holdId}/confirm")
+@PreAuthorize("hasAnyAuthority('STAFF','ADMIN','CUSTOMER')")
+public ResponseEntity<SlotHoldDTO> confirmHold(@PathVariable Long holdId,
+                                               @RequestParam("slotId") Long slotId,
+                                               Principal principal) {
+    return ResponseEntity.ok(slotService.confirmHold(holdId, slotId, principal.getName()));
+}
+
+@DeleteMapping("/holds/{holdId}")
+@PreAuthorize("hasAnyAuthority('STAFF','ADMIN','CUSTOMER')")
+public ResponseEntity<Map<String, Object>> releaseHold(@PathVariable Long holdId, Principal principal) {
+    slotService.releaseHold(holdId, principal.getName());
+    return ResponseEntity.ok(Map.of("message", "Hold released"));
+}
+
+private ResponseEntity<SlotClaimResultDTO> claimResponse(SlotClaimResultDTO result) {
+    return result.isWon()
+        ? ResponseEntity.ok(result)
+        : ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+}
+
+// Free/total counts per type and zone for signage, served from in-memory counters
+@GetMapping("/summary")
+@PreAuthorize("hasAnyAuthority('STAFF','CUSTOMER', 'ADMIN')")
+public ResponseEntity<SlotSummaryDTO> getOccupancySummary() {
+    return ResponseEntity.ok(slotService.getOccupancySummary());
+}
+
+// Recount the summary counters from the database [ADMIN only]
+@PostMapping("/summary/reconcile")
+@PreAuthorize("hasAuthority('ADMIN')")
+public ResponseEntity<Map<String, Object>> reconcileOccupancyCounters() {
+    long drift = slotService.reconcileOccupancyCounters();
+    return ResponseEntity.ok(Map.of(
+        "message", "Occupancy counters reconciled",
+        "drift", drift,
+        "summary", slotService.getOccupancySummary()
+    ));
+}
+
+// Occupancy over time per type/zone, downsampled to MINUTE or HOUR buckets
+@GetMapping("/history")
+@PreAuthorize("hasAnyAuthority('STAFF','ADMIN')")
+public ResponseEntity<SlotHistoryDTO> getOccupancyHistory(
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "zone", required = false) String zone,
+        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(value = "resolution", defaultValue = "MINUTE") String resolution) {
+    return ResponseEntity.ok(slotService.getOccupancyHistory(type, zone, from, to, resolution));
+}
+
+// Free slot count, answered from the in-memory occupancy index
+@GetMapping("/available/count")
+@PreAuthorize("hasAnyAuthority('STAFF','CUSTOMER', 'ADMIN')")
+public ResponseEntity<Map<String, Object>> countAvailableSlots(
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "zone", required = false) String zone) {
+    Map<String, Object> res = new HashMap<>();
+    res.put("type", type);
+    res.put("zone", zone);
+    res.put("available", slotService.countAvailableSlots(type, zone));
+    return ResponseEntity.ok(res);
+}
+
+// Occupancy index health; verify=true compares the index against the database
+@GetMapping("/index/stats")
+@PreAuthorize("hasAuthority('ADMIN')")
+public ResponseEntity<SlotIndexStatsDTO> getOccupancyIndexStats(
+        @RequestParam(value = "verify", defaultValue = "false") boolean verify) {
+    return ResponseEntity.ok(slotService.getOccupancyIndexStats(verify));
+}
+
+@PostMapping("/index/rebuild")
+@PreAuthorize("hasAuthority('ADMIN')")
+public ResponseEntity<Map<String, Object>> rebuildOccupancyIndex() {
+    SlotIndexStatsDTO stats = slotService.rebuildOccupancyIndex();
+    return ResponseEntity.ok(Map.of(
+        "message", "Occupancy index rebuilt",
+        "stats", stats
+    ));
+}
+
 
  
 }
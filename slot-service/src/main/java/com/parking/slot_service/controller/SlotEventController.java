@@ -0,0 +1,34 @@
+package com.parking.slot_service.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.parking.slot_service.event.SlotEventFeed;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/slots/events")
+@RequiredArgsConstructor
+public class SlotEventController {
+
+    private final SlotEventFeed eventFeed;
+
+    // Server-sent occupancy deltas, optionally filtered by type/zone.
+    // Reconnecting clients resume from the Last-Event-ID header (or ?since=).
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('STAFF','CUSTOMER', 'ADMIN')")
+    public SseEmitter subscribe(
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "zone", required = false) String zone,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventFeed.subscribe(type, zone, lastEventId != null ? lastEventId : since);
+    }
+}
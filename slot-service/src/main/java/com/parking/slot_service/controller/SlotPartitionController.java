@@ -0,0 +1,70 @@
+package com.parking.slot_service.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.partition.SlotPartition;
+import com.parking.slot_service.partition.SlotRebalancer;
+import com.parking.slot_service.service.SlotService;
+
+import lombok.RequiredArgsConstructor;
+
+// Zone ownership of this instance and rebalancing between instances [ADMIN only].
+// Send X-Slot-Instance: <instanceId> through the gateway to address a specific instance.
+@RestController
+@RequestMapping("/api/slots/partition")
+@RequiredArgsConstructor
+public class SlotPartitionController {
+
+    private final SlotPartition slotPartition;
+    private final SlotRebalancer slotRebalancer;
+    private final SlotService slotService;
+
+    @GetMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Map<String, String>> getPartition() {
+        return ResponseEntity.ok(slotPartition.metadata());
+    }
+
+    // Move a zone from its current owner to this instance
+    @PostMapping("/zones/{zone}/adopt")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Map<String, Object>> adoptZone(
+            @PathVariable String zone,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        return ResponseEntity.ok(slotRebalancer.adopt(zone, authorization));
+    }
+
+    // The steps below are called instance to instance by adopt
+    @PostMapping("/zones/{zone}/handoff")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<SlotResponseDTO>> handOffZone(@PathVariable String zone) {
+        return ResponseEntity.ok(slotService.handOffZone(zone));
+    }
+
+    @PostMapping("/zones/{zone}/reclaim")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Map<String, Object>> reclaimZone(@PathVariable String zone) {
+        slotService.reclaimZone(zone);
+        return ResponseEntity.ok(Map.of("message", "Zone reclaimed", "zone", zone));
+    }
+
+    @DeleteMapping("/zones/{zone}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Map<String, Object>> dropZone(@PathVariable String zone) {
+        int removed = slotService.dropZone(zone);
+        return ResponseEntity.ok(Map.of("message", "Zone dropped", "zone", zone, "removed", removed));
+    }
+}
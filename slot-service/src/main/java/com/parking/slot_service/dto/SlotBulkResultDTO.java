@@ -0,0 +1,28 @@
+package com.parking.slot_service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotBulkResultDTO {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<SlotBulkRowResultDTO> rows = new ArrayList<>();
+
+    public void success(int row, Long slotId) {
+        rows.add(new SlotBulkRowResultDTO(row, slotId, true, null));
+        total++;
+        succeeded++;
+    }
+
+    public void failure(int row, Long slotId, String error) {
+        rows.add(new SlotBulkRowResultDTO(row, slotId, false, error));
+        total++;
+        failed++;
+    }
+}
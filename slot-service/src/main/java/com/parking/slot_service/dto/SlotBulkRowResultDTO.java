@@ -0,0 +1,13 @@
+package com.parking.slot_service.dto;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotBulkRowResultDTO {
+    private int row;        // 1-based position in the request (data rows only for CSV)
+    private Long slotId;
+    private boolean success;
+    private String error;
+}
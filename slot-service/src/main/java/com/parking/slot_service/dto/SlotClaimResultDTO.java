@@ -0,0 +1,12 @@
+package com.parking.slot_service.dto;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotClaimResultDTO {
+    private Long slotId;
+    private boolean won;           // true if this call performed the transition
+    private SlotResponseDTO slot;  // slot state after the call
+}
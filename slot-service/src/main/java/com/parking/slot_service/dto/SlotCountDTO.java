@@ -0,0 +1,11 @@
+package com.parking.slot_service.dto;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotCountDTO {
+    private long free;
+    private long total;
+}
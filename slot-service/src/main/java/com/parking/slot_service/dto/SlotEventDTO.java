@@ -0,0 +1,19 @@
+package com.parking.slot_service.dto;
+
+import java.time.Instant;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotEventDTO {
+    private long seq;          // monotonically increasing, used as the SSE event id
+    private Long slotId;
+    private String location;
+    private String zone;
+    private String type;
+    private Boolean occupied;  // null when the slot was removed
+    private String change;     // ADDED, UPDATED or REMOVED
+    private Instant at;
+}
@@ -0,0 +1,15 @@
+package com.parking.slot_service.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotHistoryDTO {
+    private String type;
+    private String zone;
+    private String resolution;   // MINUTE or HOUR
+    private List<SlotHistoryPointDTO> points;
+}
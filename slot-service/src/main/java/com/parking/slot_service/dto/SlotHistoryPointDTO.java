@@ -0,0 +1,17 @@
+package com.parking.slot_service.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotHistoryPointDTO {
+    private LocalDateTime at;        // start of the minute/hour bucket
+    private double occupied;         // average occupied slots over the bucket
+    private long peakOccupied;       // highest occupied count in the bucket, summed over type/zone series
+    private long total;              // slots in scope at the end of the bucket
+    private double occupancyRate;    // occupied / total
+    private long transitions;        // occupancy changes recorded in the bucket
+}
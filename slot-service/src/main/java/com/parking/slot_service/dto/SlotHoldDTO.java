@@ -0,0 +1,16 @@
+package com.parking.slot_service.dto;
+
+import java.time.Instant;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotHoldDTO {
+    private Long holdId;       // null when the hold could not be placed
+    private Long slotId;
+    private String holder;
+    private Instant expiresAt;
+    private boolean held;      // false: the slot was not free
+}
@@ -0,0 +1,24 @@
+package com.parking.slot_service.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.*;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotIndexStatsDTO {
+    private long version;               // bumped on every index change
+    private int totalSlots;
+    private int freeSlots;
+    private Map<String, Integer> freeByType;
+    private Map<String, Integer> freeByZone;
+    private long updatesSinceRebuild;
+    private Instant lastRebuildAt;
+    private long lastRebuildMillis;
+    private Instant lastUpdateAt;
+    private Instant lastVerifiedAt;
+    private int lastVerifyMismatches;   // -1 until the first verification
+}
@@ -0,0 +1,14 @@
+package com.parking.slot_service.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotPageDTO {
+    private List<SlotResponseDTO> slots;
+    private Long nextCursor;   // pass as "after" to fetch the next page; null on the last page
+    private boolean hasMore;
+}
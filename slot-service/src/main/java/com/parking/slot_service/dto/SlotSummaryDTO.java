@@ -0,0 +1,14 @@
+package com.parking.slot_service.dto;
+
+import java.util.Map;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotSummaryDTO {
+    private SlotCountDTO all;
+    private Map<String, SlotCountDTO> byType;               // "2W" -> counts
+    private Map<String, Map<String, SlotCountDTO>> byZone;  // "B" -> { "4W" -> counts }
+}
@@ -11,8 +11,7 @@ import lombok.*;
 public class Slot{
  
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "slot_id")
+    @Column(name = "slot_id")  // assigned by SlotIdAllocator: zone key in the high bits
     private Long slotId;
  
     @Column(nullable = false)
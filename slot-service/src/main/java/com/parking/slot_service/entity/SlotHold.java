@@ -0,0 +1,30 @@
+package com.parking.slot_service.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// A short-lived hold on a slot; the slot is marked occupied while the hold exists.
+// Rows are only read back at startup to rebuild the expiry timers.
+@Entity
+@Table(name = "slot_holds")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "hold_id")
+    private Long holdId;
+
+    @Column(name = "slot_id", nullable = false, unique = true)
+    private Long slotId;
+
+    @Column(nullable = false)
+    private String holder;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
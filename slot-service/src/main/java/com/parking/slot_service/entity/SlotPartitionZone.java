@@ -0,0 +1,20 @@
+package com.parking.slot_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Zone ownership changes made by rebalancing; they override slot.partition.zones after a restart
+@Entity
+@Table(name = "slot_partition_zones")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotPartitionZone {
+
+    @Id
+    @Column(length = 32)
+    private String zone;
+
+    @Column(nullable = false)
+    private boolean owned;
+}
@@ -0,0 +1,170 @@
+package com.parking.slot_service.event;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.parking.slot_service.dto.SlotEventDTO;
+import com.parking.slot_service.index.SlotOccupancyIndex;
+
+/**
+ * In-process feed of committed occupancy transitions, fanned out to SSE subscribers.
+ * Recent events are kept in a ring buffer so reconnecting clients can resume from their
+ * last seen sequence number; per subscriber, changes to the same slot within one flush
+ * interval are coalesced into the latest one. Sequence numbers start from the feed's start
+ * time (in microseconds), so an id issued before a restart is never mistaken for one of
+ * this feed; a client presenting one gets a reset.
+ */
+@Component
+public class SlotEventFeed {
+
+    private static final long HEARTBEAT_MILLIS = 15_000;
+
+    private final SlotEventDTO[] ring;
+    private final long emitterTimeoutMillis;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final long firstSeq;
+    private long lastSeq;
+
+    public SlotEventFeed(@Value("${slot.events.buffer-size:4096}") int bufferSize,
+                         @Value("${slot.events.emitter-timeout-millis:1800000}") long emitterTimeoutMillis) {
+        this.ring = new SlotEventDTO[bufferSize];
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.lastSeq = System.currentTimeMillis() * 1000;
+        this.firstSeq = lastSeq + 1;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotChanged(SlotOccupancyChangedEvent change) {
+        if (!change.isTransition()) {
+            return;
+        }
+        String kind = change.getPrevious() == null ? "ADDED" : change.getCurrent() == null ? "REMOVED" : "UPDATED";
+        synchronized (this) {
+            SlotEventDTO event = new SlotEventDTO(++lastSeq, change.getSlotId(), change.getLocation(),
+                    SlotOccupancyIndex.zoneOf(change.getLocation()), normalize(change.getType()),
+                    change.getCurrent(), kind, Instant.now());
+            ring[(int) (event.getSeq() % ring.length)] = event;
+            // Fan-out under the same lock as replay so a new subscriber never misses or repeats an event
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    public SseEmitter subscribe(String type, String zone, Long lastEventId) {
+        return subscribe(type, zone, lastEventId, new SseEmitter(emitterTimeoutMillis));
+    }
+
+    SseEmitter subscribe(String type, String zone, Long lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, normalize(type), normalize(zone));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null && lastEventId != lastSeq) {
+                long oldest = Math.max(firstSeq, lastSeq - ring.length + 1);
+                if (lastEventId > lastSeq || lastEventId + 1 < oldest) {
+                    // Too far behind, or an id from before a restart: the client has to reload a snapshot
+                    subscriber.resetRequired = true;
+                } else {
+                    for (long seq = lastEventId + 1; seq <= lastSeq; seq++) {
+                        subscriber.offer(ring[(int) (seq % ring.length)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Scheduled(fixedDelayString = "${slot.events.coalesce-millis:250}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.flush(now, getLastSeq());
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final String type;
+        private final String zone;
+        private final Map<Long, SlotEventDTO> pending = new LinkedHashMap<>();
+        private volatile boolean resetRequired;
+        private long lastSentAt = System.currentTimeMillis();
+
+        private Subscriber(SseEmitter emitter, String type, String zone) {
+            this.emitter = emitter;
+            this.type = type;
+            this.zone = zone;
+        }
+
+        private void offer(SlotEventDTO event) {
+            if ((type != null && !type.equals(event.getType())) || (zone != null && !zone.equals(event.getZone()))) {
+                return;
+            }
+            synchronized (pending) {
+                pending.remove(event.getSlotId()); // keep the map ordered by latest change
+                pending.put(event.getSlotId(), event);
+            }
+        }
+
+        private void flush(long now, long latestSeq) throws IOException {
+            if (resetRequired) {
+                resetRequired = false;
+                emitter.send(SseEmitter.event().name("reset").id(Long.toString(latestSeq))
+                        .data(Map.of("latestSeq", latestSeq), MediaType.APPLICATION_JSON));
+                lastSentAt = now;
+            }
+            List<SlotEventDTO> batch;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    batch = null;
+                } else {
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                }
+            }
+            if (batch != null) {
+                long seq = batch.stream().mapToLong(SlotEventDTO::getSeq).max().getAsLong();
+                emitter.send(SseEmitter.event().name("occupancy").id(Long.toString(seq))
+                        .data(batch, MediaType.APPLICATION_JSON));
+                lastSentAt = now;
+            } else if (now - lastSentAt >= HEARTBEAT_MILLIS) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                lastSentAt = now;
+            }
+        }
+    }
+}
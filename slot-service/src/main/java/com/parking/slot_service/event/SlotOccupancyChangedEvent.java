@@ -0,0 +1,25 @@
+package com.parking.slot_service.event;
+
+import java.util.Objects;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published by SlotServiceImpl for every slot write. Listeners should use
+// @TransactionalEventListener so they only see committed changes.
+// previous is null for a new slot, current is null for a deleted one.
+@Getter
+@ToString
+@AllArgsConstructor
+public class SlotOccupancyChangedEvent {
+    private final Long slotId;
+    private final String location;
+    private final String type;
+    private final Boolean previous;
+    private final Boolean current;
+
+    public boolean isTransition() {
+        return !Objects.equals(previous, current);
+    }
+}
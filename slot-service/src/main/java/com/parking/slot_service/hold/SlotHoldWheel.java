@@ -0,0 +1,85 @@
+package com.parking.slot_service.hold;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hashed timing wheel for slot hold expiry. A hold is hashed into the bucket of its
+ * deadline tick; every tick only looks at one bucket, so expiring holds never needs a
+ * scan over all holds or a query against slot_holds. Holds due in a later revolution
+ * stay in their bucket until their deadline has actually passed.
+ */
+@Component
+public class SlotHoldWheel {
+
+    private final long tickMillis;
+    private final List<Set<Long>> buckets;
+    private final Map<Long, Timeout> timeouts = new HashMap<>();
+    private long lastTick = -1;
+
+    public SlotHoldWheel(@Value("${slot.holds.tick-millis:1000}") long tickMillis,
+                         @Value("${slot.holds.wheel-size:512}") int wheelSize) {
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new HashSet<>());
+        }
+    }
+
+    public synchronized void schedule(long holdId, long slotId, long deadlineMillis) {
+        cancel(holdId);
+        // Deadlines already behind the cursor (e.g. recovered after a restart) go into the next tick
+        long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, lastTick + 1);
+        Timeout timeout = new Timeout(holdId, slotId, deadlineMillis, index(tick));
+        buckets.get(timeout.bucket).add(holdId);
+        timeouts.put(holdId, timeout);
+    }
+
+    public synchronized void cancel(long holdId) {
+        Timeout timeout = timeouts.remove(holdId);
+        if (timeout != null) {
+            buckets.get(timeout.bucket).remove(holdId);
+        }
+    }
+
+    // Moves the cursor up to the current tick and returns the holds whose deadline has passed
+    public synchronized List<Timeout> advance(long now) {
+        long currentTick = now / tickMillis;
+        if (lastTick < 0) {
+            lastTick = currentTick - 1;
+        }
+        List<Timeout> due = new ArrayList<>();
+        for (long tick = Math.max(lastTick + 1, currentTick - buckets.size() + 1); tick <= currentTick; tick++) {
+            Iterator<Long> it = buckets.get(index(tick)).iterator();
+            while (it.hasNext()) {
+                Timeout timeout = timeouts.get(it.next());
+                if (timeout.deadlineMillis <= now) {
+                    it.remove();
+                    timeouts.remove(timeout.holdId);
+                    due.add(timeout);
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, currentTick);
+        return due;
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    private int index(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.size());
+    }
+
+    public record Timeout(long holdId, long slotId, long deadlineMillis, int bucket) {
+    }
+}
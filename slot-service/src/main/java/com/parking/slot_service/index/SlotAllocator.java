@@ -0,0 +1,151 @@
+package com.parking.slot_service.index;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.event.SlotOccupancyChangedEvent;
+import com.parking.slot_service.repository.SlotCursorRepository;
+
+/**
+ * Free slots per type, grouped by zone and ordered by the number in their location code
+ * ("B3" comes before "B12"). Picking the best slot for a preferred zone is a couple of
+ * sorted-map lookups, independent of how many slots the lot has.
+ */
+@Component
+public class SlotAllocator {
+
+    private static final Comparator<Candidate> ORDER =
+            Comparator.comparingInt(Candidate::number).thenComparingLong(Candidate::slotId);
+
+    private final SlotCursorRepository slotCursorRepository;
+    private final Map<String, String> gateZones;
+
+    // type -> zone -> free slots
+    private final Map<String, NavigableMap<String, NavigableSet<Candidate>>> free = new HashMap<>();
+    private final Map<Long, Candidate> freeById = new HashMap<>();
+
+    public SlotAllocator(SlotCursorRepository slotCursorRepository,
+                         @Value("#{${slot.allocator.gate-zones:{:}}}") Map<String, String> gateZones) {
+        this.slotCursorRepository = slotCursorRepository;
+        this.gateZones = new HashMap<>();
+        gateZones.forEach((gate, zone) -> this.gateZones.put(SlotOccupancyIndex.normalize(gate), SlotOccupancyIndex.normalize(zone)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        free.clear();
+        freeById.clear();
+        slotCursorRepository.forEachSlot(null, null, false, slot -> add(candidateOf(slot.getSlotId(), slot.getLocation(), slot.getType())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSlotChanged(SlotOccupancyChangedEvent change) {
+        if (Boolean.FALSE.equals(change.getCurrent())) {
+            remove(change.getSlotId());
+            add(candidateOf(change.getSlotId(), change.getLocation(), change.getType()));
+        } else {
+            remove(change.getSlotId());
+        }
+    }
+
+    // Removes and returns the best free slot of the given type: lowest number in the preferred zone,
+    // otherwise the nearest zone on either side of it (by letter distance). The caller must claim it.
+    public synchronized Optional<SlotResponseDTO> poll(String type, String preferredZone) {
+        NavigableMap<String, NavigableSet<Candidate>> zones = free.get(SlotOccupancyIndex.normalize(type));
+        if (zones == null || zones.isEmpty()) {
+            return Optional.empty();
+        }
+        String zone = nearestZone(zones, SlotOccupancyIndex.normalize(preferredZone));
+        Candidate best = zones.get(zone).first();
+        remove(best.slotId());
+        return Optional.of(new SlotResponseDTO(best.slotId(), best.location(), best.type(), false));
+    }
+
+    // Puts a polled slot back, e.g. when the transaction that was going to claim it rolled back
+    public synchronized void restore(SlotResponseDTO slot) {
+        add(candidateOf(slot.getSlotId(), slot.getLocation(), slot.getType()));
+    }
+
+    public String zoneForGate(String gate) {
+        return gate == null ? null : gateZones.get(SlotOccupancyIndex.normalize(gate));
+    }
+
+    private static String nearestZone(NavigableMap<String, NavigableSet<Candidate>> zones, String preferred) {
+        if (preferred == null || preferred.isEmpty()) {
+            return zones.firstKey();
+        }
+        String above = zones.ceilingKey(preferred);
+        String below = zones.lowerKey(preferred);
+        if (above == null) {
+            return below;
+        }
+        if (below == null || preferred.equals(above)) {
+            return above;
+        }
+        return distance(above, preferred) <= distance(preferred, below) ? above : below;
+    }
+
+    private static int distance(String a, String b) {
+        return Math.abs((a.isEmpty() ? 0 : a.charAt(0)) - (b.isEmpty() ? 0 : b.charAt(0)));
+    }
+
+    private void add(Candidate candidate) {
+        free.computeIfAbsent(candidate.type(), t -> new TreeMap<>())
+                .computeIfAbsent(candidate.zone(), z -> new TreeSet<>(ORDER))
+                .add(candidate);
+        freeById.put(candidate.slotId(), candidate);
+    }
+
+    private void remove(Long slotId) {
+        Candidate candidate = freeById.remove(slotId);
+        if (candidate == null) {
+            return;
+        }
+        NavigableMap<String, NavigableSet<Candidate>> zones = free.get(candidate.type());
+        NavigableSet<Candidate> slots = zones.get(candidate.zone());
+        slots.remove(candidate);
+        if (slots.isEmpty()) {
+            zones.remove(candidate.zone()); // keep only zones with free slots so lookups stay O(log zones)
+        }
+    }
+
+    private static Candidate candidateOf(Long slotId, String location, String type) {
+        return new Candidate(slotId, location, SlotOccupancyIndex.normalize(type),
+                SlotOccupancyIndex.zoneOf(location), numberOf(location));
+    }
+
+    // Trailing number of a location code ("B12" -> 12); 0 when there is none
+    private static int numberOf(String location) {
+        if (location == null) {
+            return 0;
+        }
+        int start = location.length();
+        while (start > 0 && Character.isDigit(location.charAt(start - 1))) {
+            start--;
+        }
+        if (start == location.length()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(location.substring(start));
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private record Candidate(long slotId, String location, String type, String zone, int number) {
+    }
+}
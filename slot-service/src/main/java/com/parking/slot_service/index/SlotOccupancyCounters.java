@@ -0,0 +1,153 @@
+package com.parking.slot_service.index;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.parking.slot_service.dto.SlotCountDTO;
+import com.parking.slot_service.dto.SlotSummaryDTO;
+import com.parking.slot_service.event.SlotOccupancyChangedEvent;
+import com.parking.slot_service.repository.SlotCursorRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Free/total slot counters per (type, zone), kept in striped LongAdders and updated on every
+ * committed slot change. The assembled summary is cached until the next change, so signage
+ * polling is answered without touching the database or walking any slot list.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotOccupancyCounters {
+
+    private final SlotCursorRepository slotCursorRepository;
+
+    private volatile Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        reconcile();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotChanged(SlotOccupancyChangedEvent change) {
+        if (!change.isTransition()) {
+            return;
+        }
+        Bucket bucket = buckets.computeIfAbsent(key(change.getType(), change.getLocation()),
+                k -> new Bucket(SlotOccupancyIndex.normalize(change.getType()), SlotOccupancyIndex.zoneOf(change.getLocation())));
+        if (change.getPrevious() == null) {
+            bucket.total.increment();
+        } else if (!change.getPrevious()) {
+            bucket.free.decrement();
+        }
+        if (change.getCurrent() == null) {
+            bucket.total.decrement();
+        } else if (!change.getCurrent()) {
+            bucket.free.increment();
+        }
+        changes.incrementAndGet();
+    }
+
+    public SlotSummaryDTO summary() {
+        long version = changes.get();
+        Snapshot current = snapshot;
+        if (current != null && current.version == version) {
+            return current.summary;
+        }
+        // Built after reading the version, so it is never older than the version it is tagged with
+        SlotSummaryDTO summary = buildSummary(buckets);
+        snapshot = new Snapshot(version, summary);
+        return summary;
+    }
+
+    // Recounts from the database and swaps the counters in; returns how many slots the old counters were off by
+    public long reconcile() {
+        Map<String, Bucket> fresh = new ConcurrentHashMap<>();
+        slotCursorRepository.forEachSlot(null, null, null, slot -> {
+            Bucket bucket = fresh.computeIfAbsent(key(slot.getType(), slot.getLocation()),
+                    k -> new Bucket(SlotOccupancyIndex.normalize(slot.getType()), SlotOccupancyIndex.zoneOf(slot.getLocation())));
+            bucket.total.increment();
+            if (!slot.isOccupied()) {
+                bucket.free.increment();
+            }
+        });
+
+        long drift = 0;
+        Map<String, Bucket> old = buckets;
+        for (String key : union(old, fresh)) {
+            Bucket before = old.get(key);
+            Bucket after = fresh.get(key);
+            drift += Math.abs(sum(before, true) - sum(after, true)) + Math.abs(sum(before, false) - sum(after, false));
+        }
+        buckets = fresh;
+        changes.incrementAndGet();
+        return drift;
+    }
+
+    private static SlotSummaryDTO buildSummary(Map<String, Bucket> buckets) {
+        long allFree = 0;
+        long allTotal = 0;
+        Map<String, SlotCountDTO> byType = new TreeMap<>();
+        Map<String, Map<String, SlotCountDTO>> byZone = new TreeMap<>();
+        for (Bucket bucket : buckets.values()) {
+            long free = bucket.free.sum();
+            long total = bucket.total.sum();
+            allFree += free;
+            allTotal += total;
+            add(byType.computeIfAbsent(bucket.type, t -> new SlotCountDTO()), free, total);
+            add(byZone.computeIfAbsent(bucket.zone, z -> new TreeMap<>())
+                    .computeIfAbsent(bucket.type, t -> new SlotCountDTO()), free, total);
+        }
+        return new SlotSummaryDTO(new SlotCountDTO(allFree, allTotal), byType, byZone);
+    }
+
+    private static void add(SlotCountDTO counts, long free, long total) {
+        counts.setFree(counts.getFree() + free);
+        counts.setTotal(counts.getTotal() + total);
+    }
+
+    private static Set<String> union(Map<String, Bucket> a, Map<String, Bucket> b) {
+        Set<String> keys = new HashSet<>(a.keySet());
+        keys.addAll(b.keySet());
+        return keys;
+    }
+
+    private static long sum(Bucket bucket, boolean free) {
+        if (bucket == null) {
+            return 0;
+        }
+        return free ? bucket.free.sum() : bucket.total.sum();
+    }
+
+    private static String key(String type, String location) {
+        return Objects.toString(SlotOccupancyIndex.normalize(type)) + "|" + SlotOccupancyIndex.zoneOf(location);
+    }
+
+    private record Snapshot(long version, SlotSummaryDTO summary) {
+    }
+
+    private static final class Bucket {
+        private final String type;
+        private final String zone;
+        private final LongAdder free = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        private Bucket(String type, String zone) {
+            this.type = type;
+            this.zone = zone;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.parking.slot_service.index;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.parking.slot_service.dto.SlotHistoryDTO;
+import com.parking.slot_service.dto.SlotHistoryPointDTO;
+import com.parking.slot_service.event.SlotOccupancyChangedEvent;
+import com.parking.slot_service.repository.SlotCursorRepository;
+
+/**
+ * Per-minute occupancy history for every (type, zone), kept in fixed-size primitive ring
+ * buffers. Each committed transition only adjusts the current minute's bucket, so recording
+ * is O(1) and allocation-free; minutes without changes carry the previous level forward.
+ * Older minutes fall off the ring once the retention window is exceeded.
+ */
+@Component
+public class SlotOccupancyHistory {
+
+    private static final long MINUTE_MILLIS = 60_000;
+
+    private final SlotCursorRepository slotCursorRepository;
+    private final int retentionMinutes;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    public SlotOccupancyHistory(SlotCursorRepository slotCursorRepository,
+                                @Value("${slot.history.retention-minutes:10080}") int retentionMinutes) {
+        this.slotCursorRepository = slotCursorRepository;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        seed(System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotChanged(SlotOccupancyChangedEvent change) {
+        record(change, System.currentTimeMillis());
+    }
+
+    public SlotHistoryDTO query(String type, String zone, LocalDateTime from, LocalDateTime to, String resolution) {
+        return query(type, zone, from, to, resolution, System.currentTimeMillis());
+    }
+
+    // Starting levels per series, so the first minutes after startup have a baseline
+    void seed(long now) {
+        Map<String, int[]> counts = new HashMap<>();
+        slotCursorRepository.forEachSlot(null, null, null, slot -> {
+            int[] c = counts.computeIfAbsent(key(slot.getType(), slot.getLocation()), k -> new int[2]);
+            c[0] += slot.isOccupied() ? 1 : 0;
+            c[1]++;
+        });
+        counts.forEach((key, c) -> seriesFor(key).apply(minuteOf(now), c[0], c[1], false));
+    }
+
+    void record(SlotOccupancyChangedEvent change, long now) {
+        if (!change.isTransition()) {
+            return;
+        }
+        int occupiedDelta = (Boolean.TRUE.equals(change.getCurrent()) ? 1 : 0) - (Boolean.TRUE.equals(change.getPrevious()) ? 1 : 0);
+        int totalDelta = (change.getCurrent() != null ? 1 : 0) - (change.getPrevious() != null ? 1 : 0);
+        seriesFor(key(change.getType(), change.getLocation())).apply(minuteOf(now), occupiedDelta, totalDelta, true);
+    }
+
+    SlotHistoryDTO query(String type, String zone, LocalDateTime from, LocalDateTime to, String resolution, long now) {
+        int step = stepOf(resolution);
+        long nowMinute = minuteOf(now);
+        long toMinute = to == null ? nowMinute : Math.min(minuteOf(toMillis(to)), nowMinute);
+        long fromMinute = from == null ? toMinute - (step == 1 ? 59 : 24 * 60 - 1) : minuteOf(toMillis(from));
+        fromMinute = Math.max(fromMinute, nowMinute - retentionMinutes + 1);
+
+        String typeFilter = SlotOccupancyIndex.normalize(type);
+        String zoneFilter = SlotOccupancyIndex.normalize(zone);
+        List<SlotHistoryPointDTO> points = new ArrayList<>();
+        if (fromMinute <= toMinute) {
+            // Sum all matching series minute by minute, then downsample
+            Window window = new Window(fromMinute, (int) (toMinute - fromMinute + 1));
+            for (Series s : series.values()) {
+                if ((typeFilter == null || typeFilter.equals(s.type)) && (zoneFilter == null || zoneFilter.equals(s.zone))) {
+                    s.readInto(window, nowMinute);
+                }
+            }
+            downsample(window, step, points);
+        }
+        return new SlotHistoryDTO(typeFilter, zoneFilter, step == 1 ? "MINUTE" : "HOUR", points);
+    }
+
+    private static void downsample(Window window, int step, List<SlotHistoryPointDTO> points) {
+        int i = 0;
+        while (i < window.length) {
+            long minute = window.fromMinute + i;
+            // Hours are aligned to local time, which is not always a whole-hour offset from UTC
+            long bucketStart = step == 1 ? minute : minuteOf(toMillis(toLocal(minute).truncatedTo(ChronoUnit.HOURS)));
+            long occupiedSum = 0;
+            long peak = 0;
+            long total = 0;
+            long transitions = 0;
+            int minutes = 0;
+            for (; i < window.length && window.fromMinute + i < bucketStart + step; i++) {
+                if (!window.present[i]) {
+                    continue;
+                }
+                occupiedSum += window.occupied[i];
+                peak = Math.max(peak, window.peak[i]);
+                total = window.total[i];
+                transitions += window.transitions[i];
+                minutes++;
+            }
+            if (minutes > 0) {
+                double occupied = (double) occupiedSum / minutes;
+                points.add(new SlotHistoryPointDTO(toLocal(bucketStart), occupied, peak, total,
+                        total == 0 ? 0 : occupied / total, transitions));
+            }
+        }
+    }
+
+    private Series seriesFor(String key) {
+        return series.computeIfAbsent(key, k -> {
+            int split = k.indexOf('|');
+            return new Series(k.substring(0, split), k.substring(split + 1), retentionMinutes);
+        });
+    }
+
+    private static int stepOf(String resolution) {
+        if (resolution == null || "MINUTE".equalsIgnoreCase(resolution)) {
+            return 1;
+        }
+        if ("HOUR".equalsIgnoreCase(resolution)) {
+            return 60;
+        }
+        throw new IllegalArgumentException("Invalid resolution. Only 'MINUTE' or 'HOUR' allowed.");
+    }
+
+    private static String key(String type, String location) {
+        return SlotOccupancyIndex.normalize(type) + "|" + SlotOccupancyIndex.zoneOf(location);
+    }
+
+    private static long minuteOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, MINUTE_MILLIS);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocal(long minute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(minute * MINUTE_MILLIS), ZoneId.systemDefault());
+    }
+
+    // Per-minute sums over all series in a query
+    private static final class Window {
+        private final long fromMinute;
+        private final int length;
+        private final boolean[] present;
+        private final long[] occupied;
+        private final long[] peak;
+        private final long[] total;
+        private final long[] transitions;
+
+        private Window(long fromMinute, int length) {
+            this.fromMinute = fromMinute;
+            this.length = length;
+            this.present = new boolean[length];
+            this.occupied = new long[length];
+            this.peak = new long[length];
+            this.total = new long[length];
+            this.transitions = new long[length];
+        }
+    }
+
+    private static final class Series {
+        private final String type;
+        private final String zone;
+        private final int capacity;
+
+        // ring of minute buckets, slot = minute % capacity
+        private final long[] minutes;
+        private final int[] occupied;   // level at the end of the minute
+        private final int[] peak;
+        private final int[] total;
+        private final int[] transitions;
+
+        private long lastMinute = -1;
+        private int currentOccupied;
+        private int currentTotal;
+
+        private Series(String type, String zone, int capacity) {
+            this.type = type;
+            this.zone = zone;
+            this.capacity = capacity;
+            this.minutes = new long[capacity];
+            this.occupied = new int[capacity];
+            this.peak = new int[capacity];
+            this.total = new int[capacity];
+            this.transitions = new int[capacity];
+        }
+
+        private synchronized void apply(long minute, int occupiedDelta, int totalDelta, boolean transition) {
+            advance(minute);
+            currentOccupied += occupiedDelta;
+            currentTotal += totalDelta;
+            // A late event (clock skew between threads) lands in the newest bucket
+            int i = index(lastMinute);
+            occupied[i] = currentOccupied;
+            total[i] = currentTotal;
+            peak[i] = Math.max(peak[i], currentOccupied);
+            if (transition) {
+                transitions[i]++;
+            }
+        }
+
+        private synchronized void readInto(Window window, long nowMinute) {
+            advance(nowMinute);
+            for (int k = 0; k < window.length; k++) {
+                long minute = window.fromMinute + k;
+                int i = index(minute);
+                if (minutes[i] != minute || minute > lastMinute) {
+                    continue;
+                }
+                window.present[k] = true;
+                window.occupied[k] += occupied[i];
+                window.peak[k] += peak[i];
+                window.total[k] += total[i];
+                window.transitions[k] += transitions[i];
+            }
+        }
+
+        // Opens buckets up to the given minute, carrying the current level forward
+        private void advance(long minute) {
+            if (lastMinute < 0) {
+                lastMinute = minute - 1;
+            }
+            if (minute <= lastMinute) {
+                return;
+            }
+            for (long m = Math.max(lastMinute + 1, minute - capacity + 1); m <= minute; m++) {
+                int i = index(m);
+                minutes[i] = m;
+                occupied[i] = currentOccupied;
+                peak[i] = currentOccupied;
+                total[i] = currentTotal;
+                transitions[i] = 0;
+            }
+            lastMinute = minute;
+        }
+
+        private int index(long minute) {
+            return (int) Math.floorMod(minute, (long) capacity);
+        }
+    }
+}
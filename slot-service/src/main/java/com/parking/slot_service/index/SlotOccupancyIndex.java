@@ -0,0 +1,348 @@
+package com.parking.slot_service.index;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.parking.slot_service.dto.SlotIndexStatsDTO;
+import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.entity.Slot;
+
+/**
+ * In-memory occupancy index over all parking slots.
+ * Every slot gets a dense ordinal; occupancy is kept as bitsets per type ("2W"/"4W")
+ * and per zone (the letter prefix of the location, e.g. "B" for "B12"), so availability
+ * lookups and counts never go to the database.
+ */
+@Component
+public class SlotOccupancyIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ordinal -> slot attributes
+    private long[] slotIds = new long[INITIAL_CAPACITY];
+    private String[] locations = new String[INITIAL_CAPACITY];
+    private String[] types = new String[INITIAL_CAPACITY];
+    private int nextOrdinal;
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet free = new BitSet();
+    private final Map<String, BitSet> byType = new HashMap<>();
+    private final Map<String, BitSet> byZone = new HashMap<>();
+
+    // staleness / consistency bookkeeping
+    private long version;
+    private long updatesSinceRebuild;
+    private Instant lastRebuildAt;
+    private long lastRebuildMillis;
+    private Instant lastUpdateAt;
+    private volatile Instant lastVerifiedAt;
+    private volatile int lastVerifyMismatches = -1;
+
+    // Rebuilds the index from the given loader while holding the write lock, so no
+    // post-commit update can slip in between the database read and the swap.
+    public void rebuild(Supplier<List<Slot>> loader) {
+        lock.writeLock().lock();
+        try {
+            long started = System.currentTimeMillis();
+            List<Slot> slots = new ArrayList<>(loader.get());
+            slots.sort(Comparator.comparing(Slot::getSlotId));
+
+            int capacity = Math.max(INITIAL_CAPACITY, slots.size());
+            slotIds = new long[capacity];
+            locations = new String[capacity];
+            types = new String[capacity];
+            nextOrdinal = 0;
+            ordinals.clear();
+            free.clear();
+            byType.clear();
+            byZone.clear();
+
+            for (Slot slot : slots) {
+                insert(slot);
+            }
+
+            version++;
+            updatesSinceRebuild = 0;
+            lastRebuildAt = Instant.now();
+            lastRebuildMillis = System.currentTimeMillis() - started;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(Slot slot) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(slot.getSlotId());
+            if (ordinal == null) {
+                insert(slot);
+            } else {
+                unlink(ordinal);
+                link(ordinal, slot);
+            }
+            touch();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsertAll(List<Slot> slots) {
+        lock.writeLock().lock();
+        try {
+            for (Slot slot : slots) {
+                upsert(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Flips occupancy of an already indexed slot; unknown ids are left for the next rebuild.
+    public void setOccupied(Long slotId, boolean occupied) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(slotId);
+            if (ordinal != null) {
+                free.set(ordinal, !occupied);
+                touch();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Bumped on every change and rebuild; clients use it to tell whether availability changed
+    public long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<SlotResponseDTO> get(Long slotId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(slotId);
+            if (ordinal == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new SlotResponseDTO(slotIds[ordinal], locations[ordinal], types[ordinal], !free.get(ordinal)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void remove(Long slotId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(slotId);
+            if (ordinal != null) {
+                unlink(ordinal);
+                locations[ordinal] = null;
+                types[ordinal] = null;
+                touch();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SlotResponseDTO> availableSlots() {
+        return collectFree(null, null);
+    }
+
+    public List<SlotResponseDTO> availableSlotsByType(String type) {
+        return collectFree(normalize(type), null);
+    }
+
+    public List<SlotResponseDTO> availableSlots(String type, String zone) {
+        return collectFree(normalize(type), normalize(zone));
+    }
+
+    public int countAvailable(String type, String zone) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = freeMatching(normalize(type), normalize(zone));
+            return matches == null ? 0 : matches.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Compares the index against a fresh database snapshot and returns the number of
+    // slots that are missing, extra or disagree on occupancy/type/location.
+    public int verify(List<Slot> slots) {
+        lock.readLock().lock();
+        try {
+            int mismatches = 0;
+            Set<Long> seen = new HashSet<>();
+            for (Slot slot : slots) {
+                seen.add(slot.getSlotId());
+                Integer ordinal = ordinals.get(slot.getSlotId());
+                if (ordinal == null
+                        || free.get(ordinal) == slot.isOccupied()
+                        || !normalize(slot.getType()).equals(types[ordinal])
+                        || !slot.getLocation().equals(locations[ordinal])) {
+                    mismatches++;
+                }
+            }
+            for (Long slotId : ordinals.keySet()) {
+                if (!seen.contains(slotId)) {
+                    mismatches++;
+                }
+            }
+            lastVerifiedAt = Instant.now();
+            lastVerifyMismatches = mismatches;
+            return mismatches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SlotIndexStatsDTO stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> freeByType = new HashMap<>();
+            byType.forEach((type, bits) -> freeByType.put(type, intersectCount(bits, free)));
+            Map<String, Integer> freeByZone = new HashMap<>();
+            byZone.forEach((zone, bits) -> freeByZone.put(zone, intersectCount(bits, free)));
+
+            return SlotIndexStatsDTO.builder()
+                    .version(version)
+                    .totalSlots(ordinals.size())
+                    .freeSlots(free.cardinality())
+                    .freeByType(freeByType)
+                    .freeByZone(freeByZone)
+                    .updatesSinceRebuild(updatesSinceRebuild)
+                    .lastRebuildAt(lastRebuildAt)
+                    .lastRebuildMillis(lastRebuildMillis)
+                    .lastUpdateAt(lastUpdateAt)
+                    .lastVerifiedAt(lastVerifiedAt)
+                    .lastVerifyMismatches(lastVerifyMismatches)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Zone of a location code: its leading non-digit characters ("B12" -> "B").
+    public static String zoneOf(String location) {
+        if (location == null) {
+            return "";
+        }
+        int end = 0;
+        while (end < location.length() && !Character.isDigit(location.charAt(end))) {
+            end++;
+        }
+        return normalize(end == 0 ? location : location.substring(0, end));
+    }
+
+    private List<SlotResponseDTO> collectFree(String type, String zone) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = freeMatching(type, zone);
+            if (matches == null) {
+                return new ArrayList<>();
+            }
+            List<SlotResponseDTO> result = new ArrayList<>(matches.cardinality());
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                result.add(new SlotResponseDTO(slotIds[i], locations[i], types[i], false));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller must hold the read lock. Returns null when a filter matches nothing.
+    private BitSet freeMatching(String type, String zone) {
+        BitSet matches = (BitSet) free.clone();
+        if (type != null) {
+            BitSet typeBits = byType.get(type);
+            if (typeBits == null) {
+                return null;
+            }
+            matches.and(typeBits);
+        }
+        if (zone != null) {
+            BitSet zoneBits = byZone.get(zone);
+            if (zoneBits == null) {
+                return null;
+            }
+            matches.and(zoneBits);
+        }
+        return matches;
+    }
+
+    private void insert(Slot slot) {
+        int ordinal = nextOrdinal++;
+        ensureCapacity(ordinal + 1);
+        slotIds[ordinal] = slot.getSlotId();
+        ordinals.put(slot.getSlotId(), ordinal);
+        link(ordinal, slot);
+    }
+
+    private void link(int ordinal, Slot slot) {
+        String type = normalize(slot.getType());
+        types[ordinal] = type;
+        locations[ordinal] = slot.getLocation();
+        byType.computeIfAbsent(type, t -> new BitSet()).set(ordinal);
+        byZone.computeIfAbsent(zoneOf(slot.getLocation()), z -> new BitSet()).set(ordinal);
+        free.set(ordinal, !slot.isOccupied());
+    }
+
+    private void unlink(int ordinal) {
+        BitSet typeBits = byType.get(types[ordinal]);
+        if (typeBits != null) {
+            typeBits.clear(ordinal);
+        }
+        BitSet zoneBits = byZone.get(zoneOf(locations[ordinal]));
+        if (zoneBits != null) {
+            zoneBits.clear(ordinal);
+        }
+        free.clear(ordinal);
+    }
+
+    private void touch() {
+        version++;
+        updatesSinceRebuild++;
+        lastUpdateAt = Instant.now();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > slotIds.length) {
+            int capacity = Math.max(required, slotIds.length * 2);
+            slotIds = Arrays.copyOf(slotIds, capacity);
+            locations = Arrays.copyOf(locations, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+    }
+
+    private static int intersectCount(BitSet a, BitSet b) {
+        BitSet copy = (BitSet) a.clone();
+        copy.and(b);
+        return copy.cardinality();
+    }
+
+    public static String normalize(String value) {
+        return value == null ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,41 @@
+package com.parking.slot_service.partition;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// Hands out zone-keyed slot ids; each zone's sequence is seeded from the highest id already stored
+@Component
+@RequiredArgsConstructor
+public class SlotIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Integer, AtomicLong> sequences = new ConcurrentHashMap<>();
+
+    public long nextId(String location) {
+        int zoneKey = SlotPartitionKeys.zoneKeyOfLocation(location);
+        long sequence = sequences.computeIfAbsent(zoneKey, this::seed).incrementAndGet();
+        if (sequence > SlotPartitionKeys.MAX_SEQUENCE) {
+            throw new IllegalStateException("Zone of " + location + " has run out of slot ids");
+        }
+        return SlotPartitionKeys.slotId(zoneKey, sequence);
+    }
+
+    // Called after slots of a zone were imported with their ids
+    public void reseed(int zoneKey) {
+        sequences.remove(zoneKey);
+    }
+
+    private AtomicLong seed(int zoneKey) {
+        long first = SlotPartitionKeys.slotId(zoneKey, 0);
+        Long max = jdbcTemplate.queryForObject(
+                "SELECT MAX(slot_id) FROM parking_slots WHERE slot_id >= ? AND slot_id <= ?",
+                Long.class, first, first + SlotPartitionKeys.MAX_SEQUENCE);
+        return new AtomicLong(max == null ? 0 : max - first);
+    }
+}
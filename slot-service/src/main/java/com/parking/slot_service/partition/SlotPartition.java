@@ -0,0 +1,190 @@
+package com.parking.slot_service.partition;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.parking.slot_service.entity.SlotPartitionZone;
+import com.parking.slot_service.index.SlotOccupancyIndex;
+import com.parking.slot_service.repository.SlotPartitionZoneRepository;
+
+/**
+ * The zones this slot-service instance owns. Ownership is published as Eureka metadata
+ * (slot-zones, slot-zones-excluded, slot-legacy) so the gateway and Feign callers can route
+ * a request to the owning instance. slot.partition.zones=* (the default) owns every zone
+ * not handed off to another instance, which keeps a single-instance deployment unchanged.
+ * Writes admitted through checkOwned are counted per zone until their transaction completes,
+ * so a handoff can wait for them to drain before the zone's slots are read.
+ */
+@Component
+public class SlotPartition {
+
+    public static final String ALL_ZONES = "*";
+    public static final String METADATA_ZONES = "slot-zones";
+    public static final String METADATA_EXCLUDED = "slot-zones-excluded";
+    public static final String METADATA_LEGACY = "slot-legacy";
+
+    private static final long DRAIN_POLL_MILLIS = 10;
+
+    private final SlotPartitionZoneRepository zoneRepository;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final boolean catchAll;
+    private final boolean legacyOwner;
+    private final long drainTimeoutMillis;
+    private final Set<String> owned = ConcurrentHashMap.newKeySet();
+    private final Set<String> excluded = ConcurrentHashMap.newKeySet(); // zones a catch-all instance handed off
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public SlotPartition(SlotPartitionZoneRepository zoneRepository,
+                         ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                         @Value("${slot.partition.zones:*}") String zones,
+                         @Value("${slot.partition.legacy:true}") boolean legacyOwner,
+                         @Value("${slot.partition.drain-timeout-millis:10000}") long drainTimeoutMillis) {
+        this.zoneRepository = zoneRepository;
+        this.applicationInfoManager = applicationInfoManager;
+        this.catchAll = ALL_ZONES.equals(zones.trim());
+        this.legacyOwner = legacyOwner;
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        if (!catchAll) {
+            Arrays.stream(zones.split(","))
+                    .map(SlotOccupancyIndex::normalize)
+                    .filter(zone -> !zone.isEmpty())
+                    .forEach(owned::add);
+        }
+    }
+
+    // Rebalancing results are persisted and win over the configured zones
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        for (SlotPartitionZone zone : zoneRepository.findAll()) {
+            apply(zone.getZone(), zone.isOwned());
+        }
+        publish();
+    }
+
+    public boolean owns(String zone) {
+        String normalized = SlotOccupancyIndex.normalize(zone);
+        return owned.contains(normalized) || (catchAll && !excluded.contains(normalized));
+    }
+
+    public boolean ownsLegacyIds() {
+        return legacyOwner;
+    }
+
+    public void checkOwned(String location) {
+        String zone = SlotOccupancyIndex.zoneOf(location);
+        if (!admit(zone)) {
+            throw new IllegalArgumentException("Zone " + zone + " is owned by another slot-service partition");
+        }
+    }
+
+    // Counts the caller's transaction as an in-flight write to the zone until it completes.
+    // The count goes up before ownership is checked, so handOff either sees the write or the write sees the handoff.
+    public boolean admit(String zone) {
+        String normalized = SlotOccupancyIndex.normalize(zone);
+        AtomicInteger writes = inFlight.computeIfAbsent(normalized, key -> new AtomicInteger());
+        writes.incrementAndGet();
+        boolean admitted = owns(normalized);
+        if (!admitted || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            writes.decrementAndGet();
+            return admitted;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                writes.decrementAndGet();
+            }
+        });
+        return true;
+    }
+
+    // Stops new writes for the zone, then waits for the admitted ones to commit or roll back
+    public void handOff(String zone) {
+        if (!owns(zone)) {
+            throw new IllegalArgumentException("Zone " + SlotOccupancyIndex.normalize(zone) + " is not owned by this partition");
+        }
+        change(zone, false);
+        AtomicInteger writes = inFlight.get(SlotOccupancyIndex.normalize(zone));
+        long deadline = System.currentTimeMillis() + drainTimeoutMillis;
+        while (writes != null && writes.get() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                change(zone, true);
+                throw new IllegalStateException("Writes to zone " + SlotOccupancyIndex.normalize(zone) + " did not drain, retry the handoff");
+            }
+            try {
+                Thread.sleep(DRAIN_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                change(zone, true);
+                throw new IllegalStateException("Interrupted while draining writes to zone " + SlotOccupancyIndex.normalize(zone));
+            }
+        }
+    }
+
+    public void adopt(String zone) {
+        change(zone, true);
+    }
+
+    public Map<String, String> metadata() {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put(METADATA_ZONES, catchAll ? ALL_ZONES : String.join(",", new TreeSet<>(owned)));
+        metadata.put(METADATA_EXCLUDED, String.join(",", new TreeSet<>(excluded)));
+        metadata.put(METADATA_LEGACY, Boolean.toString(legacyOwner));
+        return metadata;
+    }
+
+    // Whether an instance with the given metadata owns the zone key; explicit owners win over catch-all ones
+    public static boolean listsZone(Map<String, String> metadata, int zoneKey) {
+        return !ALL_ZONES.equals(metadata.get(METADATA_ZONES)) && containsKey(metadata.get(METADATA_ZONES), zoneKey);
+    }
+
+    public static boolean catchesZone(Map<String, String> metadata, int zoneKey) {
+        return ALL_ZONES.equals(metadata.get(METADATA_ZONES)) && !containsKey(metadata.get(METADATA_EXCLUDED), zoneKey);
+    }
+
+    private static boolean containsKey(String zones, int zoneKey) {
+        if (zones == null || zones.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(zones.split(",")).anyMatch(zone -> SlotPartitionKeys.zoneKey(zone) == zoneKey);
+    }
+
+    private synchronized void change(String zone, boolean own) {
+        String normalized = SlotOccupancyIndex.normalize(zone);
+        apply(normalized, own);
+        zoneRepository.save(new SlotPartitionZone(normalized, own));
+        publish();
+    }
+
+    private void apply(String zone, boolean own) {
+        if (own) {
+            excluded.remove(zone);
+            if (!catchAll) {
+                owned.add(zone);
+            }
+        } else {
+            owned.remove(zone);
+            if (catchAll) {
+                excluded.add(zone);
+            }
+        }
+    }
+
+    // Eureka replicates the new metadata with the next instance info update
+    private void publish() {
+        applicationInfoManager.ifAvailable(manager -> manager.registerAppMetadata(metadata()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.parking.slot_service.partition;
+
+import com.parking.slot_service.index.SlotOccupancyIndex;
+
+/**
+ * Slot ids carry the key of their zone in the high bits (zoneKey << 24 | sequence), so any
+ * caller holding a slot id can tell which partition owns it without a lookup. Zone keys of up
+ * to six letters are an exact base-27 code; other zone names are hashed above that range.
+ * Ids stay below 2^53, so they survive a round trip through JavaScript clients.
+ * Ids below 2^24 (zone key 0) were issued before partitioning and belong to the legacy owner.
+ */
+public final class SlotPartitionKeys {
+
+    public static final int SEQUENCE_BITS = 24;
+    public static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int LETTER_KEYS = 387_420_489;             // 27^6
+    private static final int HASHED_KEYS = (1 << 29) - LETTER_KEYS;
+
+    private SlotPartitionKeys() {
+    }
+
+    public static int zoneKey(String zone) {
+        String normalized = SlotOccupancyIndex.normalize(zone);
+        if (normalized != null && !normalized.isEmpty() && normalized.length() <= 6 && normalized.chars().allMatch(c -> c >= 'A' && c <= 'Z')) {
+            int key = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                key = key * 27 + (normalized.charAt(i) - 'A' + 1);
+            }
+            return key;
+        }
+        return LETTER_KEYS + Math.floorMod(String.valueOf(normalized).hashCode(), HASHED_KEYS);
+    }
+
+    public static int zoneKeyOfLocation(String location) {
+        return zoneKey(SlotOccupancyIndex.zoneOf(location));
+    }
+
+    public static int zoneKeyOf(long slotId) {
+        return (int) (slotId >>> SEQUENCE_BITS);
+    }
+
+    public static long slotId(int zoneKey, long sequence) {
+        return ((long) zoneKey << SEQUENCE_BITS) | sequence;
+    }
+
+    public static boolean isLegacy(long slotId) {
+        return zoneKeyOf(slotId) == 0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.parking.slot_service.partition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.index.SlotOccupancyIndex;
+import com.parking.slot_service.service.SlotService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves a zone from its current owner to this instance: the owner hands the zone off
+ * (and stops accepting writes for it), this instance imports the slots under their
+ * existing ids and takes ownership, then the owner drops its copies. If the import
+ * fails the owner reclaims the zone.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlotRebalancer {
+
+    private static final String SERVICE_ID = "slot-service";
+
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final SlotPartition slotPartition;
+    private final SlotService slotService;
+
+    public Map<String, Object> adopt(String zone, String authorization) {
+        String normalized = SlotOccupancyIndex.normalize(zone);
+        if (slotPartition.owns(normalized)) {
+            throw new IllegalArgumentException("Zone " + normalized + " is already owned by this partition");
+        }
+        ServiceInstance owner = findOwner(normalized)
+                .orElseThrow(() -> new RuntimeException("No slot-service partition owns zone " + normalized));
+        RestClient client = RestClient.builder()
+                .baseUrl(owner.getUri().toString())
+                .defaultHeader(HttpHeaders.AUTHORIZATION, authorization)
+                .build();
+
+        List<SlotResponseDTO> slots = client.post()
+                .uri("/api/slots/partition/zones/{zone}/handoff", normalized)
+                .retrieve()
+                .body(new ParameterizedTypeReference<List<SlotResponseDTO>>() {});
+        try {
+            slotService.importZone(normalized, slots == null ? List.of() : slots);
+        } catch (RuntimeException e) {
+            client.post().uri("/api/slots/partition/zones/{zone}/reclaim", normalized).retrieve().toBodilessEntity();
+            throw e;
+        }
+        client.delete().uri("/api/slots/partition/zones/{zone}", normalized).retrieve().toBodilessEntity();
+
+        return Map.of(
+                "zone", normalized,
+                "from", owner.getInstanceId(),
+                "moved", slots == null ? 0 : slots.size());
+    }
+
+    // Same rule the callers' load balancers use: an explicit owner first, then a catch-all one
+    private Optional<ServiceInstance> findOwner(String zone) {
+        int zoneKey = SlotPartitionKeys.zoneKey(zone);
+        String self = registration.getIfAvailable() == null ? null : registration.getIfAvailable().getInstanceId();
+        List<ServiceInstance> others = discoveryClient.getInstances(SERVICE_ID).stream()
+                .filter(instance -> !Objects.equals(instance.getInstanceId(), self))
+                .toList();
+        return others.stream()
+                .filter(instance -> SlotPartition.listsZone(instance.getMetadata(), zoneKey))
+                .findFirst()
+                .or(() -> others.stream()
+                        .filter(instance -> SlotPartition.catchesZone(instance.getMetadata(), zoneKey))
+                        .findFirst());
+    }
+}
@@ -0,0 +1,63 @@
+package com.parking.slot_service.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.parking.slot_service.dto.SlotOccupancyUpdateDTO;
+import com.parking.slot_service.entity.Slot;
+
+import lombok.RequiredArgsConstructor;
+
+// Plain JDBC batches for bulk writes
+@Repository
+@RequiredArgsConstructor
+public class SlotBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO parking_slots (slot_id, location, type, is_occupied) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_OCCUPANCY_SQL =
+            "UPDATE parking_slots SET is_occupied = ? WHERE slot_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Inserts the slots as one batch; ids are assigned up front (see SlotIdAllocator)
+    public void insertAll(List<Slot> slots) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Slot slot = slots.get(i);
+                ps.setLong(1, slot.getSlotId());
+                ps.setString(2, slot.getLocation());
+                ps.setString(3, slot.getType());
+                ps.setBoolean(4, slot.isOccupied());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return slots.size();
+            }
+        });
+    }
+
+    // Returns the affected row count per update (0 = slot does not exist)
+    public int[] updateOccupancy(List<SlotOccupancyUpdateDTO> updates) {
+        return jdbcTemplate.batchUpdate(UPDATE_OCCUPANCY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SlotOccupancyUpdateDTO update = updates.get(i);
+                ps.setBoolean(1, update.getOccupied());
+                ps.setLong(2, update.getSlotId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.parking.slot_service.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.parking.slot_service.dto.SlotResponseDTO;
+
+// Reads slots through a forward-only JDBC cursor so callers can stream rows without buffering the table
+@Repository
+public class SlotCursorRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SlotCursorRepository(DataSource dataSource,
+                                @Value("${slot.stream.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL Connector/J only streams result sets row by row with Integer.MIN_VALUE;
+        // other drivers (H2 for local runs) need a positive fetch size
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void forEachSlot(String type, String location, Boolean occupied, Consumer<SlotResponseDTO> consumer) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT slot_id, location, type, is_occupied FROM parking_slots WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (type != null) {
+            sql.append(" AND type = ?");
+            args.add(type);
+        }
+        if (location != null) {
+            sql.append(" AND location LIKE ?");
+            args.add(location + "%");
+        }
+        if (occupied != null) {
+            sql.append(" AND is_occupied = ?");
+            args.add(occupied);
+        }
+        sql.append(" ORDER BY slot_id");
+
+        jdbcTemplate.query(sql.toString(), (RowCallbackHandler) rs -> {
+            consumer.accept(new SlotResponseDTO(
+                    rs.getLong("slot_id"),
+                    rs.getString("location"),
+                    rs.getString("type"),
+                    rs.getBoolean("is_occupied")));
+        }, args.toArray());
+    }
+}
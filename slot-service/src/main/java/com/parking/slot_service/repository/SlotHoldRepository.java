@@ -0,0 +1,26 @@
+package com.parking.slot_service.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.parking.slot_service.entity.SlotHold;
+
+@Repository
+public interface SlotHoldRepository extends JpaRepository<SlotHold, Long> {
+
+    // Returns 0 if the hold was already confirmed, released or expired by someone else
+    @Modifying
+    @Query("DELETE FROM SlotHold h WHERE h.holdId = :holdId")
+    int deleteByHoldId(@Param("holdId") Long holdId);
+
+    @Modifying
+    @Query("DELETE FROM SlotHold h WHERE h.slotId = :slotId")
+    int deleteBySlotId(@Param("slotId") Long slotId);
+
+    boolean existsBySlotIdIn(Collection<Long> slotIds);
+}
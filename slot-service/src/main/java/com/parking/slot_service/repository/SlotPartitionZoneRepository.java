@@ -0,0 +1,10 @@
+package com.parking.slot_service.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.parking.slot_service.entity.SlotPartitionZone;
+
+@Repository
+public interface SlotPartitionZoneRepository extends JpaRepository<SlotPartitionZone, String> {
+}
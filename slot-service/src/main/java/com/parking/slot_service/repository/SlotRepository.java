@@ -1,12 +1,46 @@
 package com.parking.slot_service.repository;
  
+import com.parking.slot_service.dto.SlotResponseDTO;
 import com.parking.slot_service.entity.Slot;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
  
 import java.util.List;
+import java.util.Optional;
  
 public interface SlotRepository extends JpaRepository<Slot, Long> {
     List<Slot> findByIsOccupiedFalse();
     List<Slot> findByTypeAndIsOccupiedFalse(String type); // For available slots
+
+    // Single conditional UPDATE: returns 1 if the slot was in the expected state and got flipped, 0 otherwise
+    @Modifying
+    @Query("UPDATE Slot s SET s.isOccupied = :occupied WHERE s.slotId = :slotId AND s.isOccupied = :expected")
+    int compareAndSetOccupancy(@Param("slotId") Long slotId,
+                               @Param("expected") boolean expected,
+                               @Param("occupied") boolean occupied);
+
+    // Read-only views: rows go straight into DTOs, no managed entities or dirty-checking snapshots
+    @Query("SELECT new com.parking.slot_service.dto.SlotResponseDTO(s.slotId, s.location, s.type, s.isOccupied) FROM Slot s")
+    List<SlotResponseDTO> findAllResponses();
+
+    @Query("SELECT new com.parking.slot_service.dto.SlotResponseDTO(s.slotId, s.location, s.type, s.isOccupied) "
+            + "FROM Slot s WHERE s.slotId = :slotId")
+    Optional<SlotResponseDTO> findResponseById(@Param("slotId") Long slotId);
+
+    // Keyset page ordered by slotId; null filters are ignored, location matches as a prefix
+    @Query("SELECT new com.parking.slot_service.dto.SlotResponseDTO(s.slotId, s.location, s.type, s.isOccupied) "
+            + "FROM Slot s WHERE s.slotId > :afterId "
+            + "AND (:type IS NULL OR s.type = :type) "
+            + "AND (:location IS NULL OR s.location LIKE CONCAT(:location, '%')) "
+            + "AND (:occupied IS NULL OR s.isOccupied = :occupied) "
+            + "ORDER BY s.slotId")
+    List<SlotResponseDTO> findPageAfter(@Param("afterId") Long afterId,
+                                        @Param("type") String type,
+                                        @Param("location") String location,
+                                        @Param("occupied") Boolean occupied,
+                                        Limit limit);
 }
  
\ No newline at end of file
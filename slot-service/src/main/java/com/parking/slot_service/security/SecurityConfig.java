@@ -14,6 +14,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import com.parking.slot_service.security.JwtAuthenticationFilter;
 import com.parking.slot_service.security.CustomUserDetailsService;
+
+import jakarta.servlet.DispatcherType;
  
 @Configuration
 @EnableMethodSecurity
@@ -29,11 +31,15 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // SSE and streamed responses complete on an async dispatch; the original request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/user/register/**", "/api/user/login/**").permitAll()
                 .requestMatchers("/api/user/email/**").permitAll() 
                 .requestMatchers("/api/slots/slot**").permitAll() 
                 // .requestMatchers("/api/slots/*/occupy", "/api/slots/*/release").permitAll() // <-- add this line
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                 .anyRequest().authenticated())
             .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authenticationProvider(authProvider())
@@ -1,9 +1,21 @@
 package com.parking.slot_service.service;
  
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.parking.slot_service.dto.SlotBulkResultDTO;
+import com.parking.slot_service.dto.SlotClaimResultDTO;
+import com.parking.slot_service.dto.SlotHistoryDTO;
+import com.parking.slot_service.dto.SlotHoldDTO;
+import com.parking.slot_service.dto.SlotIndexStatsDTO;
+import com.parking.slot_service.dto.SlotOccupancyUpdateDTO;
+import com.parking.slot_service.dto.SlotPageDTO;
 import com.parking.slot_service.dto.SlotRequestDTO;
 import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.dto.SlotSummaryDTO;
  
 public interface SlotService {
  
@@ -19,9 +31,51 @@ public interface SlotService {
 
     List<SlotResponseDTO> getAvailableSlotsByType(String type);
 
+    String getAvailabilityVersion();
+
     SlotResponseDTO updateSlotOccupancy(Long slotId, Boolean occupied);
 
     SlotResponseDTO getSlotById(Long slotId);
 
+    SlotClaimResultDTO compareAndSetOccupancy(Long slotId, boolean expected, boolean occupied);
+
+    SlotClaimResultDTO allocateSlot(String type, String zone, String gate);
+
+    SlotHoldDTO placeHold(Long slotId, String holder, long ttlSeconds);
+
+    SlotHoldDTO confirmHold(Long holdId, Long slotId, String holder);
+
+    void releaseHold(Long holdId, String holder);
+
+    SlotBulkResultDTO bulkAddSlots(List<SlotRequestDTO> requests);
+
+    SlotBulkResultDTO bulkAddSlotsCsv(InputStream csv) throws IOException;
+
+    SlotBulkResultDTO bulkUpdateOccupancy(List<SlotOccupancyUpdateDTO> updates);
+
+    List<SlotResponseDTO> handOffZone(String zone);
+
+    int importZone(String zone, List<SlotResponseDTO> slots);
+
+    int dropZone(String zone);
+
+    void reclaimZone(String zone);
+
+    SlotPageDTO getSlotsPage(Long after, int limit, String type, String location, Boolean occupied);
+
+    void streamSlots(String type, String location, Boolean occupied, Consumer<SlotResponseDTO> sink);
+
+    int countAvailableSlots(String type, String zone);
+
+    SlotSummaryDTO getOccupancySummary();
+
+    long reconcileOccupancyCounters();
+
+    SlotHistoryDTO getOccupancyHistory(String type, String zone, LocalDateTime from, LocalDateTime to, String resolution);
+
+    SlotIndexStatsDTO getOccupancyIndexStats(boolean verify);
+
+    SlotIndexStatsDTO rebuildOccupancyIndex();
+
 }
  
\ No newline at end of file
@@ -2,65 +2,153 @@ package com.parking.slot_service.service.impl;
  
 import com.parking.slot_service.dto.*;
 
+import com.parking.slot_service.cache.SlotCacheInvalidator;
 import com.parking.slot_service.entity.Slot;
+import com.parking.slot_service.entity.SlotHold;
+import com.parking.slot_service.event.SlotOccupancyChangedEvent;
+import com.parking.slot_service.hold.SlotHoldWheel;
+import com.parking.slot_service.index.SlotAllocator;
+import com.parking.slot_service.index.SlotOccupancyCounters;
+import com.parking.slot_service.index.SlotOccupancyHistory;
+import com.parking.slot_service.partition.SlotIdAllocator;
+import com.parking.slot_service.partition.SlotPartition;
+import com.parking.slot_service.partition.SlotPartitionKeys;
+import com.parking.slot_service.index.SlotOccupancyIndex;
+import com.parking.slot_service.repository.SlotBatchRepository;
+import com.parking.slot_service.repository.SlotCursorRepository;
+import com.parking.slot_service.repository.SlotHoldRepository;
 import com.parking.slot_service.repository.SlotRepository;
 import com.parking.slot_service.service.SlotService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
  
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
  
 @Service
 @RequiredArgsConstructor
 public class SlotServiceImpl implements SlotService {
  
     private final SlotRepository slotRepository;
+    private final SlotOccupancyIndex occupancyIndex;
+    private final SlotOccupancyCounters occupancyCounters;
+    private final SlotBatchRepository slotBatchRepository;
+    private final SlotCursorRepository slotCursorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlotAllocator slotAllocator;
+    private final SlotOccupancyHistory occupancyHistory;
+    private final SlotHoldRepository slotHoldRepository;
+    private final SlotHoldWheel holdWheel;
+    private final SlotPartition slotPartition;
+    private final SlotIdAllocator slotIdAllocator;
+
+    private static final long HOLD_RETRY_MILLIS = 5_000;
+
+    private final long startedAt = System.currentTimeMillis();
+
+    @Value("${slot.allocator.max-attempts:5}")
+    private int allocationAttempts;
+
+    @Value("${slot.holds.max-ttl-seconds:900}")
+    private long maxHoldSeconds;
+
+    @Value("${slot.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initOccupancyIndex() {
+        occupancyIndex.rebuild(slotRepository::findAll);
+    }
+
+    // Holds survive a restart in slot_holds; put their timers back on the wheel
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverHolds() {
+        for (SlotHold hold : slotHoldRepository.findAll()) {
+            holdWheel.schedule(hold.getHoldId(), hold.getSlotId(), hold.getExpiresAt().toEpochMilli());
+        }
+    }
 
     @Override
+    @Transactional
     public SlotResponseDTO addSlot(SlotRequestDTO requestDTO) {
         if (!"2W".equals(requestDTO.getType()) && !"4W".equals(requestDTO.getType())) {
             throw new IllegalArgumentException("Invalid slot type. Only '2W' or '4W' allowed.");
         }
+        slotPartition.checkOwned(requestDTO.getLocation());
         Slot slot = new Slot();
+        slot.setSlotId(slotIdAllocator.nextId(requestDTO.getLocation()));
         slot.setLocation(requestDTO.getLocation());
         slot.setType(requestDTO.getType());
         slot.setOccupied(false); // By default, new slot is empty
  
         Slot saved = slotRepository.save(slot);
+        afterCommit(() -> occupancyIndex.upsert(saved));
+        publishChange(saved.getSlotId(), saved.getLocation(), saved.getType(), null, false);
         return mapToDTO(saved);
     }
  
     @Override
+    @Transactional
     public void deleteSlot(Long slotId) {
+        checkOwned(slotId);
+        occupancyIndex.get(slotId).ifPresent(slot ->
+                publishChange(slotId, slot.getLocation(), slot.getType(), slot.isOccupied(), null));
         slotRepository.deleteById(slotId);
+        slotHoldRepository.deleteBySlotId(slotId);
+        afterCommit(() -> occupancyIndex.remove(slotId));
     }
  
     @Override
+    @Transactional
     public SlotResponseDTO updateSlot(Long slotId, SlotRequestDTO requestDTO) {
         Slot slot = slotRepository.findById(slotId)
                 .orElseThrow(() -> new RuntimeException("Slot not found"));
+        slotPartition.checkOwned(slot.getLocation());
+        boolean previous = slot.isOccupied();
  
         if (requestDTO.getIsOccupied() != null) {
             slot.setOccupied(requestDTO.getIsOccupied());
         }
  
         Slot updated = slotRepository.save(slot);
+        afterCommit(() -> occupancyIndex.upsert(updated));
+        publishChange(slotId, updated.getLocation(), updated.getType(), previous, updated.isOccupied());
         return mapToDTO(updated);
     }
  
     @Override
     public List<SlotResponseDTO> getAvailableSlots() {
-        return slotRepository.findByIsOccupiedFalse().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return occupancyIndex.availableSlots();
     }
  
     @Override
+    @Transactional(readOnly = true)
     public List<SlotResponseDTO> getAllSlots() {
-        return slotRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return slotRepository.findAllResponses();
     }
  
     private SlotResponseDTO mapToDTO(Slot slot) {
@@ -71,27 +159,504 @@ public class SlotServiceImpl implements SlotService {
                 slot.isOccupied()
         );
     }
+
+    // Listeners (SSE feed etc.) receive this after the surrounding transaction commits
+    private void publishChange(Long slotId, String location, String type, Boolean previous, Boolean current) {
+        eventPublisher.publishEvent(new SlotOccupancyChangedEvent(slotId, location, type, previous, current));
+    }
+
+    // Index updates only become visible once the database change is committed.
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Writes to slots of a zone handed off to another partition are rejected
+    private void checkOwned(Long slotId) {
+        occupancyIndex.get(slotId).ifPresent(slot -> slotPartition.checkOwned(slot.getLocation()));
+    }
+
+    private void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
     @Override
     public List<SlotResponseDTO> getAvailableSlotsByType(String type) {
-    return slotRepository.findByTypeAndIsOccupiedFalse(type).stream()
-            .map(this::mapToDTO)
-            .collect(Collectors.toList());
+    return occupancyIndex.availableSlotsByType(type);
 }
 
+// Index version prefixed with the startup time, so a tag from before a restart never matches
 @Override
+public String getAvailabilityVersion() {
+    return Long.toString(startedAt, 36) + "-" + occupancyIndex.version();
+}
+
+@Override
+public int countAvailableSlots(String type, String zone) {
+    return occupancyIndex.countAvailable(type, zone);
+}
+
+@Override
+@Transactional
 public SlotResponseDTO updateSlotOccupancy(Long slotId, Boolean occupied) {
     Slot slot = slotRepository.findById(slotId)
         .orElseThrow(() -> new RuntimeException("Slot not found"));
+    slotPartition.checkOwned(slot.getLocation());
+    boolean previous = slot.isOccupied();
     slot.setOccupied(occupied);
     slotRepository.save(slot);
+    afterCommit(() -> occupancyIndex.upsert(slot));
+    publishChange(slotId, slot.getLocation(), slot.getType(), previous, occupied);
     return mapToDTO(slot);
 }
 
+// Read-through cache; entries are evicted by SlotCacheInvalidator once a change commits
 @Override
+@Cacheable(cacheNames = SlotCacheInvalidator.SLOTS, key = "#slotId")
+@Transactional(readOnly = true)
 public SlotResponseDTO getSlotById(Long slotId) {
-    Slot slot = slotRepository.findById(slotId)
+    return slotRepository.findResponseById(slotId)
         .orElseThrow(() -> new RuntimeException("Slot not found"));
-    return mapToDTO(slot);
+}
+
+@Override
+@Transactional
+public SlotClaimResultDTO compareAndSetOccupancy(Long slotId, boolean expected, boolean occupied) {
+    checkOwned(slotId);
+    boolean won = slotRepository.compareAndSetOccupancy(slotId, expected, occupied) == 1;
+    if (!won && !slotRepository.existsById(slotId)) {
+        throw new RuntimeException("Slot not found");
+    }
+    if (won) {
+        afterCommit(() -> occupancyIndex.setOccupied(slotId, occupied));
+    }
+    // A lost race means the slot already holds the opposite of the expected state
+    boolean current = won ? occupied : !expected;
+    SlotResponseDTO slot = occupancyIndex.get(slotId)
+        .orElseGet(() -> getSlotById(slotId));
+    slot.setOccupied(current);
+    if (won) {
+        publishChange(slotId, slot.getLocation(), slot.getType(), expected, occupied);
+    }
+    return new SlotClaimResultDTO(slotId, won, slot);
+}
+
+// Picks the nearest free slot from the allocator and claims it with the same conditional update
+// as compareAndSetOccupancy. A candidate lost to a concurrent direct claim is skipped.
+@Override
+@Transactional
+public SlotClaimResultDTO allocateSlot(String type, String zone, String gate) {
+    if (!"2W".equals(type) && !"4W".equals(type)) {
+        throw new IllegalArgumentException("Invalid slot type. Only '2W' or '4W' allowed.");
+    }
+    String preferredZone = zone != null && !zone.isBlank() ? zone : slotAllocator.zoneForGate(gate);
+    // Candidates in a zone being handed off stay free; they go back once this call stops polling
+    // (dropZone removes them for good, reclaimZone keeps offering them)
+    List<SlotResponseDTO> skipped = new ArrayList<>();
+    try {
+        for (int attempt = 0; attempt < allocationAttempts; attempt++) {
+            SlotResponseDTO slot = slotAllocator.poll(type, preferredZone)
+                .orElseThrow(() -> new RuntimeException("No free " + type + " slot available"));
+            if (!slotPartition.admit(SlotOccupancyIndex.zoneOf(slot.getLocation()))) {
+                skipped.add(slot);
+                continue;
+            }
+            if (slotRepository.compareAndSetOccupancy(slot.getSlotId(), false, true) == 1) {
+                afterCommit(() -> occupancyIndex.setOccupied(slot.getSlotId(), true));
+                afterRollback(() -> slotAllocator.restore(slot));
+                publishChange(slot.getSlotId(), slot.getLocation(), slot.getType(), false, true);
+                slot.setOccupied(true);
+                return new SlotClaimResultDTO(slot.getSlotId(), true, slot);
+            }
+        }
+    } finally {
+        skipped.forEach(slotAllocator::restore);
+    }
+    throw new RuntimeException("Could not allocate a " + type + " slot, please retry");
+}
+
+// A hold claims the slot like any other occupant, so it is not offered to anyone else until
+// the hold is confirmed (slot stays occupied), released or expires (slot is freed again).
+@Override
+@Transactional
+public SlotHoldDTO placeHold(Long slotId, String holder, long ttlSeconds) {
+    if (ttlSeconds <= 0 || ttlSeconds > maxHoldSeconds) {
+        throw new IllegalArgumentException("Hold TTL must be between 1 and " + maxHoldSeconds + " seconds");
+    }
+    if (!compareAndSetOccupancy(slotId, false, true).isWon()) {
+        return new SlotHoldDTO(null, slotId, holder, null, false);
+    }
+    // The slot was free, so any hold row still pointing at it is stale
+    slotHoldRepository.deleteBySlotId(slotId);
+    SlotHold hold = slotHoldRepository.save(
+        new SlotHold(null, slotId, holder, Instant.now().plusSeconds(ttlSeconds)));
+    afterCommit(() -> holdWheel.schedule(hold.getHoldId(), slotId, hold.getExpiresAt().toEpochMilli()));
+    return new SlotHoldDTO(hold.getHoldId(), slotId, holder, hold.getExpiresAt(), true);
+}
+
+@Override
+@Transactional
+public SlotHoldDTO confirmHold(Long holdId, Long slotId, String holder) {
+    SlotHold hold = findHold(holdId, holder);
+    // A hold only ever books the slot it was placed on
+    if (!hold.getSlotId().equals(slotId)) {
+        throw new IllegalArgumentException("Hold " + holdId + " is for slot " + hold.getSlotId() + ", not slot " + slotId);
+    }
+    if (slotHoldRepository.deleteByHoldId(holdId) == 0) {
+        throw new RuntimeException("Hold not found");
+    }
+    afterCommit(() -> holdWheel.cancel(holdId));
+    return new SlotHoldDTO(holdId, hold.getSlotId(), hold.getHolder(), hold.getExpiresAt(), true);
+}
+
+@Override
+@Transactional
+public void releaseHold(Long holdId, String holder) {
+    SlotHold hold = findHold(holdId, holder);
+    if (slotHoldRepository.deleteByHoldId(holdId) == 0) {
+        throw new RuntimeException("Hold not found");
+    }
+    compareAndSetOccupancy(hold.getSlotId(), true, false);
+    afterCommit(() -> holdWheel.cancel(holdId));
+}
+
+// Driven by the timing wheel: only holds that are due are touched, no query for stale rows
+@Scheduled(fixedDelayString = "${slot.holds.tick-millis:1000}")
+public void expireHolds() {
+    long now = System.currentTimeMillis();
+    for (SlotHoldWheel.Timeout timeout : holdWheel.advance(now)) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Losing the delete means the hold was confirmed or released in the meantime
+                if (slotHoldRepository.deleteByHoldId(timeout.holdId()) == 1 && slotRepository.existsById(timeout.slotId())) {
+                    compareAndSetOccupancy(timeout.slotId(), true, false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Try again on a later tick; the row is still there, so a restart would recover it too
+            holdWheel.schedule(timeout.holdId(), timeout.slotId(), now + HOLD_RETRY_MILLIS);
+        }
+    }
+}
+
+private SlotHold findHold(Long holdId, String holder) {
+    SlotHold hold = slotHoldRepository.findById(holdId)
+        .orElseThrow(() -> new RuntimeException("Hold not found"));
+    if (!hold.getHolder().equals(holder)) {
+        throw new IllegalArgumentException("Hold belongs to another user");
+    }
+    return hold;
+}
+
+@Override
+public SlotBulkResultDTO bulkAddSlots(List<SlotRequestDTO> requests) {
+    SlotBulkResultDTO result = new SlotBulkResultDTO();
+    List<Slot> chunk = new ArrayList<>(bulkChunkSize);
+    List<Integer> rows = new ArrayList<>(bulkChunkSize);
+    for (int i = 0; i < requests.size(); i++) {
+        stageSlot(requests.get(i), i + 1, chunk, rows, result);
+    }
+    flushSlots(chunk, rows, result);
+    result.getRows().sort(Comparator.comparingInt(SlotBulkRowResultDTO::getRow));
+    return result;
+}
+
+// CSV columns: location,type (optional header line). Rows are read and written chunk by chunk.
+@Override
+public SlotBulkResultDTO bulkAddSlotsCsv(InputStream csv) throws IOException {
+    SlotBulkResultDTO result = new SlotBulkResultDTO();
+    List<Slot> chunk = new ArrayList<>(bulkChunkSize);
+    List<Integer> rows = new ArrayList<>(bulkChunkSize);
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+        String line;
+        int row = 0;
+        boolean first = true;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] cells = line.split(",", -1);
+            if (first) {
+                first = false;
+                if ("location".equalsIgnoreCase(cells[0].trim())) {
+                    continue;
+                }
+            }
+            row++;
+            String type = cells.length > 1 ? cells[1].trim() : null;
+            stageSlot(new SlotRequestDTO(cells[0].trim(), type, null), row, chunk, rows, result);
+        }
+    }
+    flushSlots(chunk, rows, result);
+    result.getRows().sort(Comparator.comparingInt(SlotBulkRowResultDTO::getRow));
+    return result;
+}
+
+@Override
+public SlotBulkResultDTO bulkUpdateOccupancy(List<SlotOccupancyUpdateDTO> updates) {
+    SlotBulkResultDTO result = new SlotBulkResultDTO();
+    List<SlotOccupancyUpdateDTO> chunk = new ArrayList<>(bulkChunkSize);
+    List<Integer> rows = new ArrayList<>(bulkChunkSize);
+    for (int i = 0; i < updates.size(); i++) {
+        SlotOccupancyUpdateDTO update = updates.get(i);
+        if (update.getSlotId() == null || update.getOccupied() == null) {
+            result.failure(i + 1, update.getSlotId(), "slotId and occupied are required");
+            continue;
+        }
+        String location = occupancyIndex.get(update.getSlotId()).map(SlotResponseDTO::getLocation).orElse(null);
+        if (location != null && !slotPartition.owns(SlotOccupancyIndex.zoneOf(location))) {
+            result.failure(i + 1, update.getSlotId(), "Zone " + SlotOccupancyIndex.zoneOf(location) + " is owned by another slot-service partition");
+            continue;
+        }
+        chunk.add(update);
+        rows.add(i + 1);
+        if (chunk.size() >= bulkChunkSize) {
+            flushOccupancy(chunk, rows, result);
+        }
+    }
+    flushOccupancy(chunk, rows, result);
+    result.getRows().sort(Comparator.comparingInt(SlotBulkRowResultDTO::getRow));
+    return result;
+}
+
+private void stageSlot(SlotRequestDTO request, int row, List<Slot> chunk, List<Integer> rows, SlotBulkResultDTO result) {
+    if (request.getLocation() == null || request.getLocation().isBlank()) {
+        result.failure(row, null, "Location is required");
+        return;
+    }
+    if (!"2W".equals(request.getType()) && !"4W".equals(request.getType())) {
+        result.failure(row, null, "Invalid slot type. Only '2W' or '4W' allowed.");
+        return;
+    }
+    if (!slotPartition.owns(SlotOccupancyIndex.zoneOf(request.getLocation()))) {
+        result.failure(row, null, "Zone " + SlotOccupancyIndex.zoneOf(request.getLocation()) + " is owned by another slot-service partition");
+        return;
+    }
+    Slot slot = new Slot();
+    slot.setSlotId(slotIdAllocator.nextId(request.getLocation()));
+    slot.setLocation(request.getLocation());
+    slot.setType(request.getType());
+    slot.setOccupied(false);
+    chunk.add(slot);
+    rows.add(row);
+    if (chunk.size() >= bulkChunkSize) {
+        flushSlots(chunk, rows, result);
+    }
+}
+
+// Every chunk is its own transaction, so a failing chunk does not roll back the others
+private void flushSlots(List<Slot> chunk, List<Integer> rows, SlotBulkResultDTO result) {
+    if (chunk.isEmpty()) {
+        return;
+    }
+    try {
+        transactionTemplate.executeWithoutResult(status -> {
+            admitZones(chunk.stream().map(Slot::getLocation));
+            slotBatchRepository.insertAll(chunk);
+        });
+        occupancyIndex.upsertAll(chunk);
+        for (int i = 0; i < chunk.size(); i++) {
+            Slot slot = chunk.get(i);
+            publishChange(slot.getSlotId(), slot.getLocation(), slot.getType(), null, false);
+            result.success(rows.get(i), slot.getSlotId());
+        }
+    } catch (DataAccessException e) {
+        for (Integer row : rows) {
+            result.failure(row, null, "Insert failed: " + e.getMostSpecificCause().getMessage());
+        }
+    } catch (IllegalArgumentException e) {
+        for (Integer row : rows) {
+            result.failure(row, null, e.getMessage());
+        }
+    }
+    chunk.clear();
+    rows.clear();
+}
+
+private void flushOccupancy(List<SlotOccupancyUpdateDTO> chunk, List<Integer> rows, SlotBulkResultDTO result) {
+    if (chunk.isEmpty()) {
+        return;
+    }
+    try {
+        int[] counts = transactionTemplate.execute(status -> {
+            admitZones(chunk.stream().map(update -> occupancyIndex.get(update.getSlotId())
+                .map(SlotResponseDTO::getLocation).orElse(null)));
+            return slotBatchRepository.updateOccupancy(chunk);
+        });
+        for (int i = 0; i < chunk.size(); i++) {
+            SlotOccupancyUpdateDTO update = chunk.get(i);
+            if (counts[i] == 0) {
+                result.failure(rows.get(i), update.getSlotId(), "Slot not found");
+            } else {
+                occupancyIndex.get(update.getSlotId()).ifPresent(slot -> publishChange(
+                    update.getSlotId(), slot.getLocation(), slot.getType(), slot.isOccupied(), update.getOccupied()));
+                occupancyIndex.setOccupied(update.getSlotId(), update.getOccupied());
+                result.success(rows.get(i), update.getSlotId());
+            }
+        }
+    } catch (DataAccessException e) {
+        for (int i = 0; i < chunk.size(); i++) {
+            result.failure(rows.get(i), chunk.get(i).getSlotId(), "Update failed: " + e.getMostSpecificCause().getMessage());
+        }
+    } catch (IllegalArgumentException e) {
+        for (int i = 0; i < chunk.size(); i++) {
+            result.failure(rows.get(i), chunk.get(i).getSlotId(), e.getMessage());
+        }
+    }
+    chunk.clear();
+    rows.clear();
+}
+
+// Ownership is checked again inside the chunk transaction, so a handoff started after staging
+// either waits for the chunk to commit or rejects it
+private void admitZones(Stream<String> locations) {
+    locations.filter(Objects::nonNull).map(SlotOccupancyIndex::zoneOf).distinct().forEach(zone -> {
+        if (!slotPartition.admit(zone)) {
+            throw new IllegalArgumentException("Zone " + zone + " is owned by another slot-service partition");
+        }
+    });
+}
+
+// Source side of a rebalance: stop accepting writes for the zone and hand its slots over.
+// The snapshot is read only after in-flight writes drained, so none of them is left behind.
+// The rows stay until dropZone, so reads keep working while routing catches up.
+@Override
+public List<SlotResponseDTO> handOffZone(String zone) {
+    slotPartition.handOff(zone);
+    List<SlotResponseDTO> slots = slotsOfZone(zone);
+    String rejection = null;
+    if (slots.stream().anyMatch(slot -> SlotPartitionKeys.isLegacy(slot.getSlotId()))) {
+        rejection = "Zone " + SlotOccupancyIndex.normalize(zone)
+            + " has slots created before partitioning; their ids cannot be routed to another partition";
+    } else if (slotHoldRepository.existsBySlotIdIn(slots.stream().map(SlotResponseDTO::getSlotId).toList())) {
+        rejection = "Zone " + SlotOccupancyIndex.normalize(zone) + " has active holds, retry once they expire";
+    }
+    if (rejection != null) {
+        slotPartition.adopt(zone); // keep serving the zone here
+        throw new IllegalArgumentException(rejection);
+    }
+    return slots;
+}
+
+// Target side of a rebalance: store the slots under their existing ids and take over the zone
+@Override
+public int importZone(String zone, List<SlotResponseDTO> slots) {
+    List<Slot> rows = new ArrayList<>(slots.size());
+    for (SlotResponseDTO dto : slots) {
+        if (!SlotOccupancyIndex.zoneOf(dto.getLocation()).equals(SlotOccupancyIndex.normalize(zone))) {
+            throw new IllegalArgumentException("Slot " + dto.getSlotId() + " is not in zone " + zone);
+        }
+        rows.add(new Slot(dto.getSlotId(), dto.getLocation(), dto.getType(), dto.isOccupied()));
+    }
+    for (int from = 0; from < rows.size(); from += bulkChunkSize) {
+        List<Slot> chunk = rows.subList(from, Math.min(from + bulkChunkSize, rows.size()));
+        transactionTemplate.executeWithoutResult(status -> slotBatchRepository.insertAll(chunk));
+    }
+    slotPartition.adopt(zone);
+    slotIdAllocator.reseed(SlotPartitionKeys.zoneKey(zone));
+    occupancyIndex.upsertAll(rows);
+    for (Slot slot : rows) {
+        publishChange(slot.getSlotId(), slot.getLocation(), slot.getType(), null, slot.isOccupied());
+    }
+    return rows.size();
+}
+
+// Source side, once the target has the slots: remove the local copies
+@Override
+public int dropZone(String zone) {
+    if (slotPartition.owns(zone)) {
+        throw new IllegalArgumentException("Zone " + SlotOccupancyIndex.normalize(zone) + " is still owned by this partition");
+    }
+    List<SlotResponseDTO> slots = slotsOfZone(zone);
+    transactionTemplate.executeWithoutResult(status ->
+        slotRepository.deleteAllByIdInBatch(slots.stream().map(SlotResponseDTO::getSlotId).toList()));
+    for (SlotResponseDTO slot : slots) {
+        occupancyIndex.remove(slot.getSlotId());
+        publishChange(slot.getSlotId(), slot.getLocation(), slot.getType(), slot.isOccupied(), null);
+    }
+    return slots.size();
+}
+
+// Undo a handoff whose import failed on the target
+@Override
+public void reclaimZone(String zone) {
+    slotPartition.adopt(zone);
+}
+
+private List<SlotResponseDTO> slotsOfZone(String zone) {
+    String normalized = SlotOccupancyIndex.normalize(zone);
+    List<SlotResponseDTO> slots = new ArrayList<>();
+    // The prefix filter also matches longer zones ("B" vs "BB1"), so compare zones exactly
+    slotCursorRepository.forEachSlot(null, normalized, null, slot -> {
+        if (SlotOccupancyIndex.zoneOf(slot.getLocation()).equals(normalized)) {
+            slots.add(slot);
+        }
+    });
+    return slots;
+}
+
+@Override
+@Transactional(readOnly = true)
+public SlotPageDTO getSlotsPage(Long after, int limit, String type, String location, Boolean occupied) {
+    // Fetch one extra row to know whether another page exists
+    List<SlotResponseDTO> slots = slotRepository.findPageAfter(
+        after != null ? after : 0L, type, location, occupied, Limit.of(limit + 1));
+    boolean hasMore = slots.size() > limit;
+    if (hasMore) {
+        slots = slots.subList(0, limit);
+    }
+    Long nextCursor = hasMore ? slots.get(slots.size() - 1).getSlotId() : null;
+    return new SlotPageDTO(slots, nextCursor, hasMore);
+}
+
+@Override
+public void streamSlots(String type, String location, Boolean occupied, Consumer<SlotResponseDTO> sink) {
+    slotCursorRepository.forEachSlot(type, location, occupied, sink);
+}
+
+@Override
+public SlotSummaryDTO getOccupancySummary() {
+    return occupancyCounters.summary();
+}
+
+@Override
+public long reconcileOccupancyCounters() {
+    return occupancyCounters.reconcile();
+}
+
+@Override
+public SlotHistoryDTO getOccupancyHistory(String type, String zone, LocalDateTime from, LocalDateTime to, String resolution) {
+    return occupancyHistory.query(type, zone, from, to, resolution);
+}
+
+@Override
+public SlotIndexStatsDTO getOccupancyIndexStats(boolean verify) {
+    if (verify) {
+        occupancyIndex.verify(slotRepository.findAll());
+    }
+    return occupancyIndex.stats();
+}
+
+@Override
+public SlotIndexStatsDTO rebuildOccupancyIndex() {
+    occupancyIndex.rebuild(slotRepository::findAll);
+    return occupancyIndex.stats();
 }
 
 }
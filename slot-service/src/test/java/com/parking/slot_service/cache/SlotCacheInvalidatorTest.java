@@ -0,0 +1,26 @@
+package com.parking.slot_service.cache;
+
+import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.event.SlotOccupancyChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotCacheInvalidatorTest {
+
+    @Test
+    void onSlotChanged_evictsOnlyThatSlot() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(SlotCacheInvalidator.SLOTS);
+        Cache cache = cacheManager.getCache(SlotCacheInvalidator.SLOTS);
+        cache.put(1L, new SlotResponseDTO(1L, "A1", "2W", false));
+        cache.put(2L, new SlotResponseDTO(2L, "A2", "2W", false));
+
+        new SlotCacheInvalidator(cacheManager)
+                .onSlotChanged(new SlotOccupancyChangedEvent(1L, "A1", "2W", false, true));
+
+        assertNull(cache.get(1L));
+        assertNotNull(cache.get(2L));
+    }
+}
@@ -1,15 +1,21 @@
 package com.parking.slot_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.slot_service.dto.SlotClaimResultDTO;
 import com.parking.slot_service.dto.SlotRequestDTO;
 import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.security.CustomUserDetailsService;
+import com.parking.slot_service.security.JwtUtil;
+import com.parking.slot_service.security.SecurityConfig;
 import com.parking.slot_service.service.SlotService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
@@ -20,7 +26,11 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// Runs against the real filter chain; the JWT filter's collaborators are mocked and the
+// request is authenticated with every role, so each endpoint's @PreAuthorize passes
 @WebMvcTest(SlotController.class)
+@Import(SecurityConfig.class)
+@WithMockUser(authorities = {"ADMIN", "STAFF", "CUSTOMER"})
 class SlotControllerTest {
 
     @Autowired
@@ -29,6 +39,12 @@ class SlotControllerTest {
     @MockBean
     private SlotService slotService;
 
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private CustomUserDetailsService userDetailsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -83,6 +99,17 @@ class SlotControllerTest {
                 .andExpect(jsonPath("$.slots[0].location").value("A1"));
     }
 
+    @Test
+    void getAvailableSlots_unchangedVersion_returnsNotModified() throws Exception {
+        Mockito.when(slotService.getAvailabilityVersion()).thenReturn("abc-7");
+
+        mockMvc.perform(get("/api/slots/available").header("If-None-Match", "\"abc-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc-7\""));
+
+        Mockito.verify(slotService, Mockito.never()).getAvailableSlots();
+    }
+
     @Test
     void getAllSlots_shouldReturnList() throws Exception {
         SlotResponseDTO res = new SlotResponseDTO(1L, "A1", "CAR", false);
@@ -102,7 +129,7 @@ class SlotControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content("{\"occupied\":true}"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.slot.isOccupied").value(true));
+                .andExpect(jsonPath("$.slot.occupied").value(true));
     }
 
     @Test
@@ -124,4 +151,24 @@ class SlotControllerTest {
                 .param("isOccupied", "true"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void claimSlot_won_shouldReturnOk() throws Exception {
+        SlotClaimResultDTO res = new SlotClaimResultDTO(1L, true, new SlotResponseDTO(1L, "A1", "2W", true));
+        Mockito.when(slotService.compareAndSetOccupancy(1L, false, true)).thenReturn(res);
+
+        mockMvc.perform(put("/api/slots/1/claim"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.won").value(true));
+    }
+
+    @Test
+    void claimSlot_lost_shouldReturnConflict() throws Exception {
+        SlotClaimResultDTO res = new SlotClaimResultDTO(1L, false, new SlotResponseDTO(1L, "A1", "2W", true));
+        Mockito.when(slotService.compareAndSetOccupancy(1L, false, true)).thenReturn(res);
+
+        mockMvc.perform(put("/api/slots/1/claim"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.won").value(false));
+    }
 }
\ No newline at end of file
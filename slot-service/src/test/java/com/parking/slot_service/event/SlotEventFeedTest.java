@@ -0,0 +1,139 @@
+package com.parking.slot_service.event;
+
+import com.parking.slot_service.dto.SlotEventDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotEventFeedTest {
+
+    private final SlotEventFeed feed = new SlotEventFeed(4, 60_000);
+
+    // a client that saw the first event is sent the rest of the ring
+    @Test
+    void subscribe_resume_replaysEventsAfterLastSeen() {
+        long first = publish(feed, 1L);
+        publish(feed, 2L);
+        publish(feed, 3L);
+
+        RecordingEmitter emitter = subscribe(feed, first);
+        feed.flush();
+
+        assertEquals(List.of("occupancy"), emitter.names());
+        assertEquals(List.of(2L, 3L), emitter.slotIds(0));
+        assertEquals(Long.toString(feed.getLastSeq()), emitter.ids().get(0));
+    }
+
+    // events already overwritten in the ring cannot be replayed
+    @Test
+    void subscribe_behindRing_sendsReset() {
+        long first = publish(feed, 1L);
+        for (long slotId = 2; slotId <= 6; slotId++) {
+            publish(feed, slotId);
+        }
+
+        RecordingEmitter emitter = subscribe(feed, first);
+        feed.flush();
+
+        assertEquals(List.of("reset"), emitter.names());
+        assertEquals(Long.toString(feed.getLastSeq()), emitter.ids().get(0));
+    }
+
+    // after a restart the client's id is not one of this feed's
+    @Test
+    void subscribe_idFromBeforeRestart_sendsReset() {
+        publish(feed, 1L);
+        long seenBeforeRestart = publish(feed, 2L);
+        SlotEventFeed restarted = new SlotEventFeed(4, 60_000);
+        publish(restarted, 3L);
+
+        RecordingEmitter emitter = subscribe(restarted, seenBeforeRestart);
+        restarted.flush();
+
+        assertEquals(List.of("reset"), emitter.names());
+    }
+
+    // an id this feed never issued gets a reset rather than silence
+    @Test
+    void subscribe_idAheadOfFeed_sendsReset() {
+        long last = publish(feed, 1L);
+
+        RecordingEmitter emitter = subscribe(feed, last + 10);
+        feed.flush();
+
+        assertEquals(List.of("reset"), emitter.names());
+    }
+
+    // an up-to-date client only gets new events
+    @Test
+    void subscribe_upToDate_sendsOnlyNewEvents() {
+        long last = publish(feed, 1L);
+
+        RecordingEmitter emitter = subscribe(feed, last);
+        feed.flush();
+        publish(feed, 2L);
+        publish(feed, 2L);
+        feed.flush();
+
+        assertEquals(List.of("occupancy"), emitter.names());
+        assertEquals(List.of(2L), emitter.slotIds(0)); // both changes of slot 2 coalesced
+    }
+
+    private static long publish(SlotEventFeed feed, long slotId) {
+        feed.onSlotChanged(new SlotOccupancyChangedEvent(slotId, "B" + slotId, "4W", false, true));
+        return feed.getLastSeq();
+    }
+
+    private static RecordingEmitter subscribe(SlotEventFeed feed, Long lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(null, null, lastEventId, emitter);
+        return emitter;
+    }
+
+    // Keeps what the feed sends instead of writing it to a response
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<DataWithMediaType>> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build());
+        }
+
+        private List<String> names() {
+            return lines("event:");
+        }
+
+        private List<String> ids() {
+            return lines("id:");
+        }
+
+        private List<String> lines(String field) {
+            List<String> values = new ArrayList<>();
+            for (Set<DataWithMediaType> event : events) {
+                for (DataWithMediaType part : event) {
+                    if (part.getData() instanceof String text) {
+                        text.lines().filter(line -> line.startsWith(field))
+                                .forEach(line -> values.add(line.substring(field.length())));
+                    }
+                }
+            }
+            return values;
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<Long> slotIds(int event) {
+            return events.get(event).stream()
+                    .filter(part -> MediaType.APPLICATION_JSON.equals(part.getMediaType()))
+                    .flatMap(part -> ((List<SlotEventDTO>) part.getData()).stream())
+                    .map(SlotEventDTO::getSlotId)
+                    .toList();
+        }
+    }
+}
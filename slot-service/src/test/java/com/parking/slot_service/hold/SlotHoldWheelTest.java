@@ -0,0 +1,56 @@
+package com.parking.slot_service.hold;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotHoldWheelTest {
+
+    private final SlotHoldWheel wheel = new SlotHoldWheel(1000, 8);
+
+    @Test
+    void advance_returnsOnlyDueHolds() {
+        wheel.advance(10_000);
+        wheel.schedule(1L, 11L, 12_000);
+        wheel.schedule(2L, 12L, 15_500);
+
+        assertTrue(wheel.advance(11_999).isEmpty());
+        assertEquals(List.of(1L), holdIds(wheel.advance(12_000)));
+        assertTrue(wheel.advance(15_000).isEmpty());
+        assertEquals(List.of(2L), holdIds(wheel.advance(16_000)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_holdBeyondOneRevolution_waitsForDeadline() {
+        wheel.advance(0);
+        wheel.schedule(1L, 11L, 20_000); // 20 ticks on an 8-bucket wheel
+
+        assertTrue(wheel.advance(8_000).isEmpty());
+        assertTrue(wheel.advance(19_000).isEmpty());
+        assertEquals(List.of(1L), holdIds(wheel.advance(20_000)));
+    }
+
+    @Test
+    void schedule_pastDeadline_expiresOnNextTick() {
+        wheel.advance(50_000);
+        wheel.schedule(1L, 11L, 1_000); // recovered after a restart
+
+        assertEquals(List.of(1L), holdIds(wheel.advance(51_000)));
+    }
+
+    @Test
+    void cancel_removesHold() {
+        wheel.advance(0);
+        wheel.schedule(1L, 11L, 2_000);
+        wheel.cancel(1L);
+
+        assertTrue(wheel.advance(3_000).isEmpty());
+    }
+
+    private static List<Long> holdIds(List<SlotHoldWheel.Timeout> timeouts) {
+        return timeouts.stream().map(SlotHoldWheel.Timeout::holdId).toList();
+    }
+}
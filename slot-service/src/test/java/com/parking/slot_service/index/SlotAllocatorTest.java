@@ -0,0 +1,66 @@
+package com.parking.slot_service.index;
+
+import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.event.SlotOccupancyChangedEvent;
+import com.parking.slot_service.repository.SlotCursorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class SlotAllocatorTest {
+
+    private SlotAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        SlotCursorRepository cursorRepository = mock(SlotCursorRepository.class);
+        List<SlotResponseDTO> free = List.of(
+                new SlotResponseDTO(1L, "A12", "4W", false),
+                new SlotResponseDTO(2L, "A3", "4W", false),
+                new SlotResponseDTO(3L, "C1", "4W", false),
+                new SlotResponseDTO(4L, "B7", "2W", false));
+        doAnswer(inv -> {
+            Consumer<SlotResponseDTO> sink = inv.getArgument(3);
+            free.forEach(sink);
+            return null;
+        }).when(cursorRepository).forEachSlot(isNull(), isNull(), eq(false), any());
+
+        allocator = new SlotAllocator(cursorRepository, Map.of("north", "c"));
+        allocator.rebuild();
+    }
+
+    @Test
+    void poll_prefersLowestNumberInZone() {
+        assertEquals(2L, allocator.poll("4W", "A").orElseThrow().getSlotId());
+        assertEquals(1L, allocator.poll("4W", "A").orElseThrow().getSlotId());
+    }
+
+    @Test
+    void poll_fallsBackToNearestZone() {
+        // No free 4W slot in B: A and C are equally close, the higher zone wins the tie
+        assertEquals(3L, allocator.poll("4w", "B").orElseThrow().getSlotId());
+        assertEquals(2L, allocator.poll("4W", "B").orElseThrow().getSlotId());
+        assertEquals(4L, allocator.poll("2W", "Z").orElseThrow().getSlotId());
+        assertTrue(allocator.poll("2W", null).isEmpty());
+    }
+
+    @Test
+    void changeEvents_updateFreeSlots() {
+        allocator.onSlotChanged(new SlotOccupancyChangedEvent(2L, "A3", "4W", false, true));
+        allocator.onSlotChanged(new SlotOccupancyChangedEvent(5L, "A1", "4W", null, false));
+
+        assertEquals(5L, allocator.poll("4W", "A").orElseThrow().getSlotId());
+        assertEquals(1L, allocator.poll("4W", "A").orElseThrow().getSlotId());
+        assertEquals(3L, allocator.poll("4W", allocator.zoneForGate("North")).orElseThrow().getSlotId());
+    }
+}
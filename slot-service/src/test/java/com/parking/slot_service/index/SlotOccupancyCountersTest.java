@@ -0,0 +1,73 @@
+package com.parking.slot_service.index;
+
+import com.parking.slot_service.dto.SlotCountDTO;
+import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.dto.SlotSummaryDTO;
+import com.parking.slot_service.event.SlotOccupancyChangedEvent;
+import com.parking.slot_service.repository.SlotCursorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SlotOccupancyCountersTest {
+
+    private SlotCursorRepository cursorRepository;
+    private SlotOccupancyCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        cursorRepository = mock(SlotCursorRepository.class);
+        stubSlots(List.of(
+                new SlotResponseDTO(1L, "A1", "2W", false),
+                new SlotResponseDTO(2L, "A2", "2W", true),
+                new SlotResponseDTO(3L, "B1", "4W", false)));
+        counters = new SlotOccupancyCounters(cursorRepository);
+        counters.init();
+    }
+
+    @Test
+    void summary_countsPerTypeAndZone() {
+        SlotSummaryDTO summary = counters.summary();
+
+        assertEquals(2, summary.getAll().getFree());
+        assertEquals(3, summary.getAll().getTotal());
+        assertEquals(1, summary.getByType().get("2W").getFree());
+        assertEquals(1, summary.getByZone().get("B").get("4W").getFree());
+    }
+
+    @Test
+    void onSlotChanged_updatesCountsAndInvalidatesSummary() {
+        SlotSummaryDTO before = counters.summary();
+
+        counters.onSlotChanged(new SlotOccupancyChangedEvent(3L, "B1", "4W", false, true));
+        counters.onSlotChanged(new SlotOccupancyChangedEvent(4L, "B2", "4W", null, false));
+        counters.onSlotChanged(new SlotOccupancyChangedEvent(1L, "A1", "2W", false, null));
+
+        SlotSummaryDTO after = counters.summary();
+        assertNotSame(before, after);
+        assertEquals(new SlotCountDTO(1, 2), after.getByType().get("4W"));
+        assertEquals(new SlotCountDTO(0, 1), after.getByType().get("2W"));
+    }
+
+    @Test
+    void reconcile_reportsDrift() {
+        counters.onSlotChanged(new SlotOccupancyChangedEvent(3L, "B1", "4W", false, true)); // never committed to the stub
+
+        assertEquals(1, counters.reconcile());
+        assertEquals(2, counters.summary().getAll().getFree());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubSlots(List<SlotResponseDTO> slots) {
+        doAnswer(inv -> {
+            slots.forEach(inv.<Consumer<SlotResponseDTO>>getArgument(3));
+            return null;
+        }).when(cursorRepository).forEachSlot(any(), any(), any(), any(Consumer.class));
+    }
+}
@@ -0,0 +1,81 @@
+package com.parking.slot_service.index;
+
+import com.parking.slot_service.dto.SlotHistoryDTO;
+import com.parking.slot_service.dto.SlotHistoryPointDTO;
+import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.event.SlotOccupancyChangedEvent;
+import com.parking.slot_service.repository.SlotCursorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class SlotOccupancyHistoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 18, 0);
+
+    private SlotOccupancyHistory history;
+
+    @BeforeEach
+    void setUp() {
+        SlotCursorRepository cursorRepository = mock(SlotCursorRepository.class);
+        doAnswer(inv -> {
+            Consumer<SlotResponseDTO> sink = inv.getArgument(3);
+            List.of(new SlotResponseDTO(1L, "B1", "4W", false),
+                    new SlotResponseDTO(2L, "B2", "4W", false),
+                    new SlotResponseDTO(3L, "B3", "4W", true),
+                    new SlotResponseDTO(4L, "A1", "2W", false)).forEach(sink);
+            return null;
+        }).when(cursorRepository).forEachSlot(isNull(), isNull(), isNull(), any());
+
+        history = new SlotOccupancyHistory(cursorRepository, 180);
+        history.seed(at(0));
+    }
+
+    @Test
+    void query_minuteBuckets_carryLevelForward() {
+        history.record(new SlotOccupancyChangedEvent(1L, "B1", "4W", false, true), at(2));
+        history.record(new SlotOccupancyChangedEvent(2L, "B2", "4W", false, true), at(2));
+
+        SlotHistoryDTO res = history.query("4w", "b", START, START.plusMinutes(4), "MINUTE", at(4));
+
+        List<SlotHistoryPointDTO> points = res.getPoints();
+        assertEquals(5, points.size());
+        assertEquals(1.0, points.get(0).getOccupied());
+        assertEquals(3.0, points.get(2).getOccupied());
+        assertEquals(2, points.get(2).getTransitions());
+        assertEquals(3.0, points.get(4).getOccupied());
+        assertEquals(1.0, points.get(4).getOccupancyRate());
+    }
+
+    @Test
+    void query_hourResolution_averagesMinutes() {
+        history.record(new SlotOccupancyChangedEvent(1L, "B1", "4W", false, true), at(30));
+
+        SlotHistoryDTO res = history.query(null, null, START, START.plusMinutes(59), "hour", at(59));
+
+        SlotHistoryPointDTO hour = res.getPoints().get(0);
+        assertEquals(START, hour.getAt());
+        assertEquals(1.5, hour.getOccupied()); // 1 occupied for 30 minutes, 2 for the next 30
+        assertEquals(2, hour.getPeakOccupied());
+        assertEquals(4, hour.getTotal());
+    }
+
+    @Test
+    void query_invalidResolution_throws() {
+        assertThrows(IllegalArgumentException.class, () -> history.query(null, null, null, null, "DAY", at(0)));
+    }
+
+    private static long at(int minute) {
+        return START.plusMinutes(minute).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,62 @@
+package com.parking.slot_service.index;
+
+import com.parking.slot_service.dto.SlotResponseDTO;
+import com.parking.slot_service.entity.Slot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotOccupancyIndexTest {
+
+    private SlotOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SlotOccupancyIndex();
+        index.rebuild(() -> List.of(
+                new Slot(1L, "A1", "2W", false),
+                new Slot(2L, "A2", "2W", true),
+                new Slot(3L, "B1", "4W", false),
+                new Slot(4L, "B2", "4W", false)));
+    }
+
+    @Test
+    void availableSlotsByType_filtersOccupiedAndType() {
+        List<SlotResponseDTO> slots = index.availableSlotsByType("4w");
+
+        assertEquals(List.of(3L, 4L), slots.stream().map(SlotResponseDTO::getSlotId).toList());
+        assertEquals(1, index.countAvailable("2W", null));
+        assertEquals(2, index.countAvailable("4W", "b"));
+    }
+
+    @Test
+    void upsertAndRemove_updateCounts() {
+        index.upsert(new Slot(3L, "B1", "4W", true));
+        index.remove(4L);
+        index.upsert(new Slot(5L, "C1", "4W", false));
+
+        assertEquals(List.of(5L), index.availableSlots("4W", null).stream().map(SlotResponseDTO::getSlotId).toList());
+        assertEquals(0, index.countAvailable(null, "B"));
+        assertEquals(4, index.stats().getTotalSlots());
+    }
+
+    @Test
+    void verify_reportsDrift() {
+        int mismatches = index.verify(List.of(
+                new Slot(1L, "A1", "2W", true),
+                new Slot(2L, "A2", "2W", true),
+                new Slot(3L, "B1", "4W", false)));
+
+        assertEquals(2, mismatches); // slot 1 occupancy differs, slot 4 no longer exists
+        assertEquals(2, index.stats().getLastVerifyMismatches());
+    }
+
+    @Test
+    void zoneOf_takesLetterPrefix() {
+        assertEquals("B", SlotOccupancyIndex.zoneOf("b12"));
+        assertEquals("LOBBY", SlotOccupancyIndex.zoneOf("Lobby"));
+    }
+}
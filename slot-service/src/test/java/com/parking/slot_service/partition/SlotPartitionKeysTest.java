@@ -0,0 +1,52 @@
+package com.parking.slot_service.partition;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotPartitionKeysTest {
+
+    @Test
+    void zoneKey_letterZones_areDistinctAndCaseInsensitive() {
+        assertEquals(1, SlotPartitionKeys.zoneKey("A"));
+        assertEquals(2, SlotPartitionKeys.zoneKey("b"));
+        assertEquals(27 + 1, SlotPartitionKeys.zoneKey("AA"));
+        assertNotEquals(SlotPartitionKeys.zoneKey("AB"), SlotPartitionKeys.zoneKey("BA"));
+        assertEquals(SlotPartitionKeys.zoneKey("B"), SlotPartitionKeys.zoneKeyOfLocation("b12"));
+    }
+
+    @Test
+    void zoneKey_otherZones_areHashedAboveLetterRange() {
+        int key = SlotPartitionKeys.zoneKey("LEVEL-2");
+
+        assertTrue(key >= 387_420_489);
+        assertTrue(key < (1 << 29));
+        assertEquals(key, SlotPartitionKeys.zoneKey("level-2"));
+    }
+
+    @Test
+    void slotId_roundTripsZoneKey() {
+        int zoneKey = SlotPartitionKeys.zoneKey("ZZZZZZ");
+        long slotId = SlotPartitionKeys.slotId(zoneKey, SlotPartitionKeys.MAX_SEQUENCE);
+
+        assertEquals(zoneKey, SlotPartitionKeys.zoneKeyOf(slotId));
+        assertFalse(SlotPartitionKeys.isLegacy(slotId));
+        assertTrue(slotId < (1L << 53));
+    }
+
+    // The gateway and the Feign callers decode ids with a copy of this scheme (SlotPartitionLoadBalancer);
+    // gateway-service's SlotPartitionLoadBalancerTest routes exactly these ids
+    @Test
+    void slotId_matchesIdsPinnedByPartitionBalancers() {
+        assertEquals(33_554_437L, SlotPartitionKeys.slotId(SlotPartitionKeys.zoneKey("B"), 5));
+        assertEquals(486_539_269L, SlotPartitionKeys.slotId(SlotPartitionKeys.zoneKey("AB"), 5));
+        assertEquals(6_499_837_210_001_413L, SlotPartitionKeys.slotId(SlotPartitionKeys.zoneKey("ZZZZZZ"), 5));
+        assertEquals(7_179_569_320_689_669L, SlotPartitionKeys.slotId(SlotPartitionKeys.zoneKey("LEVEL-2"), 5));
+    }
+
+    @Test
+    void isLegacy_idsBelowFirstZone() {
+        assertTrue(SlotPartitionKeys.isLegacy(42L));
+        assertFalse(SlotPartitionKeys.isLegacy(SlotPartitionKeys.slotId(1, 0)));
+    }
+}
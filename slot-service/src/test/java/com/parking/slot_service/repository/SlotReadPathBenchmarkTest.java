@@ -0,0 +1,89 @@
+package com.parking.slot_service.repository;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.parking.slot_service.dto.SlotResponseDTO;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the list read path with managed entities (findAll + mapToDTO) against the DTO
+ * projection on 10k rows in H2. Opt-in, as it takes a few seconds:
+ * mvn test -Dtest=SlotReadPathBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SlotReadPathBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 20;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.batchUpdate("INSERT INTO parking_slots (slot_id, location, type, is_occupied) VALUES (?, ?, ?, ?)",
+                LongStream.rangeClosed(1, ROWS)
+                        .mapToObj(id -> new Object[] { id, "ABCD".charAt((int) (id % 4)) + Long.toString(id), id % 2 == 0 ? "2W" : "4W", id % 3 == 0 })
+                        .toList());
+    }
+
+    @Test
+    void projection_allocatesLessThanEntities() {
+        Result entities = measure("entities + mapToDTO", () -> {
+            List<SlotResponseDTO> slots = slotRepository.findAll().stream()
+                    .map(s -> new SlotResponseDTO(s.getSlotId(), s.getLocation(), s.getType(), s.isOccupied()))
+                    .collect(Collectors.toList());
+            entityManager.clear(); // next run hydrates again, as a new request would
+            return slots;
+        });
+        Result projection = measure("DTO projection", () -> slotRepository.findAllResponses());
+
+        assertEquals(ROWS, entities.rows());
+        assertEquals(ROWS, projection.rows());
+        assertTrue(projection.bytesPerRun() < entities.bytesPerRun());
+    }
+
+    private static Result measure(String name, Supplier<List<SlotResponseDTO>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int rows = 0;
+        long bytes = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            rows = read.get().size();
+        }
+        Result result = new Result(rows, (System.nanoTime() - started) / RUNS / 1_000,
+                (threads.getCurrentThreadAllocatedBytes() - bytes) / RUNS);
+        System.out.printf("%-22s %6d rows  %8d us/run  %10d bytes/run%n", name, rows, result.microsPerRun(), result.bytesPerRun());
+        return result;
+    }
+
+    private record Result(int rows, long microsPerRun, long bytesPerRun) {
+    }
+}
@@ -1,16 +1,40 @@
 package com.parking.slot_service.service.impl;
 
+import com.parking.slot_service.dto.SlotBulkResultDTO;
+import com.parking.slot_service.dto.SlotClaimResultDTO;
+import com.parking.slot_service.dto.SlotPageDTO;
 import com.parking.slot_service.dto.SlotRequestDTO;
 import com.parking.slot_service.dto.SlotResponseDTO;
 import com.parking.slot_service.entity.Slot;
+import com.parking.slot_service.entity.SlotHold;
+import com.parking.slot_service.event.SlotOccupancyChangedEvent;
+import com.parking.slot_service.index.SlotAllocator;
+import com.parking.slot_service.index.SlotOccupancyIndex;
+import com.parking.slot_service.partition.SlotIdAllocator;
+import com.parking.slot_service.partition.SlotPartition;
+import com.parking.slot_service.repository.SlotBatchRepository;
+import com.parking.slot_service.repository.SlotCursorRepository;
+import com.parking.slot_service.repository.SlotHoldRepository;
 import com.parking.slot_service.repository.SlotRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class SlotServiceImplTest {
@@ -18,12 +42,42 @@ class SlotServiceImplTest {
     @Mock
     private SlotRepository slotRepository;
 
+    @Spy
+    private SlotOccupancyIndex occupancyIndex = new SlotOccupancyIndex();
+
+    @Mock
+    private SlotBatchRepository slotBatchRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SlotAllocator slotAllocator;
+
+    @Mock
+    private SlotHoldRepository slotHoldRepository;
+
+    @Mock
+    private SlotPartition slotPartition;
+
+    @Mock
+    private SlotIdAllocator slotIdAllocator;
+
+    @Mock
+    private SlotCursorRepository slotCursorRepository;
+
     @InjectMocks
     private SlotServiceImpl slotService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(slotService, "allocationAttempts", 5);
+        when(slotPartition.owns(any())).thenReturn(true);
+        when(slotPartition.admit(any())).thenReturn(true);
     }
 
     // SM_001: Add new parking slot
@@ -99,11 +153,26 @@ void addSlot_validDetails_slotAdded() {
         slot.setType("CAR");
         slot.setOccupied(false);
 
-        when(slotRepository.findByIsOccupiedFalse()).thenReturn(List.of(slot));
+        when(slotRepository.findAll()).thenReturn(List.of(slot));
+        slotService.initOccupancyIndex();
 
         List<SlotResponseDTO> slots = slotService.getAvailableSlots();
         assertEquals(1, slots.size());
         assertFalse(slots.get(0).isOccupied());
+        verify(slotRepository, never()).findByIsOccupiedFalse();
+    }
+
+    @Test
+    void updateSlotOccupancy_occupySlot_removedFromAvailability() {
+        Slot slot = new Slot(1L, "A1", "2W", false);
+        when(slotRepository.findAll()).thenReturn(List.of(slot));
+        when(slotRepository.findById(1L)).thenReturn(Optional.of(slot));
+        slotService.initOccupancyIndex();
+
+        slotService.updateSlotOccupancy(1L, true);
+
+        assertTrue(slotService.getAvailableSlotsByType("2W").isEmpty());
+        assertEquals(0, slotService.countAvailableSlots("2W", null));
     }
 
     // SM_006: Occupy a slot
@@ -118,6 +187,8 @@ void addSlot_validDetails_slotAdded() {
 
         SlotResponseDTO res = slotService.updateSlotOccupancy(1L, true);
         assertTrue(res.isOccupied());
+        verify(eventPublisher).publishEvent(argThat((SlotOccupancyChangedEvent e) ->
+                e.getSlotId() == 1L && !e.getPrevious() && e.getCurrent()));
     }
 
     // SM_007: Free a slot
@@ -134,6 +205,147 @@ void addSlot_validDetails_slotAdded() {
         assertFalse(res.isOccupied());
     }
 
+    // SM_009: Claim a free slot atomically
+    @Test
+    void compareAndSetOccupancy_freeSlot_won() {
+        when(slotRepository.findAll()).thenReturn(List.of(new Slot(1L, "A1", "2W", false)));
+        when(slotRepository.compareAndSetOccupancy(1L, false, true)).thenReturn(1);
+        slotService.initOccupancyIndex();
+
+        SlotClaimResultDTO res = slotService.compareAndSetOccupancy(1L, false, true);
+
+        assertTrue(res.isWon());
+        assertTrue(res.getSlot().isOccupied());
+        assertEquals("2W", res.getSlot().getType());
+        verify(slotRepository, never()).findById(1L);
+    }
+
+    // SM_010: Losing a claim race reports the current state
+    @Test
+    void compareAndSetOccupancy_occupiedSlot_lost() {
+        when(slotRepository.findAll()).thenReturn(List.of(new Slot(1L, "A1", "2W", true)));
+        when(slotRepository.compareAndSetOccupancy(1L, false, true)).thenReturn(0);
+        when(slotRepository.existsById(1L)).thenReturn(true);
+        slotService.initOccupancyIndex();
+
+        SlotClaimResultDTO res = slotService.compareAndSetOccupancy(1L, false, true);
+
+        assertFalse(res.isWon());
+        assertTrue(res.getSlot().isOccupied());
+    }
+
+    // SM_011: Bulk import reports a result per row and indexes inserted slots
+    @Test
+    void bulkAddSlots_mixedRows_perRowResults() {
+        ReflectionTestUtils.setField(slotService, "bulkChunkSize", 2);
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        AtomicLong ids = new AtomicLong(100);
+        when(slotIdAllocator.nextId(anyString())).thenAnswer(inv -> ids.incrementAndGet());
+
+        SlotBulkResultDTO res = slotService.bulkAddSlots(List.of(
+                new SlotRequestDTO("A1", "2W", null),
+                new SlotRequestDTO("A2", "TRUCK", null),
+                new SlotRequestDTO("B1", "4W", null),
+                new SlotRequestDTO("B2", "4W", null)));
+
+        assertEquals(4, res.getTotal());
+        assertEquals(3, res.getSucceeded());
+        assertFalse(res.getRows().get(1).isSuccess());
+        verify(slotBatchRepository, times(2)).insertAll(anyList());
+        assertEquals(2, slotService.countAvailableSlots("4W", null));
+    }
+
+    // SM_012: Keyset page returns a cursor when more rows exist
+    @Test
+    void getSlotsPage_moreRows_returnsCursor() {
+        when(slotRepository.findPageAfter(eq(0L), eq("2W"), isNull(), isNull(), any())).thenReturn(new ArrayList<>(List.of(
+                new SlotResponseDTO(1L, "A1", "2W", false),
+                new SlotResponseDTO(2L, "A2", "2W", true),
+                new SlotResponseDTO(3L, "A3", "2W", false))));
+
+        SlotPageDTO page = slotService.getSlotsPage(null, 2, "2W", null, null);
+
+        assertEquals(2, page.getSlots().size());
+        assertTrue(page.isHasMore());
+        assertEquals(2L, page.getNextCursor());
+    }
+
+    // SM_013: Allocation skips a candidate lost to a concurrent claim
+    @Test
+    void allocateSlot_firstCandidateTaken_claimsNext() {
+        when(slotAllocator.poll("4W", "B"))
+                .thenReturn(Optional.of(new SlotResponseDTO(3L, "B1", "4W", false)))
+                .thenReturn(Optional.of(new SlotResponseDTO(4L, "B2", "4W", false)));
+        when(slotRepository.compareAndSetOccupancy(3L, false, true)).thenReturn(0);
+        when(slotRepository.compareAndSetOccupancy(4L, false, true)).thenReturn(1);
+
+        SlotClaimResultDTO res = slotService.allocateSlot("4W", "B", null);
+
+        assertTrue(res.isWon());
+        assertEquals(4L, res.getSlotId());
+        assertTrue(res.getSlot().isOccupied());
+        verify(eventPublisher).publishEvent(any(SlotOccupancyChangedEvent.class));
+    }
+
+    // SM_016: A candidate in a handed-off zone goes back to the allocator
+    @Test
+    void allocateSlot_zoneHandedOff_restoresCandidate() {
+        SlotResponseDTO handedOff = new SlotResponseDTO(3L, "C1", "4W", false);
+        when(slotAllocator.poll("4W", "B"))
+                .thenReturn(Optional.of(handedOff))
+                .thenReturn(Optional.of(new SlotResponseDTO(4L, "B2", "4W", false)));
+        when(slotPartition.admit("C")).thenReturn(false);
+        when(slotRepository.compareAndSetOccupancy(4L, false, true)).thenReturn(1);
+
+        SlotClaimResultDTO res = slotService.allocateSlot("4W", "B", null);
+
+        assertEquals(4L, res.getSlotId());
+        verify(slotAllocator).restore(handedOff);
+        verify(slotRepository, never()).compareAndSetOccupancy(3L, false, true);
+    }
+
+    // SM_017: A hold cannot be confirmed as a booking of another slot
+    @Test
+    void confirmHold_otherSlot_rejectedAndHoldKept() {
+        when(slotHoldRepository.findById(9L)).thenReturn(Optional.of(
+                new SlotHold(9L, 3L, "alice@example.com", Instant.now().plusSeconds(60))));
+
+        assertThrows(IllegalArgumentException.class, () -> slotService.confirmHold(9L, 4L, "alice@example.com"));
+        verify(slotHoldRepository, never()).deleteByHoldId(anyLong());
+    }
+
+    // SM_014: Reads go through the DTO projection, not managed entities
+    @Test
+    void getSlotById_usesProjection() {
+        when(slotRepository.findResponseById(5L)).thenReturn(Optional.of(new SlotResponseDTO(5L, "C5", "2W", true)));
+
+        SlotResponseDTO res = slotService.getSlotById(5L);
+
+        assertEquals("C5", res.getLocation());
+        assertTrue(res.isOccupied());
+        verify(slotRepository, never()).findById(5L);
+    }
+
+    // SM_015: Handoff stops writes before the zone is read and keeps the zone when it is rejected
+    @Test
+    void handOffZone_activeHolds_readsAfterHandOffAndReadopts() {
+        doAnswer(inv -> {
+            inv.<Consumer<SlotResponseDTO>>getArgument(3).accept(new SlotResponseDTO((7L << 24) | 1, "B1", "4W", false));
+            return null;
+        }).when(slotCursorRepository).forEachSlot(isNull(), eq("B"), isNull(), any());
+        when(slotHoldRepository.existsBySlotIdIn(anyList())).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> slotService.handOffZone("B"));
+
+        InOrder order = inOrder(slotPartition, slotCursorRepository);
+        order.verify(slotPartition).handOff("B");
+        order.verify(slotCursorRepository).forEachSlot(isNull(), eq("B"), isNull(), any());
+        order.verify(slotPartition).adopt("B");
+    }
+
     // SM_008: Add slot with invalid type
     @Test
     void addSlot_invalidType_throwsException() {
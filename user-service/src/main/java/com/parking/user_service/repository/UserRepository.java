@@ -1,11 +1,22 @@
 package com.parking.user_service.repository;
  
+import com.parking.user_service.dto.UserProfileResponse;
 import com.parking.user_service.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
  
+import java.util.List;
 import java.util.Optional;
  
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // Read-only views: profiles are built from the selected columns, the password hash is never loaded
+    @Query("SELECT new com.parking.user_service.dto.UserProfileResponse(u.id, u.name, u.email, u.role) FROM User u")
+    List<UserProfileResponse> findAllProfiles();
+
+    @Query("SELECT new com.parking.user_service.dto.UserProfileResponse(u.id, u.name, u.email, u.role) FROM User u WHERE u.id = :id")
+    Optional<UserProfileResponse> findProfileById(@Param("id") Long id);
 }
  
\ No newline at end of file
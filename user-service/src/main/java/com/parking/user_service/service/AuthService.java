@@ -8,13 +8,13 @@ import com.parking.user_service.security.JwtUtil;
 import com.parking.user_service.security.CustomUserDetailsService;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 
@@ -66,17 +66,16 @@ public class AuthService {
     }
 
     // Get All Users (ADMIN only)
+@Transactional(readOnly = true)
 public List<UserProfileResponse> getAllUsers() {
-    return userRepo.findAll().stream()
-            .map(user -> new UserProfileResponse(user.getId(), user.getName(), user.getEmail(), user.getRole()))
-            .collect(Collectors.toList());
+    return userRepo.findAllProfiles();
 }
  
 // Get User by ID
+@Transactional(readOnly = true)
 public UserProfileResponse getUserById(Long id) {
-    User user = userRepo.findById(id)
+    return userRepo.findProfileById(id)
             .orElseThrow(() -> new RuntimeException("User not found"));
-    return new UserProfileResponse(user.getId(), user.getName(), user.getEmail(), user.getRole());
 }
  
 // Update user by ID
@@ -15,4 +15,11 @@ public interface SlotServiceClient {
 
     @GetMapping("/api/slots/{slotId}")
     Map<String, Object> getSlotById(@PathVariable("slotId") Long slotId);
+
+    // Conditional claim/release; slot-service answers 409 when the slot is not in the expected state
+    @PutMapping("/api/slots/{slotId}/claim")
+    Map<String, Object> claimSlot(@PathVariable("slotId") Long slotId);
+
+    @PutMapping("/api/slots/{slotId}/release")
+    Map<String, Object> releaseSlot(@PathVariable("slotId") Long slotId);
 }
\ No newline at end of file
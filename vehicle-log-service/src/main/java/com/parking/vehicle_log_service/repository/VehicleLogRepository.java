@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface VehicleLogRepository extends JpaRepository<VehicleLog, Long> {
@@ -14,4 +15,11 @@ public interface VehicleLogRepository extends JpaRepository<VehicleLog, Long> {
     List<VehicleLog> findBySlotId(Long slotId);
 
     List<VehicleLog> findByVehicleNumber(String vehicleNumber);
+
+    // Read-only views for the list/detail endpoints
+    List<VehicleLogView> findAllProjectedBy();
+
+    List<VehicleLogView> findProjectedByUserId(Long userId);
+
+    Optional<VehicleLogView> findProjectedByLogId(Long logId);
 }
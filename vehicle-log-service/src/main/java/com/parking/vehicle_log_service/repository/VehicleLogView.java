@@ -0,0 +1,19 @@
+package com.parking.vehicle_log_service.repository;
+
+import java.time.LocalDateTime;
+
+// Closed projection over vehicle_logs: Spring Data selects only these columns and returns no managed entity
+public interface VehicleLogView {
+
+    Long getLogId();
+
+    String getVehicleNumber();
+
+    LocalDateTime getEntryTime();
+
+    LocalDateTime getExitTime();
+
+    Long getUserId();
+
+    Long getSlotId();
+}
@@ -1,21 +1,26 @@
 package com.parking.vehicle_log_service.service.impl;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.parking.vehicle_log_service.concurrent.FanOut;
 import com.parking.vehicle_log_service.dto.VehicleEntryRequest;
 import com.parking.vehicle_log_service.dto.VehicleExitRequest;
 import com.parking.vehicle_log_service.dto.VehicleLogResponse;
 import com.parking.vehicle_log_service.entity.VehicleLog;
 import com.parking.vehicle_log_service.feign.SlotServiceClient;
 import com.parking.vehicle_log_service.repository.VehicleLogRepository;
+import com.parking.vehicle_log_service.repository.VehicleLogView;
 import com.parking.vehicle_log_service.service.VehicleLogService;
 
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -26,17 +31,20 @@ public class VehicleLogServiceImpl implements VehicleLogService {
     private final SlotServiceClient slotServiceClient;
     @Value("${slot.occupancy.field:occupied}")
     private String occupancyField;
+    @Value("${slot.lookup.max-concurrent:16}")
+    private int maxConcurrentLookups;
 
   @Override
 public VehicleLogResponse logVehicleEntry(VehicleEntryRequest request) {
-    Map<String, Object> slotDetails = slotServiceClient.getSlotById(request.getSlotId());
-    Map<String, Object> slot = (Map<String, Object>) slotDetails.get("slot");
-    String slotType = slot != null ? (String) slot.getOrDefault("type", "UNKNOWN") : "UNKNOWN";
-    Boolean isOccupied = slot != null ? (Boolean) slot.getOrDefault("occupied", false) : false;
-
-    if (Boolean.TRUE.equals(isOccupied)) {
+    // Claim the slot in a single round trip; 409 means another gate or a reservation got it first
+    Map<String, Object> claim;
+    try {
+        claim = slotServiceClient.claimSlot(request.getSlotId());
+    } catch (FeignException.Conflict e) {
         throw new RuntimeException("Slot is already occupied");
     }
+    Map<String, Object> slot = (Map<String, Object>) claim.get("slot");
+    String slotType = slot != null ? (String) slot.getOrDefault("type", "UNKNOWN") : "UNKNOWN";
 
     VehicleLog log = new VehicleLog();
     log.setVehicleNumber(request.getVehicleNumber());
@@ -44,12 +52,13 @@ public VehicleLogResponse logVehicleEntry(VehicleEntryRequest request) {
     log.setSlotId(request.getSlotId());
     log.setEntryTime(LocalDateTime.now());
 
-    logRepo.save(log);
-    // Update slot occupancy to true
-    slotServiceClient.updatedSlot(
-        request.getSlotId(),
-        Map.of(occupancyField, true)
-    );
+    try {
+        logRepo.save(log);
+    } catch (RuntimeException e) {
+        // Give the slot back if the log could not be recorded
+        slotServiceClient.releaseSlot(request.getSlotId());
+        throw e;
+    }
     VehicleLogResponse response = mapToResponse(log, slotType);
     return response;
 }
@@ -68,14 +77,14 @@ public VehicleLogResponse logVehicleExit(VehicleExitRequest request) {
     log.setDurationMinutes(durationMinutes); // Save duration in minutes to the database
     logRepo.save(log);
 
-    // Update slot occupancy to false (slot is now available)
-    slotServiceClient.updatedSlot(
-        log.getSlotId(),
-        Map.of(occupancyField, false)
-    );
-
-    // Fetch slot type for response (extract from nested "slot" map)
-    Map<String, Object> slotDetails = slotServiceClient.getSlotById(log.getSlotId());
+    // Release the slot; the response already carries the slot type.
+    // A 409 means it was freed elsewhere, so fall back to a plain lookup.
+    Map<String, Object> slotDetails;
+    try {
+        slotDetails = slotServiceClient.releaseSlot(log.getSlotId());
+    } catch (FeignException.Conflict e) {
+        slotDetails = slotServiceClient.getSlotById(log.getSlotId());
+    }
     Map<String, Object> slot = (Map<String, Object>) slotDetails.get("slot");
     String slotType = slot != null ? (String) slot.getOrDefault("type", "UNKNOWN") : "UNKNOWN";
 
@@ -94,22 +103,20 @@ public VehicleLogResponse logVehicleExit(VehicleExitRequest request) {
     );
 }
 
+// No surrounding transaction: the projections are read in the repository's own short one, so no
+// connection is held while slot-service is called
 @Override
 public List<VehicleLogResponse> getAllLogs() {
-    return logRepo.findAll()
-            .stream()
-            .map(log -> {
-                Map<String, Object> slotDetails = slotServiceClient.getSlotById(log.getSlotId());
-                Map<String, Object> slot = (Map<String, Object>) slotDetails.get("slot");
-                String slotType = slot != null ? (String) slot.getOrDefault("type", "UNKNOWN") : "UNKNOWN";
-                return mapToResponse(log, slotType);
-            })
+    List<VehicleLogView> logs = logRepo.findAllProjectedBy();
+    Map<Long, String> slotTypes = fetchSlotTypes(logs);
+    return logs.stream()
+            .map(log -> mapToResponse(log, slotTypes.get(log.getSlotId())))
             .collect(Collectors.toList());
 }
 
 @Override
 public VehicleLogResponse getLogById(Long id) {
-    VehicleLog log = logRepo.findById(id)
+    VehicleLogView log = logRepo.findProjectedByLogId(id)
             .orElseThrow(() -> new RuntimeException("Log not found"));
     Map<String, Object> slotDetails = slotServiceClient.getSlotById(log.getSlotId());
     Map<String, Object> slot = (Map<String, Object>) slotDetails.get("slot");
@@ -118,9 +125,20 @@ public VehicleLogResponse getLogById(Long id) {
 }
 
     private VehicleLogResponse mapToResponse(VehicleLog log, String slotType) {
+        return mapToResponse(log.getLogId(), log.getVehicleNumber(), log.getEntryTime(), log.getExitTime(),
+                log.getUserId(), log.getSlotId(), slotType);
+    }
+
+    private VehicleLogResponse mapToResponse(VehicleLogView log, String slotType) {
+        return mapToResponse(log.getLogId(), log.getVehicleNumber(), log.getEntryTime(), log.getExitTime(),
+                log.getUserId(), log.getSlotId(), slotType);
+    }
+
+    private VehicleLogResponse mapToResponse(Long logId, String vehicleNumber, LocalDateTime entryTime,
+                                             LocalDateTime exitTime, Long userId, Long slotId, String slotType) {
         String formattedDuration = null;
-        if (log.getEntryTime() != null && log.getExitTime() != null) {
-            Duration duration = Duration.between(log.getEntryTime(), log.getExitTime());
+        if (entryTime != null && exitTime != null) {
+            Duration duration = Duration.between(entryTime, exitTime);
             long seconds = duration.getSeconds();
             formattedDuration = String.format("%02d:%02d:%02d",
                     seconds / 3600,
@@ -128,27 +146,17 @@ public VehicleLogResponse getLogById(Long id) {
                     seconds % 60);
         }
         return new VehicleLogResponse(
-                log.getLogId(),
-                log.getVehicleNumber(),
-                log.getEntryTime(),
-                log.getExitTime(),
+                logId,
+                vehicleNumber,
+                entryTime,
+                exitTime,
                 formattedDuration,
-                log.getUserId(),
-                log.getSlotId(),
+                userId,
+                slotId,
                 slotType
         );
     }
 
-    // Helper to fetch slot type safely
-    private String fetchSlotType(Long slotId) {
-        try {
-            Map<String, Object> slotDetails = slotServiceClient.getSlotById(slotId);
-            return (String) slotDetails.getOrDefault("type", "UNKNOWN");
-        } catch (Exception e) {
-            return "UNKNOWN";
-        }
-    }
-
     @Override
 public VehicleLogResponse updateLogById(Long id, VehicleLogResponse updateRequest) {
     VehicleLog log = logRepo.findById(id)
@@ -177,16 +185,28 @@ public VehicleLogResponse updateLogById(Long id, VehicleLogResponse updateReques
 
 @Override
 public List<VehicleLogResponse> getLogsByUserId(Long userId) {
-    return logRepo.findByUserId(userId)
-            .stream()
-            .map(log -> {
-                Map<String, Object> slotDetails = slotServiceClient.getSlotById(log.getSlotId());
-                Map<String, Object> slot = (Map<String, Object>) slotDetails.get("slot");
-                String slotType = slot != null ? (String) slot.getOrDefault("type", "UNKNOWN") : "UNKNOWN";
-                return mapToResponse(log, slotType);
-            })
+    List<VehicleLogView> logs = logRepo.findProjectedByUserId(userId);
+    Map<Long, String> slotTypes = fetchSlotTypes(logs);
+    return logs.stream()
+            .map(log -> mapToResponse(log, slotTypes.get(log.getSlotId())))
             .collect(Collectors.toList());
 }
 
+    // Slot type per slot of the logs: one lookup per distinct slot, at most slot.lookup.max-concurrent at a time
+    private Map<Long, String> fetchSlotTypes(List<VehicleLogView> logs) {
+        List<Long> slotIds = logs.stream().map(VehicleLogView::getSlotId).distinct().collect(Collectors.toList());
+        List<String> types = FanOut.all(slotIds.stream()
+                .map(slotId -> (Callable<String>) () -> {
+                    Map<String, Object> slot = (Map<String, Object>) slotServiceClient.getSlotById(slotId).get("slot");
+                    return slot != null ? (String) slot.getOrDefault("type", "UNKNOWN") : "UNKNOWN";
+                })
+                .collect(Collectors.toList()), maxConcurrentLookups);
+        Map<Long, String> slotTypes = new HashMap<>();
+        for (int i = 0; i < slotIds.size(); i++) {
+            slotTypes.put(slotIds.get(i), types.get(i));
+        }
+        return slotTypes;
+    }
+
 
 }